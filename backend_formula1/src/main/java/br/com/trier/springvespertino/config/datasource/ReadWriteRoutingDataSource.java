@@ -0,0 +1,58 @@
+package br.com.trier.springvespertino.config.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia transações somente leitura para a réplica e todo o resto para o primário. Precisa ficar atrás de
+ * um LazyConnectionDataSourceProxy: o flag readOnly só é publicado depois que a transação abre a conexão.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	public enum Route {
+		PRIMARY, REPLICA
+	}
+
+	private final DataSource primary;
+	private final DataSource replica;
+	private final ReplicaLagMonitor monitor;
+
+	public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+		this.primary = primary;
+		this.replica = replica;
+		this.monitor = monitor;
+		setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && monitor.isUsable()) {
+			return Route.REPLICA;
+		}
+		return Route.PRIMARY;
+	}
+
+	// A réplica pode cair entre duas checagens: se ela recusar a conexão, a leitura vai para o primário
+	@Override
+	public Connection getConnection() throws SQLException {
+		DataSource target = determineTargetDataSource();
+		if (target != replica) {
+			return target.getConnection();
+		}
+		try {
+			return replica.getConnection();
+		} catch (SQLException e) {
+			monitor.markUnavailable(e);
+			return primary.getConnection();
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+package br.com.trier.springvespertino.config.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Ativada com app.datasource.replica.enabled=true. O pool primário continua configurado por spring.datasource.*
+ * e o da réplica por app.datasource.replica.* (jdbc-url, username, password, maximum-pool-size...).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@ConfigurationProperties("app.datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		HikariDataSource replica = new HikariDataSource();
+		replica.setReadOnly(true);
+		// Uma réplica fora do ar não pode prender a leitura pelos 30s padrão do pool antes de ir ao primário;
+		// app.datasource.replica.connection-timeout sobrescreve
+		replica.setConnectionTimeout(2000);
+		return replica;
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "close")
+	public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+			@Value("${app.datasource.replica.lag-query:select extract(epoch from now() - pg_last_xact_replay_timestamp())}") String lagQuery,
+			@Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+			@Value("${app.datasource.replica.lag-check-interval:10s}") Duration checkInterval,
+			@Value("${app.datasource.replica.lag-check-timeout:2s}") Duration checkTimeout) {
+		return new ReplicaLagMonitor(replica, lagQuery, maxLag, checkInterval, checkTimeout);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor monitor) {
+		return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor));
+	}
+
+	// Com open-in-view a sessão manteria a primeira conexão (primário ou réplica) até o fim da requisição;
+	// liberando-a ao fim de cada transação, cada transação seguinte escolhe seu próprio destino.
+	@Bean
+	public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+		return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+
+}
@@ -0,0 +1,94 @@
+package br.com.trier.springvespertino.config.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mede o atraso da réplica com a consulta configurada numa thread própria, a cada intervalo de checagem, e
+ * guarda o resultado, para que a decisão de roteamento não custe uma consulta nem espere uma conexão da
+ * réplica a cada transação. Réplica inacessível, atrasada além da tolerância ou que recusou uma conexão
+ * deixa de ser usada até a próxima checagem bem-sucedida.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+	private final DataSource replica;
+	private final String lagQuery;
+	private final Duration maxLag;
+	private final Duration checkInterval;
+	private final Duration checkTimeout;
+
+	private volatile boolean usable;
+	private ScheduledExecutorService scheduler;
+
+	public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval,
+			Duration checkTimeout) {
+		this.replica = replica;
+		this.lagQuery = lagQuery;
+		this.maxLag = maxLag;
+		this.checkInterval = checkInterval;
+		this.checkTimeout = checkTimeout;
+	}
+
+	// Até a primeira checagem as leituras ficam no primário
+	public void start() {
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "replica-lag-monitor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void close() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	public boolean isUsable() {
+		return usable;
+	}
+
+	// Chamado pelo roteamento quando a réplica recusa uma conexão, sem esperar a próxima checagem
+	public void markUnavailable(SQLException e) {
+		if (usable) {
+			log.warn("Réplica recusou conexão, leituras vão para o primário: {}", e.getMessage());
+		}
+		usable = false;
+	}
+
+	public void check() {
+		usable = measure();
+	}
+
+	private boolean measure() {
+		try (Connection connection = replica.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.setQueryTimeout((int) Math.max(1, checkTimeout.toSeconds()));
+			try (ResultSet result = statement.executeQuery(lagQuery)) {
+				double lagSeconds = result.next() ? result.getDouble(1) : 0;
+				if (lagSeconds * 1000 > maxLag.toMillis()) {
+					log.warn("Réplica atrasada {}s (tolerância {}), leituras vão para o primário", lagSeconds, maxLag);
+					return false;
+				}
+				return true;
+			}
+		} catch (SQLException e) {
+			log.warn("Réplica indisponível, leituras vão para o primário: {}", e.getMessage());
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+package br.com.trier.springvespertino.config.graphql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+
+/**
+ * Limites de custo do endpoint /graphql, aplicados antes de qualquer consulta ao banco: profundidade máxima
+ * e complexidade, em que cada campo custa 1 e os campos de lista multiplicam o custo dos filhos por
+ * app.graphql.list-cost (estimativa de itens por lista).
+ */
+@Configuration
+public class GraphQlConfig {
+
+	@Bean
+	public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(@Value("${app.graphql.max-depth:8}") int maxDepth) {
+		return new MaxQueryDepthInstrumentation(maxDepth);
+	}
+
+	@Bean
+	public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+			@Value("${app.graphql.max-complexity:2000}") int maxComplexity,
+			@Value("${app.graphql.list-cost:10}") int listCost) {
+		return new MaxQueryComplexityInstrumentation(maxComplexity, (environment, childComplexity) ->
+				GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList
+						? (1 + childComplexity) * listCost
+						: 1 + childComplexity);
+	}
+
+	// Mesma tradução do ResourceExceptionHandler, no formato de erro do GraphQL
+	@Bean
+	public DataFetcherExceptionResolver graphQlExceptionResolver() {
+		return new DataFetcherExceptionResolverAdapter() {
+			@Override
+			protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+				ErrorType type;
+				if (ex instanceof ObjectNotFound) {
+					type = ErrorType.NOT_FOUND;
+				} else if (ex instanceof IntegrityViolation) {
+					type = ErrorType.BAD_REQUEST;
+				} else {
+					return null;
+				}
+				return GraphqlErrorBuilder.newError(env).errorType(type).message(ex.getMessage()).build();
+			}
+		};
+	}
+
+}
@@ -0,0 +1,56 @@
+package br.com.trier.springvespertino.config.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.trier.springvespertino.models.dto.OutboxEventDTO;
+
+// Um JSON por linha, acrescentado ao arquivo e gravado em disco antes de o relay apagar o lote
+public class FileOutboxSink implements OutboxSink {
+
+	private final Path file;
+	private final ObjectMapper objectMapper;
+
+	public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+		this.file = file;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public synchronized void publish(List<OutboxEventDTO> events) {
+		StringBuilder lines = new StringBuilder();
+		try {
+			for (OutboxEventDTO event : events) {
+				lines.append(objectMapper.writeValueAsString(event)).append('\n');
+			}
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND)) {
+				ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
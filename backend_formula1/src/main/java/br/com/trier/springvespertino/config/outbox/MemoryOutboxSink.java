@@ -0,0 +1,35 @@
+package br.com.trier.springvespertino.config.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import br.com.trier.springvespertino.models.dto.OutboxEventDTO;
+
+// Entrega no próprio processo: guarda os eventos recebidos e repassa aos consumidores registrados
+public class MemoryOutboxSink implements OutboxSink {
+
+	private final List<OutboxEventDTO> events = new ArrayList<>();
+	private final List<Consumer<OutboxEventDTO>> consumers = new ArrayList<>();
+
+	public synchronized void subscribe(Consumer<OutboxEventDTO> consumer) {
+		consumers.add(consumer);
+	}
+
+	public synchronized List<OutboxEventDTO> events() {
+		return List.copyOf(events);
+	}
+
+	public synchronized void clear() {
+		events.clear();
+	}
+
+	@Override
+	public synchronized void publish(List<OutboxEventDTO> batch) {
+		for (OutboxEventDTO event : batch) {
+			events.add(event);
+			consumers.forEach(consumer -> consumer.accept(event));
+		}
+	}
+
+}
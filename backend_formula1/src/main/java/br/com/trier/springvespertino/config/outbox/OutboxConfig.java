@@ -0,0 +1,43 @@
+package br.com.trier.springvespertino.config.outbox;
+
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.trier.springvespertino.services.OutboxService;
+
+/**
+ * Sinks do outbox e o relay em segundo plano, cada um ligado por propriedade: app.outbox.sink.file.enabled
+ * (arquivo JSON por linha em app.outbox.sink.file.path), app.outbox.sink.memory.enabled (no processo, usado
+ * pelos testes) e app.outbox.relay.enabled.
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "app.outbox.sink.file.enabled", havingValue = "true")
+	public FileOutboxSink fileOutboxSink(@Value("${app.outbox.sink.file.path}") String path, ObjectMapper objectMapper) {
+		return new FileOutboxSink(Paths.get(path), objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.outbox.sink.memory.enabled", havingValue = "true")
+	public MemoryOutboxSink memoryOutboxSink() {
+		return new MemoryOutboxSink();
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+	public OutboxRelayScheduler outboxRelayScheduler(OutboxService service,
+			@Value("${app.outbox.batch-size:500}") int batchSize) {
+		return new OutboxRelayScheduler(service, batchSize);
+	}
+
+}
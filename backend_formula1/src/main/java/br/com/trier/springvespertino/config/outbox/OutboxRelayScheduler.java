@@ -0,0 +1,33 @@
+package br.com.trier.springvespertino.config.outbox;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import br.com.trier.springvespertino.services.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+
+// Esvazia o outbox lote a lote; uma falha é registrada e o lote volta na próxima execução
+@Slf4j
+public class OutboxRelayScheduler {
+
+	private final OutboxService service;
+	private final int batchSize;
+
+	public OutboxRelayScheduler(OutboxService service, int batchSize) {
+		this.service = service;
+		this.batchSize = batchSize;
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.relay.interval-millis:1000}")
+	public void drain() {
+		try {
+			// Lote cheio indica que provavelmente há mais eventos pendentes
+			int delivered;
+			do {
+				delivered = service.relay();
+			} while (delivered == batchSize);
+		} catch (RuntimeException e) {
+			log.warn("Falha ao entregar eventos do outbox, nova tentativa na próxima execução: {}", e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package br.com.trier.springvespertino.config.outbox;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.dto.OutboxEventDTO;
+
+/**
+ * Destino dos eventos do outbox. Recebe os lotes em ordem de id e deve lançar exceção se não conseguir
+ * entregar, para o lote ficar na tabela; pode receber de novo eventos já entregues.
+ */
+public interface OutboxSink {
+
+	void publish(List<OutboxEventDTO> events);
+
+}
@@ -0,0 +1,93 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+
+/**
+ * Histograma de latência de uma assinatura de consulta em faixas fixas, para que registrar uma execução
+ * custe alguns incrementos atômicos e os percentis saiam do histograma, sem guardar cada amostra.
+ */
+class QueryStats {
+
+	static final long[] BUCKET_LIMITS_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	private final String signature;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder slowCalls = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS_MILLIS.length + 1);
+	private volatile String lastCaller;
+
+	QueryStats(String signature) {
+		this.signature = signature;
+	}
+
+	void record(long nanos, boolean slow, String caller) {
+		calls.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+		buckets.incrementAndGet(bucket(nanos));
+		if (slow) {
+			slowCalls.increment();
+		}
+		if (caller != null) {
+			lastCaller = caller;
+		}
+	}
+
+	long totalNanos() {
+		return totalNanos.sum();
+	}
+
+	SlowQueryDTO toDTO() {
+		long[] counts = new long[buckets.length()];
+		long count = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = buckets.get(i);
+			count += counts[i];
+		}
+		Map<String, Long> histogram = new LinkedHashMap<>();
+		for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+			histogram.put("<" + BUCKET_LIMITS_MILLIS[i] + "ms", counts[i]);
+		}
+		histogram.put(">=" + BUCKET_LIMITS_MILLIS[BUCKET_LIMITS_MILLIS.length - 1] + "ms", counts[BUCKET_LIMITS_MILLIS.length]);
+		double total = totalNanos.sum() / 1_000_000.0;
+		return new SlowQueryDTO(signature, lastCaller, count, slowCalls.sum(), total,
+				count == 0 ? 0 : total / count, maxNanos.get() / 1_000_000.0,
+				percentile(counts, count, 0.50), percentile(counts, count, 0.95), percentile(counts, count, 0.99),
+				histogram);
+	}
+
+	private static int bucket(long nanos) {
+		long millis = nanos / 1_000_000;
+		for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+			if (millis < BUCKET_LIMITS_MILLIS[i]) {
+				return i;
+			}
+		}
+		return BUCKET_LIMITS_MILLIS.length;
+	}
+
+	// Limite superior (exclusivo) da faixa que contém o percentil; a última faixa não tem limite e devolve null
+	private static Long percentile(long[] counts, long count, double percentile) {
+		if (count == 0) {
+			return null;
+		}
+		long rank = (long) Math.ceil(count * percentile);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return i < BUCKET_LIMITS_MILLIS.length ? BUCKET_LIMITS_MILLIS[i] : null;
+			}
+		}
+		return null;
+	}
+
+}
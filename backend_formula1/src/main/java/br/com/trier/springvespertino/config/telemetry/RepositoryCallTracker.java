@@ -0,0 +1,52 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Guarda na thread o método de repositório em execução, já que o proxy do Spring Data não aparece
+ * com o nome da interface na pilha. Chamadas aninhadas restauram o método anterior ao terminar.
+ */
+class RepositoryCallTracker implements MethodInterceptor {
+
+	private static final String BASE_PACKAGE = "br.com.trier.springvespertino.";
+	private static final String TELEMETRY_PACKAGE = RepositoryCallTracker.class.getPackageName() + ".";
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private final String repository;
+
+	RepositoryCallTracker(Class<?> repositoryInterface) {
+		this.repository = repositoryInterface.getSimpleName();
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		String previous = CURRENT.get();
+		CURRENT.set(repository + "." + invocation.getMethod().getName());
+		try {
+			return invocation.proceed();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	static String current() {
+		return CURRENT.get();
+	}
+
+	// Só percorre a pilha para comandos lentos fora de repositório (EntityManager direto, Flyway...)
+	static String applicationFrame() {
+		return StackWalker.getInstance().walk(frames -> frames
+				.filter(frame -> frame.getClassName().startsWith(BASE_PACKAGE)
+						&& !frame.getClassName().startsWith(TELEMETRY_PACKAGE))
+				.findFirst()
+				.map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+						+ "." + frame.getMethodName())
+				.orElse("?"));
+	}
+
+}
@@ -0,0 +1,120 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrega a latência de cada comando por assinatura (SQL sem literais e com listas IN colapsadas) e
+ * registra no log só os comandos acima do limite, com os parâmetros e o método de repositório que os
+ * disparou. A taxa de amostragem limita o volume de log quando muitos comandos passam do limite; o
+ * histograma conta todas as execuções.
+ */
+@Slf4j
+public class SqlTelemetry {
+
+	static final String OTHERS = "<demais assinaturas>";
+	private static final int MAX_PARAMETER_LENGTH = 100;
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	// Comandos sobre estas tabelas ou colunas vão para o log só com o tipo e o tamanho de cada parâmetro
+	private static final Pattern SENSITIVE = Pattern.compile("\\b(usuario|senha\\w*)\\b", Pattern.CASE_INSENSITIVE);
+
+	private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+	private final Map<String, String> signatures = new ConcurrentHashMap<>();
+	private final long slowThresholdNanos;
+	private final double slowLogSampleRate;
+	private final int maxSignatures;
+
+	public SqlTelemetry(Duration slowThreshold, double slowLogSampleRate, int maxSignatures) {
+		this.slowThresholdNanos = slowThreshold.toNanos();
+		this.slowLogSampleRate = slowLogSampleRate;
+		this.maxSignatures = maxSignatures;
+	}
+
+	void record(String sql, long nanos, List<Object> parameters, int batchSize) {
+		String caller = RepositoryCallTracker.current();
+		boolean slow = nanos >= slowThresholdNanos;
+		statsFor(cachedSignature(sql)).record(nanos, slow, caller);
+		if (slow && ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+			log.warn("Comando lento ({} ms) em {}{}: {} | parâmetros {}", nanos / 1_000_000,
+					caller != null ? caller : RepositoryCallTracker.applicationFrame(),
+					batchSize > 0 ? " (lote de %s)".formatted(batchSize) : "", sql, describe(sql, parameters));
+		}
+	}
+
+	public List<SlowQueryDTO> top(int limit) {
+		return stats.values().stream()
+				.sorted(Comparator.comparingLong(QueryStats::totalNanos).reversed())
+				.limit(limit)
+				.map(QueryStats::toDTO)
+				.toList();
+	}
+
+	public void reset() {
+		stats.clear();
+		signatures.clear();
+	}
+
+	private QueryStats statsFor(String signature) {
+		QueryStats current = stats.get(signature);
+		if (current != null) {
+			return current;
+		}
+		// Consultas montadas com literais podem gerar assinaturas sem fim; passando do limite, tudo que é
+		// novo cai num agregado único em vez de crescer o mapa
+		if (stats.size() >= maxSignatures) {
+			return stats.computeIfAbsent(OTHERS, QueryStats::new);
+		}
+		return stats.computeIfAbsent(signature, QueryStats::new);
+	}
+
+	// O Hibernate repete os mesmos textos de SQL, então normalizar uma vez por texto basta; o cache tem o
+	// mesmo teto do mapa de assinaturas para não crescer com SQL montado com literais
+	private String cachedSignature(String sql) {
+		String signature = signatures.get(sql);
+		if (signature == null) {
+			signature = signature(sql);
+			if (signatures.size() < maxSignatures) {
+				signatures.put(sql, signature);
+			}
+		}
+		return signature;
+	}
+
+	// Os parâmetros só viram texto quando o comando vai para o log; os de comandos sensíveis nunca
+	static List<String> describe(String sql, List<Object> parameters) {
+		boolean sensitive = SENSITIVE.matcher(sql).find();
+		return parameters.stream().map(value -> {
+			if (value instanceof byte[] || value instanceof InputStream || value instanceof Reader) {
+				return "<binário>";
+			}
+			if (sensitive) {
+				return value == null ? "<null>"
+						: "<%s(%s)>".formatted(value.getClass().getSimpleName(), String.valueOf(value).length());
+			}
+			String text = String.valueOf(value);
+			return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+		}).toList();
+	}
+
+	static String signature(String sql) {
+		String signature = STRING_LITERAL.matcher(sql).replaceAll("?");
+		signature = NUMBER_LITERAL.matcher(signature).replaceAll("?");
+		signature = IN_LIST.matcher(signature).replaceAll("(?...)");
+		return WHITESPACE.matcher(signature).replaceAll(" ").trim();
+	}
+
+}
@@ -0,0 +1,33 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Substitui o spring.jpa.show-sql: em vez de imprimir todo comando, mede cada um e só registra os que
+ * passam de app.sql.telemetry.slow-threshold. Desligada com app.sql.telemetry.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTelemetryConfig {
+
+	@Bean
+	public SqlTelemetry sqlTelemetry(@Value("${app.sql.telemetry.slow-threshold:200ms}") Duration slowThreshold,
+			@Value("${app.sql.telemetry.slow-log-sample-rate:1.0}") double slowLogSampleRate,
+			@Value("${app.sql.telemetry.max-signatures:500}") int maxSignatures) {
+		return new SqlTelemetry(slowThreshold, slowLogSampleRate, maxSignatures);
+	}
+
+	// Estático para ser registrado antes dos DataSources e repositórios que precisa interceptar
+	@Bean
+	public static BeanPostProcessor sqlTelemetryPostProcessor(ObjectProvider<SqlTelemetry> telemetry) {
+		return new SqlTelemetryPostProcessor(telemetry);
+	}
+
+}
@@ -0,0 +1,165 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Envolve conexões e comandos do pool para cronometrar cada execução e guardar os parâmetros ligados,
+ * entregando o resultado ao {@link SqlTelemetry}. Os proxies só interceptam os métodos execute* e set*;
+ * o restante vai direto para o driver.
+ */
+public class SqlTelemetryDataSource extends DelegatingDataSource {
+
+	private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+			"executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+	private final SqlTelemetry telemetry;
+
+	public SqlTelemetryDataSource(DataSource target, SqlTelemetry telemetry) {
+		super(target);
+		this.telemetry = telemetry;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				new ConnectionHandler(connection));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static Object identity(Object proxy, Method method, Object[] args) {
+		return switch (method.getName()) {
+			case "equals" -> proxy == args[0];
+			case "hashCode" -> System.identityHashCode(proxy);
+			default -> null;
+		};
+	}
+
+	private static boolean isIdentityMethod(Method method) {
+		return (method.getName().equals("equals") && method.getParameterCount() == 1)
+				|| (method.getName().equals("hashCode") && method.getParameterCount() == 0);
+	}
+
+	private class ConnectionHandler implements InvocationHandler {
+
+		private final Connection connection;
+
+		private ConnectionHandler(Connection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (isIdentityMethod(method)) {
+				return identity(proxy, method, args);
+			}
+			Object result = SqlTelemetryDataSource.invoke(connection, method, args);
+			return switch (method.getName()) {
+				case "prepareStatement" -> statement(PreparedStatement.class, result, (String) args[0]);
+				case "prepareCall" -> statement(CallableStatement.class, result, (String) args[0]);
+				case "createStatement" -> statement(Statement.class, result, null);
+				default -> result;
+			};
+		}
+
+		private Object statement(Class<? extends Statement> type, Object statement, String sql) {
+			return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+					new StatementHandler((Statement) statement, sql));
+		}
+
+	}
+
+	private class StatementHandler implements InvocationHandler {
+
+		private final Statement statement;
+		private final String preparedSql;
+		private final List<Object> parameters = new ArrayList<>();
+		private final List<String> batch = new ArrayList<>();
+		private int batchSize;
+
+		private StatementHandler(Statement statement, String preparedSql) {
+			this.statement = statement;
+			this.preparedSql = preparedSql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (isIdentityMethod(method)) {
+				return identity(proxy, method, args);
+			}
+			String name = method.getName();
+			if (EXECUTE_METHODS.contains(name)) {
+				return execute(method, args);
+			}
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+				bind(index, name.equals("setNull") ? null : args[1]);
+			} else if (name.equals("clearParameters")) {
+				parameters.clear();
+			} else if (name.equals("addBatch")) {
+				batchSize++;
+				if (args != null && args.length == 1) {
+					batch.add((String) args[0]);
+				}
+			} else if (name.equals("clearBatch")) {
+				batchSize = 0;
+				batch.clear();
+			}
+			return SqlTelemetryDataSource.invoke(statement, method, args);
+		}
+
+		private Object execute(Method method, Object[] args) throws Throwable {
+			boolean isBatch = method.getName().endsWith("Batch");
+			String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+					: preparedSql != null ? preparedSql : String.join("; ", batch);
+			long start = System.nanoTime();
+			try {
+				return SqlTelemetryDataSource.invoke(statement, method, args);
+			} finally {
+				telemetry.record(sql, System.nanoTime() - start, parameters, isBatch ? batchSize : 0);
+				if (isBatch) {
+					batchSize = 0;
+					batch.clear();
+				}
+			}
+		}
+
+		private void bind(int index, Object value) {
+			while (parameters.size() < index) {
+				parameters.add(null);
+			}
+			parameters.set(index - 1, value);
+		}
+
+	}
+
+}
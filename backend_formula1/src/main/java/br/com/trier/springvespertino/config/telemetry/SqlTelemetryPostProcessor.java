@@ -0,0 +1,42 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Envolve o DataSource usado pela aplicação (o bean dataSource, que com réplica já é o roteador) e
+ * acrescenta o {@link RepositoryCallTracker} aos proxies dos repositórios antes de serem criados.
+ */
+class SqlTelemetryPostProcessor implements BeanPostProcessor {
+
+	private static final String DATA_SOURCE = "dataSource";
+
+	private final ObjectProvider<SqlTelemetry> telemetry;
+
+	SqlTelemetryPostProcessor(ObjectProvider<SqlTelemetry> telemetry) {
+		this.telemetry = telemetry;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+			factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+					(proxyFactory, information) -> proxyFactory
+							.addAdvice(new RepositoryCallTracker(information.getRepositoryInterface()))));
+		}
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+				&& !(bean instanceof SqlTelemetryDataSource)) {
+			return new SqlTelemetryDataSource(dataSource, telemetry.getObject());
+		}
+		return bean;
+	}
+
+}
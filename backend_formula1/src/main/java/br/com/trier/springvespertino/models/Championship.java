@@ -1,5 +1,6 @@
 package br.com.trier.springvespertino.models;
 
+import br.com.trier.springvespertino.models.dto.ChampionshipDTO;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -29,5 +30,13 @@ public class Championship {
 	
 	@Column(name = "ano")
 	private Integer year;
+	
+	public Championship(ChampionshipDTO dto) {
+		this(dto.getId(), dto.getDescription(), dto.getYear());
+	}
+	
+	public ChampionshipDTO toDTO() {
+		return new ChampionshipDTO(id, description, year);
+	}
 
 }
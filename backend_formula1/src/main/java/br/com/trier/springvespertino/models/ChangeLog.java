@@ -0,0 +1,40 @@
+package br.com.trier.springvespertino.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "revision")
+@Entity(name = "registro_alteracao")
+public class ChangeLog {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registro_alteracao_seq")
+	@SequenceGenerator(name = "registro_alteracao_seq", sequenceName = "registro_alteracao_seq", allocationSize = 50)
+	@Column(name = "revisao")
+	private Long revision;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "entidade")
+	private ChangeType type;
+
+	@Column(name = "entidade_id")
+	private Integer entityId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "operacao")
+	private ChangeOperation operation;
+
+}
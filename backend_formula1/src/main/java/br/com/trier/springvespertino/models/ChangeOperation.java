@@ -0,0 +1,7 @@
+package br.com.trier.springvespertino.models;
+
+public enum ChangeOperation {
+
+	UPSERT, DELETE
+
+}
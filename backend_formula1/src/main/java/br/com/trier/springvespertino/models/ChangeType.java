@@ -0,0 +1,8 @@
+package br.com.trier.springvespertino.models;
+
+// Entidades acompanhadas pelo registro de alterações; usuários ficam de fora do /sync
+public enum ChangeType {
+
+	COUNTRY, TEAM, PILOT, SPEEDWAY, CHAMPIONSHIP, RACE, PILOT_RACE
+
+}
@@ -1,5 +1,6 @@
 package br.com.trier.springvespertino.models;
 
+import br.com.trier.springvespertino.models.dto.CountryDTO;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -26,4 +27,12 @@ public class Country {
 	@Column(unique = true)
 	private String name;
 
+	public Country(CountryDTO dto) {
+		this(dto.getId(), dto.getName());
+	}
+
+	public CountryDTO toDTO() {
+		return new CountryDTO(id, name);
+	}
+
 }
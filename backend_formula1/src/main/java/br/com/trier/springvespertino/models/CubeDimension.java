@@ -0,0 +1,8 @@
+package br.com.trier.springvespertino.models;
+
+// Dimensões do cubo de resultados: temporada, país do piloto, equipe do resultado e faixa de colocação
+public enum CubeDimension {
+
+	SEASON, COUNTRY, TEAM, BUCKET
+
+}
@@ -0,0 +1,33 @@
+package br.com.trier.springvespertino.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "file")
+@Entity(name = "checkpoint_importacao")
+public class ImportCheckpoint {
+
+	@Id
+	@Column(name = "arquivo")
+	private String file;
+
+	@Column(name = "posicao")
+	private Long position;
+
+	@Column(name = "linha")
+	private Long line;
+
+	@Column(name = "concluido")
+	private Boolean finished;
+
+}
@@ -0,0 +1,50 @@
+package br.com.trier.springvespertino.models;
+
+import java.time.ZonedDateTime;
+
+import br.com.trier.springvespertino.models.dto.OutboxEventDTO;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity(name = "outbox_evento")
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_evento_seq")
+	@SequenceGenerator(name = "outbox_evento_seq", sequenceName = "outbox_evento_seq", allocationSize = 50)
+	@Column(name = "id")
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "tipo")
+	private OutboxEventType type;
+
+	@Column(name = "agregado_id")
+	private Integer aggregateId;
+
+	// JSON do DTO da corrida ou do resultado no momento da alteração
+	@Column(name = "dados")
+	private String payload;
+
+	@Column(name = "criado_em")
+	private ZonedDateTime createdAt;
+
+	public OutboxEventDTO toDTO() {
+		return new OutboxEventDTO(id, type, aggregateId, payload, createdAt.toInstant().toString());
+	}
+
+}
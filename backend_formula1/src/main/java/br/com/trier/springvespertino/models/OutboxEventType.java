@@ -0,0 +1,7 @@
+package br.com.trier.springvespertino.models;
+
+public enum OutboxEventType {
+
+	RACE_SAVED, RACE_DELETED, RESULT_SAVED, RESULT_DELETED
+
+}
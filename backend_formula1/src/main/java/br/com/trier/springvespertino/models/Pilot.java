@@ -1,11 +1,13 @@
 package br.com.trier.springvespertino.models;
 
+import br.com.trier.springvespertino.models.dto.PilotDTO;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -37,4 +39,28 @@ public class Pilot {
 	@NotNull
 	private Team team;
 
+	@Setter
+	@Column(name = "versao", updatable = false)
+	private Integer version;
+
+	public Pilot(Integer id, String name, Country country, Team team) {
+		this(id, name, country, team, null);
+	}
+
+	public Pilot(PilotDTO dto) {
+		this(dto.getId(), dto.getName(), new Country(dto.getCountryId(), null), new Team(dto.getTeamId(), null),
+				dto.getVersion());
+	}
+
+	public PilotDTO toDTO() {
+		return new PilotDTO(id, name, country.getId(), country.getName(), team.getId(), team.getName(), version);
+	}
+
+	@PrePersist
+	private void initVersion() {
+		if (version == null) {
+			version = 0;
+		}
+	}
+
 }
@@ -1,5 +1,8 @@
 package br.com.trier.springvespertino.models;
 
+import org.hibernate.Hibernate;
+
+import br.com.trier.springvespertino.models.dto.ClassificationDTO;
 import br.com.trier.springvespertino.models.dto.PilotRaceDTO;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -7,6 +10,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.PrePersist;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -21,7 +26,8 @@ import lombok.Setter;
 public class PilotRace {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "piloto_corrida_seq")
+	@SequenceGenerator(name = "piloto_corrida_seq", sequenceName = "piloto_corrida_seq", allocationSize = 50)
 	@Column(name = "id")
 	@Setter
 	private Integer id;
@@ -35,12 +41,58 @@ public class PilotRace {
 	@ManyToOne
 	private Race race;
 
+	@Setter
+	@Column(name = "versao", updatable = false)
+	private Integer version;
+
+	// Temporada da corrida, informada por quem grava, para que os resultados fiquem na mesma partição dela
+	@Column(name = "temporada", updatable = false)
+	private Integer season;
+
+	// Equipe do piloto quando o resultado foi gravado, que leva os pontos na classificação de equipes
+	@Column(name = "equipe_id")
+	private Integer teamId;
+
+	public PilotRace(Integer id, Integer placement, Pilot pilot, Race race) {
+		this(id, placement, pilot, race, null);
+	}
+
+	public PilotRace(Integer id, Integer placement, Pilot pilot, Race race, Integer version) {
+		this(id, placement, pilot, race, version, null);
+	}
+
+	public PilotRace(Integer id, Integer placement, Pilot pilot, Race race, Integer version, Integer season) {
+		this(id, placement, pilot, race, version, season, null);
+	}
+
+	public PilotRace(PilotRaceDTO dto) {
+		this(dto, new Pilot(dto.getIdPilot(), null, null, null), new Race(dto.getIdRace(), null, null, null));
+	}
+
 	public PilotRace(PilotRaceDTO dto, Pilot pilot, Race race) {
-		this(dto.getId(), dto.getPlacement(), pilot, race);
+		this(dto.getId(), dto.getPlacement(), pilot, race, dto.getVersion());
 	}
 
 	public PilotRaceDTO toDTO() {
-		return new PilotRaceDTO(id, placement, pilot.getId(), pilot.getName(), race.getId());
+		return new PilotRaceDTO(id, placement, pilot.getId(), pilot.getName(), race.getId(), version);
+	}
+
+	// Pilotos removidos depois do arquivamento da temporada chegam sem equipe e país
+	public ClassificationDTO toClassificationDTO() {
+		return new ClassificationDTO(id, placement, pilot.getId(), pilot.getName(),
+				pilot.getTeam() != null ? pilot.getTeam().getId() : null,
+				pilot.getTeam() != null ? pilot.getTeam().getName() : null,
+				pilot.getCountry() != null ? pilot.getCountry().getName() : null);
+	}
+
+	@PrePersist
+	private void beforeInsert() {
+		if (version == null) {
+			version = 0;
+		}
+		if (teamId == null && pilot != null && Hibernate.isInitialized(pilot) && pilot.getTeam() != null) {
+			teamId = pilot.getTeam().getId();
+		}
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package br.com.trier.springvespertino.models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = {"pilotId", "placement"})
+@IdClass(PilotStatistic.Key.class)
+@Entity(name = "estatistica_piloto")
+public class PilotStatistic {
+
+	// Resultados sem colocação ficam na colocação 0
+	public static final int UNCLASSIFIED = 0;
+
+	@Id
+	@Column(name = "piloto_id")
+	private Integer pilotId;
+
+	@Id
+	@Column(name = "colocacao")
+	private Integer placement;
+
+	@Column(name = "resultados")
+	private Integer results;
+
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private Integer pilotId;
+		private Integer placement;
+
+	}
+
+}
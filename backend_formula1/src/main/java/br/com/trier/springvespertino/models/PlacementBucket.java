@@ -0,0 +1,22 @@
+package br.com.trier.springvespertino.models;
+
+// Faixas de colocação do cubo de resultados
+public enum PlacementBucket {
+
+	WIN, PODIUM, POINTS, NO_POINTS, NOT_FINISHED;
+
+	// Colocação nula ou menor que 1 é corrida não concluída
+	public static PlacementBucket of(Integer placement) {
+		if (placement == null || placement < 1) {
+			return NOT_FINISHED;
+		}
+		if (placement == 1) {
+			return WIN;
+		}
+		if (placement <= 3) {
+			return PODIUM;
+		}
+		return placement <= 10 ? POINTS : NO_POINTS;
+	}
+
+}
@@ -0,0 +1,64 @@
+package br.com.trier.springvespertino.models;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import br.com.trier.springvespertino.models.dto.PointsSchemeDTO;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity(name = "sistema_pontuacao")
+public class PointsScheme {
+
+	// Pontuação de campeonatos sem sistema próprio
+	public static final PointsScheme STANDARD = new PointsScheme(null, "Padrão", "25,18,15,12,10,8,6,4,2,1", 0, 0);
+
+	@Setter
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Integer id;
+
+	@Column(name = "descricao")
+	private String description;
+
+	// Pontos do 1º em diante, separados por vírgula; colocações além da lista não pontuam
+	@Column(name = "pontos")
+	private String points;
+
+	@Column(name = "bonus_vitoria")
+	private Integer winBonus;
+
+	@Column(name = "bonus_conclusao")
+	private Integer finishBonus;
+
+	public PointsScheme(PointsSchemeDTO dto) {
+		this(dto.getId(), dto.getDescription(),
+				dto.getPoints() != null ? dto.getPoints().stream().map(String::valueOf).collect(Collectors.joining(",")) : null,
+				dto.getWinBonus() != null ? dto.getWinBonus() : 0,
+				dto.getFinishBonus() != null ? dto.getFinishBonus() : 0);
+	}
+
+	public List<Integer> pointsTable() {
+		return points == null || points.isBlank() ? List.of()
+				: Arrays.stream(points.split(",")).map(String::trim).map(Integer::valueOf).toList();
+	}
+
+	public PointsSchemeDTO toDTO() {
+		return new PointsSchemeDTO(id, description, pointsTable(), winBonus, finishBonus);
+	}
+
+}
@@ -1,8 +1,11 @@
 package br.com.trier.springvespertino.models;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
+import br.com.trier.springvespertino.models.dto.ClassificationDTO;
 import br.com.trier.springvespertino.models.dto.RaceDTO;
+import br.com.trier.springvespertino.models.dto.RaceDetailDTO;
 import br.com.trier.springvespertino.utils.DateUtils;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +13,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -40,12 +44,29 @@ public class Race {
 	@ManyToOne
 	@NotNull
 	private Championship championship;
+
+	@Setter
+	@Column(name = "versao", updatable = false)
+	private Integer version;
+
+	// Ano do campeonato, chave de partição de corrida e piloto_corrida no PostgreSQL
+	@Column(name = "temporada", updatable = false)
+	private Integer season;
+
+	public Race(Integer id, ZonedDateTime date, Speedway speedway, Championship championship) {
+		this(id, date, speedway, championship, null);
+	}
+
+	public Race(Integer id, ZonedDateTime date, Speedway speedway, Championship championship, Integer version) {
+		this(id, date, speedway, championship, version, null);
+	}
 	
 	public Race (RaceDTO dto, Championship championship, Speedway speedway) {
 		this(dto.getId(), 
 				DateUtils.strToZonedDateTime(dto.getDate()), 
 				speedway,
-				championship);
+				championship,
+				dto.getVersion());
 	}
 	
 	public RaceDTO toDTO() {
@@ -54,9 +75,23 @@ public class Race {
 				speedway.getId(), 
 				speedway.getName(), 
 				championship.getId(), 
-				championship.getDescription());
+				championship.getDescription(),
+				version);
+	}
+
+	public RaceDetailDTO toDetailDTO(List<ClassificationDTO> results) {
+		return new RaceDetailDTO(id, DateUtils.zonedDateTimeToStr(date), version, speedway.toDTO(),
+				championship.toDTO(), results);
 	}
 
 	
 
+	@PrePersist
+	private void beforeInsert() {
+		if (version == null) {
+			version = 0;
+		}
+		season = championship.getYear();
+	}
+
 }
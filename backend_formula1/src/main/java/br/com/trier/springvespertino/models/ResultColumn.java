@@ -0,0 +1,8 @@
+package br.com.trier.springvespertino.models;
+
+// Colunas do motor de resultados em memória; as chaves são ids, exceto temporada e colocação
+public enum ResultColumn {
+
+	PILOT, RACE, PLACEMENT, SEASON, TEAM, COUNTRY, SPEEDWAY, CHAMPIONSHIP
+
+}
@@ -0,0 +1,17 @@
+package br.com.trier.springvespertino.models;
+
+// O que cada linha conta numa agregação, pela colocação (nula = Integer.MIN_VALUE)
+public enum ResultMetric {
+
+	RESULTS, FINISHES, WINS, PODIUMS;
+
+	public boolean matches(int placement) {
+		return switch (this) {
+		case RESULTS -> true;
+		case FINISHES -> placement >= 1;
+		case WINS -> placement == 1;
+		case PODIUMS -> placement >= 1 && placement <= 3;
+		};
+	}
+
+}
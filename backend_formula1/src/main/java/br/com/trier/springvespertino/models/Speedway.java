@@ -1,5 +1,6 @@
 package br.com.trier.springvespertino.models;
 
+import br.com.trier.springvespertino.models.dto.SpeedwayDTO;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -33,5 +34,15 @@ public class Speedway {
 	
 	@ManyToOne
 	private Country country;
+	
+	public Speedway(SpeedwayDTO dto, Country country) {
+		this(dto.getId(), dto.getName(), dto.getSize(), country);
+	}
+	
+	// pista.country_id aceita nulo: a pista sem país sai com os campos do país nulos
+	public SpeedwayDTO toDTO() {
+		return new SpeedwayDTO(id, name, size, country != null ? country.getId() : null,
+				country != null ? country.getName() : null);
+	}
 
 }
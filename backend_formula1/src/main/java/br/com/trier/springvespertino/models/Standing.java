@@ -0,0 +1,51 @@
+package br.com.trier.springvespertino.models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = {"championshipId", "pilotId"})
+@IdClass(Standing.Key.class)
+@Entity(name = "classificacao_campeonato")
+public class Standing {
+
+	@Id
+	@Column(name = "campeonato_id")
+	private Integer championshipId;
+
+	@Id
+	@Column(name = "piloto_id")
+	private Integer pilotId;
+
+	@Column(name = "pontos")
+	private Integer points;
+
+	@Column(name = "vitorias")
+	private Integer wins;
+
+	@Column(name = "corridas")
+	private Integer races;
+
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private Integer championshipId;
+		private Integer pilotId;
+
+	}
+
+}
@@ -1,18 +1,21 @@
 package br.com.trier.springvespertino.models;
 
+import java.util.Locale;
+
+import br.com.trier.springvespertino.models.dto.TeamDTO;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode (of = "id")
 @Entity (name = "equipe")
@@ -26,4 +29,44 @@ public class Team {
 	
 	@Column (name = "nome_equipe", unique = true)
 	private String name;
+
+	@Setter
+	@Column(name = "versao", updatable = false)
+	private Integer version;
+
+	// Nome em minúsculas, que leva a constraint única e vale para qualquer banco
+	@Column(name = "nome_normalizado")
+	private String normalizedName;
+
+	public Team(Integer id, String name) {
+		this(id, name, null);
+	}
+
+	public Team(Integer id, String name, Integer version) {
+		this.id = id;
+		this.name = name;
+		this.version = version;
+	}
+
+	public Team(TeamDTO dto) {
+		this(dto.getId(), dto.getName(), dto.getVersion());
+	}
+
+	public TeamDTO toDTO() {
+		return new TeamDTO(id, name, version);
+	}
+
+	@PrePersist
+	private void initVersion() {
+		if (version == null) {
+			version = 0;
+		}
+		normalizeName();
+	}
+
+	@PreUpdate
+	private void normalizeName() {
+		normalizedName = name != null ? name.toLowerCase(Locale.ROOT) : null;
+	}
+
 }
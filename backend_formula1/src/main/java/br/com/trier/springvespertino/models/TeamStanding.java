@@ -0,0 +1,51 @@
+package br.com.trier.springvespertino.models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = {"championshipId", "teamId"})
+@IdClass(TeamStanding.Key.class)
+@Entity(name = "classificacao_equipe")
+public class TeamStanding {
+
+	@Id
+	@Column(name = "campeonato_id")
+	private Integer championshipId;
+
+	@Id
+	@Column(name = "equipe_id")
+	private Integer teamId;
+
+	@Column(name = "pontos")
+	private Integer points;
+
+	@Column(name = "vitorias")
+	private Integer wins;
+
+	@Column(name = "resultados")
+	private Integer results;
+
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private Integer championshipId;
+		private Integer teamId;
+
+	}
+
+}
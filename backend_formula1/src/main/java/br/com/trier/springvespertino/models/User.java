@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -36,13 +37,28 @@ public class User {
 	
 	@Column(name = "permissoes_usuario")
 	private String roles;
+
+	@Setter
+	@Column(name = "versao", updatable = false)
+	private Integer version;
+
+	public User(Integer id, String name, String email, String password, String roles) {
+		this(id, name, email, password, roles, null);
+	}
 	
 	public User(UserDTO dto) {
-		this(dto.getId(), dto.getName(), dto.getEmail(), dto.getPassword(), dto.getRoles());
+		this(dto.getId(), dto.getName(), dto.getEmail(), dto.getPassword(), dto.getRoles(), dto.getVersion());
 	}
 	
 	public UserDTO toDTO() {
-		return new UserDTO(id, name, email, password, roles);
+		return new UserDTO(id, name, email, password, roles, version);
+	}
+
+	@PrePersist
+	private void initVersion() {
+		if (version == null) {
+			version = 0;
+		}
 	}
 
 }
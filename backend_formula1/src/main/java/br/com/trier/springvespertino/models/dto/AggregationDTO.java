@@ -0,0 +1,23 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.ResultColumn;
+import br.com.trier.springvespertino.models.ResultMetric;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class AggregationDTO {
+
+	private ResultColumn groupBy;
+	private ResultMetric metric;
+	private Integer scannedRows;
+	private Long matchedRows;
+	private Long elapsedMicros;
+	private List<AggregateDTO> groups;
+
+}
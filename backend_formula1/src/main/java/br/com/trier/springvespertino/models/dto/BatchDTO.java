@@ -0,0 +1,18 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class BatchDTO<T> {
+
+	// Alinhada com os ids pedidos; null onde o id não existe
+	private List<T> results;
+	private List<Integer> missing;
+
+}
@@ -0,0 +1,18 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class CalendarMonthDTO {
+
+	private String month;
+	private Integer total;
+	private List<RaceDTO> races;
+
+}
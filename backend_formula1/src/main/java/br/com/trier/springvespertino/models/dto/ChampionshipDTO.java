@@ -0,0 +1,16 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ChampionshipDTO {
+	
+	private Integer id;
+	private String description;
+	private Integer year;
+
+}
@@ -0,0 +1,21 @@
+package br.com.trier.springvespertino.models.dto;
+
+import br.com.trier.springvespertino.models.ChangeOperation;
+import br.com.trier.springvespertino.models.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ChangeDTO {
+
+	private Long revision;
+	private ChangeType type;
+	private Integer id;
+	private ChangeOperation operation;
+	// DTO atual da entidade nos upserts; nulo nas exclusões
+	private Object data;
+
+}
@@ -0,0 +1,20 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ClassificationDTO {
+
+	private Integer id;
+	private Integer placement;
+	private Integer pilotId;
+	private String pilotName;
+	private Integer teamId;
+	private String teamName;
+	private String countryName;
+
+}
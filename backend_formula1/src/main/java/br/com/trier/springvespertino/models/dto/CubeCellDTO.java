@@ -0,0 +1,20 @@
+package br.com.trier.springvespertino.models.dto;
+
+import br.com.trier.springvespertino.models.PlacementBucket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class CubeCellDTO {
+
+	// Dimensões fora do agrupamento vêm nulas
+	private Integer season;
+	private Integer countryId;
+	private Integer teamId;
+	private PlacementBucket bucket;
+	private Long results;
+
+}
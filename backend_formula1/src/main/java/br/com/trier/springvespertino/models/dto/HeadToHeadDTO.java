@@ -0,0 +1,20 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class HeadToHeadDTO {
+
+	private Integer championshipId;
+	private List<Integer> pilotIds;
+	private List<String> pilotNames;
+	// ahead.get(i).get(j): corridas em que o piloto i terminou à frente do piloto j
+	private List<List<Integer>> ahead;
+
+}
@@ -0,0 +1,18 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class HeadToHeadPairDTO {
+
+	private Integer championshipId;
+	private Integer pilotId;
+	private Integer opponentId;
+	private Integer ahead;
+	private Integer behind;
+
+}
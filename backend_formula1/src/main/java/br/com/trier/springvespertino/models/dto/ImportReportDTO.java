@@ -0,0 +1,19 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ImportReportDTO {
+
+	private String file;
+	private Long resumedFromLine;
+	private Long lastLine;
+	private Long results;
+	private Integer chunks;
+	private Long elapsedMillis;
+
+}
@@ -0,0 +1,23 @@
+package br.com.trier.springvespertino.models.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import br.com.trier.springvespertino.models.OutboxEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class OutboxEventDTO {
+
+	// Entrega é pelo menos uma vez: consumidores descartam ids repetidos
+	private Long id;
+	private OutboxEventType type;
+	private Integer aggregateId;
+	@JsonRawValue
+	private String payload;
+	private String createdAt;
+
+}
@@ -0,0 +1,17 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PilotRaceBatchDTO {
+
+	private Integer idRace;
+	private List<PilotRaceDTO> results;
+
+}
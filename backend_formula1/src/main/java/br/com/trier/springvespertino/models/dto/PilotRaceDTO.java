@@ -14,5 +14,6 @@ public class PilotRaceDTO {
 	private Integer idPilot;
 	private String namePilot;
 	private Integer idRace;
+	private Integer version;
 
 }
\ No newline at end of file
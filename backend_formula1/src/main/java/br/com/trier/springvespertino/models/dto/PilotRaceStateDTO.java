@@ -0,0 +1,25 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Estado anterior do resultado, com a temporada e o campeonato da corrida e a equipe e o nome do piloto
+// que a alteração grava
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PilotRaceStateDTO {
+
+	private Integer pilotId;
+	private Integer placement;
+	private Integer version;
+	private Integer teamId;
+	private Integer raceId;
+	private Integer championshipId;
+	private Integer newSeason;
+	private Integer newChampionshipId;
+	private Integer newPilotTeamId;
+	private String newPilotName;
+
+}
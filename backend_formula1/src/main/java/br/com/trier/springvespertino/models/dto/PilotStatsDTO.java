@@ -0,0 +1,19 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PilotStatsDTO {
+
+	private Integer pilotId;
+	private Integer starts;
+	private Integer wins;
+	private Integer podiums;
+	private Integer bestFinish;
+	private Double averagePlacement;
+
+}
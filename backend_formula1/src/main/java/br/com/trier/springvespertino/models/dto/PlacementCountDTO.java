@@ -0,0 +1,21 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PlacementCountDTO {
+
+	private Integer pilotId;
+	private Integer teamId;
+	private Integer placement;
+	private Long results;
+
+	public PlacementCountDTO(Integer pilotId, Integer placement, Long results) {
+		this(pilotId, null, placement, results);
+	}
+
+}
@@ -0,0 +1,20 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PointsSchemeDTO {
+
+	private Integer id;
+	private String description;
+	private List<Integer> points;
+	private Integer winBonus;
+	private Integer finishBonus;
+
+}
@@ -15,5 +15,6 @@ public class RaceDTO {
 	private String speedwayName;
 	private Integer championshipId;
 	private String championshipName;
+	private Integer version;
 
 }
@@ -0,0 +1,21 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class RaceDetailDTO {
+
+	private Integer id;
+	private String date;
+	private Integer version;
+	private SpeedwayDTO speedway;
+	private ChampionshipDTO championship;
+	private List<ClassificationDTO> results;
+
+}
@@ -0,0 +1,16 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class RacePlacementDTO {
+
+	private Integer raceId;
+	private Integer pilotId;
+	private Integer placement;
+
+}
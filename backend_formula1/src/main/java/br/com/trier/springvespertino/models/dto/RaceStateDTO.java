@@ -0,0 +1,17 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class RaceStateDTO {
+
+	private Integer id;
+	private Integer championshipId;
+	private Integer season;
+	private Integer version;
+
+}
@@ -0,0 +1,25 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.RecomputationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class RecomputationDTO {
+
+	private Long id;
+	private Integer pointsSchemeId;
+	private RecomputationStatus status;
+	private Integer championships;
+	private Integer completed;
+	private List<Integer> failed;
+	private String error;
+	private Integer standings;
+	private Long elapsedMillis;
+
+}
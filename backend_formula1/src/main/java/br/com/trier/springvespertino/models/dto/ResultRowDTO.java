@@ -0,0 +1,22 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ResultRowDTO {
+
+	private Integer id;
+	private Integer pilotId;
+	private Integer raceId;
+	private Integer placement;
+	private Integer season;
+	private Integer teamId;
+	private Integer countryId;
+	private Integer speedwayId;
+	private Integer championshipId;
+
+}
@@ -0,0 +1,21 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.CubeDimension;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ResultsCubeDTO {
+
+	private List<CubeDimension> groupBy;
+	private Integer scannedCells;
+	private Long results;
+	private Long elapsedMicros;
+	private List<CubeCellDTO> cells;
+
+}
@@ -0,0 +1,19 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ResultsEngineDTO {
+
+	private Boolean loaded;
+	private Integer rows;
+	private Integer capacity;
+	private Boolean offHeap;
+	private Long bytes;
+	private Long loadMillis;
+
+}
@@ -0,0 +1,19 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class SeasonArchiveDTO {
+
+	private Integer championshipId;
+	private Integer season;
+	private Integer races;
+	private Integer results;
+	private Integer bytes;
+	private Boolean mapped;
+
+}
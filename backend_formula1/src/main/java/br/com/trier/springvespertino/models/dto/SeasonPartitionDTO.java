@@ -0,0 +1,17 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class SeasonPartitionDTO {
+
+	private Integer season;
+	private Boolean attached;
+	private Long estimatedRaces;
+	private Long estimatedResults;
+
+}
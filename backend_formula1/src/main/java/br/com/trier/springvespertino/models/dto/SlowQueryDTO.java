@@ -0,0 +1,26 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class SlowQueryDTO {
+
+	private String signature;
+	private String lastCaller;
+	private Long calls;
+	private Long slowCalls;
+	private Double totalMillis;
+	private Double meanMillis;
+	private Double maxMillis;
+	private Long p50Millis;
+	private Long p95Millis;
+	private Long p99Millis;
+	private Map<String, Long> histogram;
+
+}
@@ -0,0 +1,18 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class SpeedwayDTO {
+	
+	private Integer id;
+	private String name;
+	private Integer size;
+	private Integer countryId;
+	private String countryName;
+
+}
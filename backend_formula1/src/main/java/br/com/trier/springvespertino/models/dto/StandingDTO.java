@@ -0,0 +1,26 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class StandingDTO {
+
+	@Setter
+	private Integer position;
+	private Integer pilotId;
+	private String pilotName;
+	private String teamName;
+	private Integer points;
+	private Integer wins;
+	private Integer races;
+
+	public StandingDTO(Integer pilotId, String pilotName, String teamName, Integer points, Integer wins, Integer races) {
+		this(null, pilotId, pilotName, teamName, points, wins, races);
+	}
+
+}
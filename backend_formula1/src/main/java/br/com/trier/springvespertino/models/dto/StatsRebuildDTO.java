@@ -0,0 +1,19 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class StatsRebuildDTO {
+
+	private Integer pilots;
+	private Integer rows;
+	private List<Integer> inconsistentPilots;
+	private Long elapsedMillis;
+
+}
@@ -0,0 +1,19 @@
+package br.com.trier.springvespertino.models.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class SyncDTO {
+
+	// Enviar de volta como since na próxima sincronização
+	private Long revision;
+	private Boolean hasMore;
+	private List<ChangeDTO> changes;
+
+}
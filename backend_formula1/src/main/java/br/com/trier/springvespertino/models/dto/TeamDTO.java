@@ -0,0 +1,16 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class TeamDTO {
+	
+	private Integer id;
+	private String name;
+	private Integer version;
+
+}
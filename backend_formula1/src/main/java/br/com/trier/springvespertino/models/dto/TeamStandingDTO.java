@@ -0,0 +1,25 @@
+package br.com.trier.springvespertino.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class TeamStandingDTO {
+
+	@Setter
+	private Integer position;
+	private Integer teamId;
+	private String teamName;
+	private Integer points;
+	private Integer wins;
+	private Integer results;
+
+	public TeamStandingDTO(Integer teamId, String teamName, Integer points, Integer wins, Integer results) {
+		this(null, teamId, teamName, points, wins, results);
+	}
+
+}
@@ -17,5 +17,10 @@ public class UserDTO {
 	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String password;
 	private String roles;
+	private Integer version;
+
+	public UserDTO(Integer id, String name, String email, String password, String roles) {
+		this(id, name, email, password, roles, null);
+	}
 
 }
@@ -3,17 +3,49 @@ package br.com.trier.springvespertino.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.Championship;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ChampionshipRepository extends JpaRepository<Championship, Integer>{
 	
 	List<Championship> findByYearBetween(Integer start, Integer end);
 	List<Championship> findByYear(Integer year);
 	List<Championship> findByDescriptionContainsIgnoreCase(String descricao);
 	List<Championship> findByDescriptionContainsIgnoreCaseAndYearEquals(String descricao, Integer ano);
-	
+
+	// Trava o campeonato e devolve seu sistema de pontuação (null = padrão): atualizações da classificação e
+	// recálculos do mesmo campeonato esperam o commit de quem chegou antes
+	@Transactional
+	@Query(value = "select sistema_pontuacao_id from campeonato where codigo_campeonato = :id for update",
+			nativeQuery = true)
+	Integer lockPointsSchemeId(@Param("id") Integer id);
+
+	// Sistema de pontuação sem travar o campeonato, para leituras
+	@Query(value = "select sistema_pontuacao_id from campeonato where codigo_campeonato = :id", nativeQuery = true)
+	Integer findPointsSchemeId(@Param("id") Integer id);
+
+	@Query(value = "select codigo_campeonato from campeonato where sistema_pontuacao_id = :schemeId "
+			+ "order by codigo_campeonato", nativeQuery = true)
+	List<Integer> findIdsByPointsSchemeId(@Param("schemeId") Integer schemeId);
+
+	@Transactional
+	@Modifying
+	@Query(value = "update campeonato set sistema_pontuacao_id = :schemeId where codigo_campeonato in (:ids)",
+			nativeQuery = true)
+	int updatePointsScheme(@Param("schemeId") Integer schemeId, @Param("ids") List<Integer> ids);
+
+	@Transactional
+	@Modifying
+	@Query(value = "update campeonato set sistema_pontuacao_id = null where codigo_campeonato in (:ids)",
+			nativeQuery = true)
+	int clearPointsScheme(@Param("ids") List<Integer> ids);
+
 
 }
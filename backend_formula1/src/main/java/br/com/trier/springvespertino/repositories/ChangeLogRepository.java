@@ -0,0 +1,23 @@
+package br.com.trier.springvespertino.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.ChangeLog;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ChangeLogRepository extends JpaRepository<ChangeLog, Long> {
+
+	List<ChangeLog> findByRevisionGreaterThanAndRevisionLessThanOrderByRevisionAsc(Long since, Long until,
+			Pageable pageable);
+
+	@Query("select coalesce(max(c.revision), 0) from registro_alteracao c")
+	long findMaxRevision();
+
+}
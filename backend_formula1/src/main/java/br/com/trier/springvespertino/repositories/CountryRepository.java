@@ -4,10 +4,12 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.Country;
 
 @Repository
+@Transactional(readOnly = true)
 public interface CountryRepository extends JpaRepository<Country, Integer>{
 	List<Country> findByNameEqualsIgnoreCase(String nome);
 }
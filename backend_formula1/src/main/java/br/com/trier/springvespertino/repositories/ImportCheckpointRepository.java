@@ -0,0 +1,11 @@
+package br.com.trier.springvespertino.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import br.com.trier.springvespertino.models.ImportCheckpoint;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+
+}
@@ -0,0 +1,28 @@
+package br.com.trier.springvespertino.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+@Transactional(readOnly = true)
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	// Lote mais antigo travado até o commit do relay; o timeout -2 vira "skip locked" no PostgreSQL, então
+	// relays de outras instâncias pegam os lotes seguintes em vez de esperar
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("select e from outbox_evento e order by e.id")
+	List<OutboxEvent> findPending(Pageable pageable);
+
+}
@@ -1,21 +1,131 @@
 package br.com.trier.springvespertino.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.Championship;
 import br.com.trier.springvespertino.models.Pilot;
 import br.com.trier.springvespertino.models.PilotRace;
 import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.ClassificationDTO;
+import br.com.trier.springvespertino.models.dto.PilotRaceStateDTO;
+import br.com.trier.springvespertino.models.dto.PlacementCountDTO;
+import br.com.trier.springvespertino.models.dto.RacePlacementDTO;
+import br.com.trier.springvespertino.models.dto.ResultRowDTO;
+import jakarta.persistence.LockModeType;
 
 @Repository
+@Transactional(readOnly = true)
 public interface PilotRaceRepository extends JpaRepository<PilotRace, Integer> {
 	
+	// Consultas em lote trazem as associações no mesmo select do IN
+	@Override
+	@EntityGraph(attributePaths = {"pilot", "pilot.country", "pilot.team", "race", "race.speedway", "race.speedway.country", "race.championship"})
+	List<PilotRace> findAllById(Iterable<Integer> ids);
+	
+	// Estado anterior do resultado, travado até o fim da transação que vai alterá-lo; corrida e piloto novos
+	// entram como subconsultas para a trava ficar só na linha do resultado
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select new br.com.trier.springvespertino.models.dto.PilotRaceStateDTO(pr.pilot.id, pr.placement, "
+			+ "pr.version, pr.teamId, pr.race.id, (select r.championship.id from corrida r where r.id = pr.race.id), "
+			+ "(select r.season from corrida r where r.id = :raceId), "
+			+ "(select r.championship.id from corrida r where r.id = :raceId), "
+			+ "(select p.team.id from piloto p where p.id = :pilotId), (select p.name from piloto p where p.id = :pilotId)) "
+			+ "from piloto_corrida pr where pr.id = :id")
+	Optional<PilotRaceStateDTO> findStateForUpdate(@Param("id") Integer id, @Param("pilotId") Integer pilotId,
+			@Param("raceId") Integer raceId);
+	
 	List<PilotRace> findByPlacement(Integer placement);
 	List<PilotRace> findByPilot(Pilot pilot);
-	List<PilotRace> findByRaceOrderByPlacementAsc(Race race);
+	// A temporada da corrida restringe a busca à partição do ano no PostgreSQL particionado
+	List<PilotRace> findByRaceAndSeasonOrderByPlacementAsc(Race race, Integer season);
+	// Classificação já como DTO: um select com piloto, equipe e país, sem montar as entidades
+	@Query("select new br.com.trier.springvespertino.models.dto.ClassificationDTO(pr.id, pr.placement, p.id, p.name, "
+			+ "t.id, t.name, c.name) from piloto_corrida pr left join pr.pilot p left join p.team t left join p.country c "
+			+ "where pr.race.id = :raceId and pr.season = :season order by pr.placement asc, pr.id asc")
+	List<ClassificationDTO> findClassification(@Param("raceId") Integer raceId, @Param("season") Integer season);
+	// Resultados do campeonato agrupados por piloto, equipe e colocação, para recalcular as classificações
+	@Query("select new br.com.trier.springvespertino.models.dto.PlacementCountDTO(pr.pilot.id, pr.teamId, pr.placement, "
+			+ "count(pr)) from piloto_corrida pr where pr.race.championship.id = :championshipId and pr.pilot is not null "
+			+ "group by pr.pilot.id, pr.teamId, pr.placement")
+	List<PlacementCountDTO> countPlacements(@Param("championshipId") Integer championshipId);
+	// Colocações do campeonato, ou só das corridas informadas, para a matriz de confronto direto
+	@Query("select new br.com.trier.springvespertino.models.dto.RacePlacementDTO(pr.race.id, pr.pilot.id, pr.placement) "
+			+ "from piloto_corrida pr where pr.race.championship.id = :championshipId and pr.pilot is not null "
+			+ "and pr.placement >= 1")
+	List<RacePlacementDTO> findPlacements(@Param("championshipId") Integer championshipId);
+	@Query("select new br.com.trier.springvespertino.models.dto.RacePlacementDTO(pr.race.id, pr.pilot.id, pr.placement) "
+			+ "from piloto_corrida pr where pr.race.championship.id = :championshipId and pr.race.id in :raceIds "
+			+ "and pr.pilot is not null and pr.placement >= 1")
+	List<RacePlacementDTO> findPlacements(@Param("championshipId") Integer championshipId,
+			@Param("raceIds") Collection<Integer> raceIds);
+	// Resultados do campeonato, ou só das corridas informadas, inclusive não concluídos, para a classificação por rodada
+	@Query("select new br.com.trier.springvespertino.models.dto.RacePlacementDTO(pr.race.id, pr.pilot.id, pr.placement) "
+			+ "from piloto_corrida pr where pr.race.championship.id = :championshipId and pr.pilot is not null")
+	List<RacePlacementDTO> findResults(@Param("championshipId") Integer championshipId);
+	@Query("select new br.com.trier.springvespertino.models.dto.RacePlacementDTO(pr.race.id, pr.pilot.id, pr.placement) "
+			+ "from piloto_corrida pr where pr.race.championship.id = :championshipId and pr.race.id in :raceIds "
+			+ "and pr.pilot is not null")
+	List<RacePlacementDTO> findResults(@Param("championshipId") Integer championshipId,
+			@Param("raceIds") Collection<Integer> raceIds);
+	// Todos os resultados agrupados por piloto e colocação, para reconstruir as estatísticas de carreira
+	@Query("select new br.com.trier.springvespertino.models.dto.PlacementCountDTO(pr.pilot.id, pr.placement, count(pr)) "
+			+ "from piloto_corrida pr where pr.pilot is not null group by pr.pilot.id, pr.placement")
+	List<PlacementCountDTO> countPlacementsByPilot();
+	// Linhas do motor de resultados em memória: só ids e valores, sem montar entidades
+	@Query("select new br.com.trier.springvespertino.models.dto.ResultRowDTO(pr.id, p.id, r.id, pr.placement, pr.season, "
+			+ "pr.teamId, c.id, s.id, ch.id) from piloto_corrida pr join pr.race r left join pr.pilot p left join p.country c "
+			+ "left join r.speedway s left join r.championship ch")
+	List<ResultRowDTO> findRows();
+	@Query("select new br.com.trier.springvespertino.models.dto.ResultRowDTO(pr.id, p.id, r.id, pr.placement, pr.season, "
+			+ "pr.teamId, c.id, s.id, ch.id) from piloto_corrida pr join pr.race r left join pr.pilot p left join p.country c "
+			+ "left join r.speedway s left join r.championship ch where pr.id in :ids")
+	List<ResultRowDTO> findRowsByIdIn(@Param("ids") Collection<Integer> ids);
+	@Query("select new br.com.trier.springvespertino.models.dto.ResultRowDTO(pr.id, p.id, r.id, pr.placement, pr.season, "
+			+ "pr.teamId, c.id, s.id, ch.id) from piloto_corrida pr join pr.race r left join pr.pilot p left join p.country c "
+			+ "left join r.speedway s left join r.championship ch where r.id = :raceId")
+	List<ResultRowDTO> findRowsByRaceId(@Param("raceId") Integer raceId);
+	// Resultados de várias corridas de uma vez, para o carregamento em lote do GraphQL
+	@EntityGraph(attributePaths = {"pilot", "pilot.country", "pilot.team", "race", "race.speedway", "race.speedway.country", "race.championship"})
+	List<PilotRace> findByRaceInOrderByPlacementAscIdAsc(Collection<Race> races);
+	List<PilotRace> findByRaceChampionshipAndSeason(Championship championship, Integer season);
 	List<PilotRace> findByPlacementBetweenAndRace(Integer placementIn, Integer placementFin, Race race);
 	PilotRace findByPilotAndRace(Pilot pilot, Race race);
 	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update piloto_corrida pr set pr.placement = :placement, pr.pilot = :pilot, pr.race = :race, "
+			+ "pr.season = :season, pr.teamId = :teamId, pr.version = pr.version + 1 "
+			+ "where pr.id = :id and (:version is null or pr.version = :version)")
+	int update(@Param("id") Integer id, @Param("version") Integer version, @Param("placement") Integer placement,
+			@Param("pilot") Pilot pilot, @Param("race") Race race, @Param("season") Integer season,
+			@Param("teamId") Integer teamId);
+
+	// Arquivamento: apaga só as linhas lidas para o arquivo, nunca resultados inseridos depois da leitura
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from piloto_corrida pr where pr.id in :ids and pr.season = :season")
+	int deleteArchived(@Param("ids") List<Integer> ids, @Param("season") Integer season);
+
+	// Acompanha a corrida quando ela troca de campeonato e, portanto, de temporada
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update piloto_corrida pr set pr.season = :season where pr.race.id = :raceId and pr.season <> :season")
+	int updateSeason(@Param("raceId") Integer raceId, @Param("season") Integer season);
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update piloto_corrida pr set pr.season = :season where pr.race.id in :raceIds and pr.season <> :season")
+	int updateSeasonByRaces(@Param("raceIds") List<Integer> raceIds, @Param("season") Integer season);
+	
 }
\ No newline at end of file
@@ -1,20 +1,53 @@
 package br.com.trier.springvespertino.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.Country;
 import br.com.trier.springvespertino.models.Pilot;
 import br.com.trier.springvespertino.models.Team;
 
 @Repository
+@Transactional(readOnly = true)
 public interface PilotRepository extends JpaRepository<Pilot, Integer>{
 	
+	// Consultas em lote trazem as associações no mesmo select do IN
+	@Override
+	@EntityGraph(attributePaths = {"country", "team"})
+	List<Pilot> findAllById(Iterable<Integer> ids);
+
+	@EntityGraph(attributePaths = {"country", "team"})
+	Optional<Pilot> findDetailById(Integer id);
+	
 	List<Pilot> findByNameStartsWithIgnoreCase(String name);
 	List<Pilot> findByCountry(Country country);
 	List<Pilot> findByTeam(Team team);
+
+	@Query("select p.country.id from piloto p where p.id = :id")
+	Integer findCountryIdById(@Param("id") Integer id);
+
+	// Serializa as atualizações da estatística do piloto: quem chega depois espera o commit do primeiro
+	@Transactional
+	@Query(value = "select id_piloto from piloto where id_piloto = :id for update", nativeQuery = true)
+	Integer lockById(@Param("id") Integer id);
+
+	@Transactional
+	@Query(value = "select id_piloto from piloto order by id_piloto for update", nativeQuery = true)
+	List<Integer> lockAll();
 	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update piloto p set p.name = :name, p.country = :country, p.team = :team, p.version = p.version + 1 "
+			+ "where p.id = :id and (:version is null or p.version = :version)")
+	int update(@Param("id") Integer id, @Param("version") Integer version, @Param("name") String name,
+			@Param("country") Country country, @Param("team") Team team);
 	
 }
@@ -0,0 +1,39 @@
+package br.com.trier.springvespertino.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.PilotStatistic;
+
+@Repository
+@Transactional(readOnly = true)
+public interface PilotStatisticRepository extends JpaRepository<PilotStatistic, PilotStatistic.Key> {
+
+	// Um select pelo início da chave primária: uma linha por colocação em que o piloto já terminou
+	List<PilotStatistic> findByPilotId(Integer pilotId);
+
+	@Transactional
+	@Modifying
+	@Query("update estatistica_piloto s set s.results = s.results + :results "
+			+ "where s.pilotId = :pilotId and s.placement = :placement")
+	int increment(@Param("pilotId") Integer pilotId, @Param("placement") Integer placement,
+			@Param("results") int results);
+
+	@Transactional
+	@Modifying
+	@Query("delete from estatistica_piloto s where s.pilotId = :pilotId and s.placement = :placement "
+			+ "and s.results <= 0")
+	int deleteEmpty(@Param("pilotId") Integer pilotId, @Param("placement") Integer placement);
+
+	@Transactional
+	@Modifying
+	@Query("delete from estatistica_piloto s where s.pilotId in :pilotIds")
+	int deleteByPilotIdIn(@Param("pilotIds") List<Integer> pilotIds);
+
+}
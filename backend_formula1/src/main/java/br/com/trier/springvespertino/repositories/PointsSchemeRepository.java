@@ -0,0 +1,13 @@
+package br.com.trier.springvespertino.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.PointsScheme;
+
+@Repository
+@Transactional(readOnly = true)
+public interface PointsSchemeRepository extends JpaRepository<PointsScheme, Integer> {
+
+}
@@ -1,20 +1,89 @@
 package br.com.trier.springvespertino.repositories;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.Championship;
 import br.com.trier.springvespertino.models.Race;
 import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.RaceStateDTO;
+import jakarta.persistence.LockModeType;
 
 @Repository
+@Transactional(readOnly = true)
 public interface RaceRepository extends JpaRepository<Race, Integer>{
 	
-	List<Race> findByDate(ZonedDateTime date);
+	// Consultas em lote trazem as associações no mesmo select do IN
+	@Override
+	@EntityGraph(attributePaths = {"speedway", "speedway.country", "championship"})
+	List<Race> findAllById(Iterable<Integer> ids);
+	
+	// Intervalo semiaberto [start, end) sobre idx_corrida_data; o grafo traz pista, país e campeonato
+	// no mesmo select, que é tudo que o calendário exibe
+	@EntityGraph(attributePaths = {"speedway", "speedway.country", "championship"})
+	List<Race> findByDateGreaterThanEqualAndDateLessThanOrderByDateAscIdAsc(ZonedDateTime start, ZonedDateTime end);
 	List<Race> findBySpeedway(Speedway speedway);
-	List<Race> findByChampionship(Championship championship);
+	// A temporada redundante com o campeonato permite ao PostgreSQL particionado ler só a partição do ano
+	List<Race> findByChampionshipAndSeason(Championship championship, Integer season);
+	// Corridas de vários campeonatos de uma vez, para o carregamento em lote do GraphQL
+	@EntityGraph(attributePaths = {"speedway", "speedway.country", "championship"})
+	List<Race> findByChampionshipInOrderByDateAscIdAsc(Collection<Championship> championships);
+	
+	// Rodadas do campeonato na ordem do calendário
+	List<Race> findByChampionshipIdOrderByDateAscIdAsc(Integer championshipId);
+	
+	// Página da corrida: pista com país e campeonato no mesmo select
+	@EntityGraph(attributePaths = {"speedway", "speedway.country", "championship"})
+	Optional<Race> findDetailById(Integer id);
+
+	@Query("select r.season from corrida r where r.id = :id")
+	Integer findSeasonById(@Param("id") Integer id);
+
+	boolean existsByIdIn(Collection<Integer> ids);
+
+	// Estado anterior da corrida, travado até o fim da transação que vai alterá-la
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select new br.com.trier.springvespertino.models.dto.RaceStateDTO(r.id, r.championship.id, r.season, "
+			+ "r.version) from corrida r where r.id = :id")
+	Optional<RaceStateDTO> findStateForUpdate(@Param("id") Integer id);
+
+	// Temporada e campeonato sem carregar as corridas nem suas associações EAGER
+	@Query("select new br.com.trier.springvespertino.models.dto.RaceStateDTO(r.id, r.championship.id, r.season, "
+			+ "r.version) from corrida r where r.id in :ids")
+	List<RaceStateDTO> findStatesByIdIn(@Param("ids") Collection<Integer> ids);
+
+	@Query("select r.id from corrida r where r.championship.id = :championshipId order by r.id")
+	List<Integer> findIdsByChampionshipId(@Param("championshipId") Integer championshipId);
+
+	// Acompanha o ano do campeonato quando ele muda
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update corrida r set r.season = :season where r.championship.id = :championshipId and r.season <> :season")
+	int updateSeasonByChampionship(@Param("championshipId") Integer championshipId, @Param("season") Integer season);
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update corrida r set r.date = :date, r.speedway = :speedway, r.championship = :championship, "
+			+ "r.season = :season, r.version = r.version + 1 "
+			+ "where r.id = :id and (:version is null or r.version = :version)")
+	int update(@Param("id") Integer id, @Param("version") Integer version, @Param("date") ZonedDateTime date,
+			@Param("speedway") Speedway speedway, @Param("championship") Championship championship,
+			@Param("season") Integer season);
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from corrida r where r.id in :ids and r.season = :season")
+	int deleteArchived(@Param("ids") List<Integer> ids, @Param("season") Integer season);
 
 }
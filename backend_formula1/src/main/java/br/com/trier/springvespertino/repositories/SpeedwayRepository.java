@@ -2,15 +2,23 @@ package br.com.trier.springvespertino.repositories;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.Country;
 import br.com.trier.springvespertino.models.Speedway;
 
 @Repository
+@Transactional(readOnly = true)
 public interface SpeedwayRepository extends JpaRepository<Speedway, Integer>{
 	
+	// Consultas em lote trazem as associações no mesmo select do IN
+	@Override
+	@EntityGraph(attributePaths = {"country"})
+	List<Speedway> findAllById(Iterable<Integer> ids);
+	
 	List<Speedway> findByNameStartsWithIgnoreCase(String name);
 	List<Speedway> findBySizeBetween(Integer sizeIn, Integer sizeFin);
 	List<Speedway> findByCountryOrderBySizeDesc(Country country);
@@ -0,0 +1,44 @@
+package br.com.trier.springvespertino.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.Standing;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+
+@Repository
+@Transactional(readOnly = true)
+public interface StandingRepository extends JpaRepository<Standing, Standing.Key> {
+
+	// Um select pela chave primária do campeonato, com nome do piloto e da equipe
+	@Query("select new br.com.trier.springvespertino.models.dto.StandingDTO(s.pilotId, p.name, t.name, s.points, "
+			+ "s.wins, s.races) from classificacao_campeonato s join piloto p on p.id = s.pilotId left join p.team t "
+			+ "where s.championshipId = :championshipId order by s.points desc, s.wins desc, p.name asc")
+	List<StandingDTO> findStandings(@Param("championshipId") Integer championshipId);
+
+	// Sem limpar o contexto: quem chama ainda usa as entidades que acabou de gravar
+	@Transactional
+	@Modifying
+	@Query("update classificacao_campeonato s set s.points = s.points + :points, s.wins = s.wins + :wins, "
+			+ "s.races = s.races + :races where s.championshipId = :championshipId and s.pilotId = :pilotId")
+	int increment(@Param("championshipId") Integer championshipId, @Param("pilotId") Integer pilotId,
+			@Param("points") int points, @Param("wins") int wins, @Param("races") int races);
+
+	@Transactional
+	@Modifying
+	@Query("delete from classificacao_campeonato s where s.championshipId = :championshipId and s.pilotId = :pilotId "
+			+ "and s.races <= 0")
+	int deleteEmpty(@Param("championshipId") Integer championshipId, @Param("pilotId") Integer pilotId);
+
+	@Transactional
+	@Modifying
+	@Query("delete from classificacao_campeonato s where s.championshipId = :championshipId")
+	int deleteByChampionship(@Param("championshipId") Integer championshipId);
+
+}
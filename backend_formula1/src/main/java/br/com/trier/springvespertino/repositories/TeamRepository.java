@@ -3,15 +3,25 @@ package br.com.trier.springvespertino.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.Team;
 
 @Repository
+@Transactional(readOnly = true)
 public interface TeamRepository extends JpaRepository<Team, Integer> {
 
 	List<Team> findByNameIgnoreCase(String name);
 
 	List<Team> findByNameContains(String name);
 
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update equipe t set t.name = :name, t.normalizedName = lower(:name), t.version = t.version + 1 where t.id = :id and (:version is null or t.version = :version)")
+	int update(@Param("id") Integer id, @Param("version") Integer version, @Param("name") String name);
+
 }
@@ -0,0 +1,43 @@
+package br.com.trier.springvespertino.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.TeamStanding;
+import br.com.trier.springvespertino.models.dto.TeamStandingDTO;
+
+@Repository
+@Transactional(readOnly = true)
+public interface TeamStandingRepository extends JpaRepository<TeamStanding, TeamStanding.Key> {
+
+	// Equipes removidas depois de pontuar aparecem sem nome
+	@Query("select new br.com.trier.springvespertino.models.dto.TeamStandingDTO(s.teamId, t.name, s.points, s.wins, "
+			+ "s.results) from classificacao_equipe s left join equipe t on t.id = s.teamId "
+			+ "where s.championshipId = :championshipId order by s.points desc, s.wins desc, t.name asc")
+	List<TeamStandingDTO> findStandings(@Param("championshipId") Integer championshipId);
+
+	@Transactional
+	@Modifying
+	@Query("update classificacao_equipe s set s.points = s.points + :points, s.wins = s.wins + :wins, "
+			+ "s.results = s.results + :results where s.championshipId = :championshipId and s.teamId = :teamId")
+	int increment(@Param("championshipId") Integer championshipId, @Param("teamId") Integer teamId,
+			@Param("points") int points, @Param("wins") int wins, @Param("results") int results);
+
+	@Transactional
+	@Modifying
+	@Query("delete from classificacao_equipe s where s.championshipId = :championshipId and s.teamId = :teamId "
+			+ "and s.results <= 0")
+	int deleteEmpty(@Param("championshipId") Integer championshipId, @Param("teamId") Integer teamId);
+
+	@Transactional
+	@Modifying
+	@Query("delete from classificacao_equipe s where s.championshipId = :championshipId")
+	int deleteByChampionship(@Param("championshipId") Integer championshipId);
+
+}
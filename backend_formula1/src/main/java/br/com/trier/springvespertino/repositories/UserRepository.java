@@ -4,15 +4,27 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.User;
 
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Integer>{
 	
 	List<User> findByNameStartingWithIgnoreCase(String name);
 	Optional<User> findByEmail(String email);
 	Optional<User> findByName(String name);
+	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update usuario u set u.name = :name, u.email = :email, u.password = :password, u.roles = :roles, "
+			+ "u.version = u.version + 1 where u.id = :id and (:version is null or u.version = :version)")
+	int update(@Param("id") Integer id, @Param("version") Integer version, @Param("name") String name,
+			@Param("email") String email, @Param("password") String password, @Param("roles") String roles);
 
 }
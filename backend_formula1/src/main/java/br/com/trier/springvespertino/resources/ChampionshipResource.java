@@ -11,10 +11,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.ChampionshipDTO;
+import br.com.trier.springvespertino.models.dto.HeadToHeadDTO;
+import br.com.trier.springvespertino.models.dto.HeadToHeadPairDTO;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.models.dto.TeamStandingDTO;
 import br.com.trier.springvespertino.services.ChampionshipService;
+import br.com.trier.springvespertino.services.HeadToHeadService;
+import br.com.trier.springvespertino.services.StandingsHistoryService;
+import br.com.trier.springvespertino.services.StandingsService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/championships")
@@ -22,54 +33,95 @@ public class ChampionshipResource {
 	
 	@Autowired
 	private ChampionshipService service;
+
+	@Autowired
+	private StandingsService standingsService;
+
+	@Autowired
+	private StandingsHistoryService standingsHistoryService;
+
+	@Autowired
+	private HeadToHeadService headToHeadService;
 	
 	@PostMapping
-	public ResponseEntity<Championship> insert(@RequestBody Championship championship) {
-		Championship newChampionship = service.insert(championship);
-		return newChampionship!=null ? ResponseEntity.ok(newChampionship) : ResponseEntity.noContent().build();
+	public ResponseEntity<ChampionshipDTO> insert(@RequestBody ChampionshipDTO championship) {
+		Championship newChampionship = service.insert(new Championship(championship));
+		return newChampionship!=null ? ResponseEntity.ok(newChampionship.toDTO()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping("/{id}")
-	public ResponseEntity<Championship> findById(@PathVariable Integer id){
+	public ResponseEntity<ChampionshipDTO> findById(@PathVariable Integer id){
 		Championship championship = service.findById(id);
-		return championship!=null ? ResponseEntity.ok(championship) : ResponseEntity.noContent().build();
+		return championship!=null ? ResponseEntity.ok(championship.toDTO()) : ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/{id}/standings")
+	public ResponseEntity<List<StandingDTO>> standings(@PathVariable Integer id) {
+		return ResponseEntity.ok(standingsService.findByChampionship(id));
+	}
+
+	@GetMapping("/{id}/standings/rounds/{round}")
+	public ResponseEntity<List<StandingDTO>> standingsAfterRound(@PathVariable Integer id, @PathVariable Integer round) {
+		return ResponseEntity.ok(standingsHistoryService.findAfterRound(id, round));
+	}
+
+	@GetMapping("/{id}/team-standings")
+	public ResponseEntity<List<TeamStandingDTO>> teamStandings(@PathVariable Integer id) {
+		return ResponseEntity.ok(standingsService.findTeamsByChampionship(id));
+	}
+
+	@GetMapping("/{id}/head-to-head")
+	public ResponseEntity<HeadToHeadDTO> headToHead(@PathVariable Integer id) {
+		return ResponseEntity.ok(headToHeadService.findByChampionship(id));
+	}
+
+	@GetMapping("/{id}/head-to-head/{pilotId}/{opponentId}")
+	public ResponseEntity<HeadToHeadPairDTO> headToHead(@PathVariable Integer id, @PathVariable Integer pilotId,
+			@PathVariable Integer opponentId) {
+		return ResponseEntity.ok(headToHeadService.findPair(id, pilotId, opponentId));
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<ChampionshipDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), Championship::getId, Championship::toDTO));
 	}
 	
 	@GetMapping("/year/{ano}")
-	public ResponseEntity<List<Championship>> findByAno(@PathVariable Integer ano) {
+	public ResponseEntity<List<ChampionshipDTO>> findByAno(@PathVariable Integer ano) {
 		List<Championship> lista = service.findByYear(ano);
-		return lista.size()>0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size()>0 ? ResponseEntity.ok(lista.stream().map(Championship::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping("/year-beetwen/{start}/{end}")
-	public ResponseEntity<List<Championship>> findByYearBetween(@PathVariable Integer start, @PathVariable Integer end){
+	public ResponseEntity<List<ChampionshipDTO>> findByYearBetween(@PathVariable Integer start, @PathVariable Integer end){
 		List<Championship> lista = service.findByYearBetween(start, end);
-		return lista.size() > 0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size() > 0 ? ResponseEntity.ok(lista.stream().map(Championship::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping("/description/{description}")
-	public ResponseEntity<List<Championship>> findByDescricaoContainsIgnoreCase(@PathVariable String description) {
+	public ResponseEntity<List<ChampionshipDTO>> findByDescricaoContainsIgnoreCase(@PathVariable String description) {
 		List<Championship> lista = service.findByDescriptionContainsIgnoreCase(description);
-		return lista.size()>0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size()>0 ? ResponseEntity.ok(lista.stream().map(Championship::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 
 	@GetMapping("/description-year/{descricao}/{ano}")
-	public ResponseEntity<List<Championship>> findByDescricaoContainsIgnoreCaseAndAnoEquals(@PathVariable String descricao, @PathVariable Integer ano) {
+	public ResponseEntity<List<ChampionshipDTO>> findByDescricaoContainsIgnoreCaseAndAnoEquals(@PathVariable String descricao, @PathVariable Integer ano) {
 		List<Championship> lista = service.findByescriptionContainsIgnoreCaseAndAnoEquals(descricao, ano);
-		return lista.size()>0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size()>0 ? ResponseEntity.ok(lista.stream().map(Championship::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping
-	public ResponseEntity<List<Championship>> listAll(){
+	public ResponseEntity<List<ChampionshipDTO>> listAll(){
 		List<Championship> lista = service.listAll();
-		return lista.size() > 0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size() > 0 ? ResponseEntity.ok(lista.stream().map(Championship::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@PutMapping("/{id}")
-	public ResponseEntity<Championship> update(@PathVariable Integer id, @RequestBody Championship championship){
+	public ResponseEntity<ChampionshipDTO> update(@PathVariable Integer id, @RequestBody ChampionshipDTO championshipDTO){
+		Championship championship = new Championship(championshipDTO);
 		championship.setId(id);
 		championship = service.update(championship);
-		return championship!=null ? ResponseEntity.ok(championship) : ResponseEntity.noContent().build();
+		return championship!=null ? ResponseEntity.ok(championship.toDTO()) : ResponseEntity.noContent().build();
 	}
 	
 	@DeleteMapping("/{id}")
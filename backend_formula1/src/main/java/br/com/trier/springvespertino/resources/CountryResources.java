@@ -11,10 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.CountryDTO;
 import br.com.trier.springvespertino.services.CountryService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/countries")
@@ -24,16 +28,17 @@ public class CountryResources {
 	private CountryService service;
 	
 	@PostMapping
-	public ResponseEntity<Country> save(@RequestBody Country pais){
-		Country newPais = service.salvar(pais);
-		return newPais != null ? ResponseEntity.ok(newPais) : ResponseEntity.badRequest().build();
+	public ResponseEntity<CountryDTO> save(@RequestBody CountryDTO pais){
+		Country newPais = service.salvar(new Country(pais));
+		return newPais != null ? ResponseEntity.ok(newPais.toDTO()) : ResponseEntity.badRequest().build();
 	}
 	
 	@PutMapping("/{id}")
-	public ResponseEntity<Country> update(@PathVariable Integer id, @RequestBody Country pais){
+	public ResponseEntity<CountryDTO> update(@PathVariable Integer id, @RequestBody CountryDTO paisDTO){
+		Country pais = new Country(paisDTO);
 		pais.setId(id);
 		pais = service.update(pais);
-		return pais != null ? ResponseEntity.ok(pais) : ResponseEntity.badRequest().build();
+		return pais != null ? ResponseEntity.ok(pais.toDTO()) : ResponseEntity.badRequest().build();
 	}
 	
 	@DeleteMapping("/{id}")
@@ -43,21 +48,26 @@ public class CountryResources {
 	}
 	
 	@GetMapping()
-	public ResponseEntity<List<Country>> listAll(){
+	public ResponseEntity<List<CountryDTO>> listAll(){
 		List<Country> paises = service.listAll();
-		return paises.size()>0 ? ResponseEntity.ok(paises) : ResponseEntity.noContent().build();
+		return paises.size()>0 ? ResponseEntity.ok(paises.stream().map(Country::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping("/{id}")
-	public ResponseEntity<Country> findById(@PathVariable Integer id){
+	public ResponseEntity<CountryDTO> findById(@PathVariable Integer id){
 		Country pais = service.findById(id);
-		return pais != null ? ResponseEntity.ok(pais) : ResponseEntity.noContent().build();
+		return pais != null ? ResponseEntity.ok(pais.toDTO()) : ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<CountryDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), Country::getId, Country::toDTO));
 	}
 
 	@GetMapping("/name/{name}")
-	public ResponseEntity<List<Country>> findByNomeEqualsIgnoreCase(@PathVariable String name){
+	public ResponseEntity<List<CountryDTO>> findByNomeEqualsIgnoreCase(@PathVariable String name){
 		List<Country> lista = service.findByNomeEqualsIgnoreCase(name);
-		return lista.size() > 0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size() > 0 ? ResponseEntity.ok(lista.stream().map(Country::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 
 }
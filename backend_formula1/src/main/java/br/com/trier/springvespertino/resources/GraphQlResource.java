@@ -0,0 +1,97 @@
+package br.com.trier.springvespertino.resources;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.services.ChampionshipService;
+import br.com.trier.springvespertino.services.PilotRaceService;
+import br.com.trier.springvespertino.services.PilotService;
+import br.com.trier.springvespertino.services.RaceService;
+import br.com.trier.springvespertino.utils.DateUtils;
+
+/**
+ * Leitura em GraphQL sobre os mesmos serviços dos recursos REST (schema em resources/graphql). As listas
+ * aninhadas usam @BatchMapping: os campeonatos (ou corridas) de um nível são reunidos pelo DataLoader da
+ * requisição e resolvidos numa consulta só; as associações muitos-para-um já chegam pelo grafo de entidades
+ * das consultas em lote.
+ */
+@Controller
+public class GraphQlResource {
+
+	@Autowired
+	private ChampionshipService championshipService;
+
+	@Autowired
+	private RaceService raceService;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private PilotService pilotService;
+
+	@QueryMapping
+	public List<Championship> championships() {
+		return championshipService.listAll();
+	}
+
+	@QueryMapping
+	public Championship championship(@Argument Integer id) {
+		return championshipService.findById(id);
+	}
+
+	@QueryMapping
+	public List<Race> races(@Argument List<Integer> ids) {
+		return raceService.findAllById(ids);
+	}
+
+	@QueryMapping
+	public Race race(@Argument Integer id) {
+		return raceService.findById(id);
+	}
+
+	@QueryMapping
+	public List<Pilot> pilots(@Argument List<Integer> ids) {
+		return pilotService.findAllById(ids);
+	}
+
+	@QueryMapping
+	public Pilot pilot(@Argument Integer id) {
+		return pilotService.findById(id);
+	}
+
+	@SchemaMapping(typeName = "Race")
+	public String date(Race race) {
+		return DateUtils.zonedDateTimeToStr(race.getDate());
+	}
+
+	@BatchMapping(typeName = "Championship", field = "races")
+	public Map<Championship, List<Race>> championshipRaces(List<Championship> championships) {
+		Map<Integer, List<Race>> races = raceService.findByChampionships(championships).stream()
+				.collect(Collectors.groupingBy(race -> race.getChampionship().getId()));
+		return championships.stream().distinct().collect(Collectors.toMap(Function.identity(),
+				championship -> races.getOrDefault(championship.getId(), List.of())));
+	}
+
+	@BatchMapping(typeName = "Race", field = "results")
+	public Map<Race, List<PilotRace>> raceResults(List<Race> races) {
+		Map<Integer, List<PilotRace>> results = pilotRaceService.findByRaces(races).stream()
+				.collect(Collectors.groupingBy(pilotRace -> pilotRace.getRace().getId()));
+		return races.stream().distinct().collect(Collectors.toMap(Function.identity(),
+				race -> results.getOrDefault(race.getId(), List.of())));
+	}
+
+}
@@ -0,0 +1,43 @@
+package br.com.trier.springvespertino.resources;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.dto.ImportReportDTO;
+import br.com.trier.springvespertino.services.SeasonImportService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+
+@RestController
+@RequestMapping("/imports")
+public class ImportResource {
+
+	@Autowired
+	private SeasonImportService service;
+
+	@Value("${app.import.directory}")
+	private String directory;
+
+	@Value("${app.import.chunk-size}")
+	private Integer defaultChunkSize;
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/season")
+	public ResponseEntity<ImportReportDTO> importSeason(@RequestParam String file, @RequestParam(required = false) Integer chunkSize) {
+		Path base = Paths.get(directory).toAbsolutePath().normalize();
+		Path path = base.resolve(file).normalize();
+		if (!path.startsWith(base)) {
+			throw new IntegrityViolation("Arquivo inválido: %s".formatted(file));
+		}
+		return ResponseEntity.ok(service.importResults(path, chunkSize != null ? chunkSize : defaultChunkSize));
+	}
+
+}
@@ -11,13 +11,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.trier.springvespertino.models.Pilot;
 import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.PilotRaceBatchDTO;
 import br.com.trier.springvespertino.models.dto.PilotRaceDTO;
 import br.com.trier.springvespertino.services.PilotRaceService;
 import br.com.trier.springvespertino.services.PilotService;
 import br.com.trier.springvespertino.services.RaceService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/pilot-race")
@@ -35,10 +42,19 @@ public class PilotRaceResource {
 
     @PostMapping
     public ResponseEntity<PilotRaceDTO> insert(@RequestBody PilotRaceDTO pilotoCorridaDTO) {
-    	return ResponseEntity.ok(service.insert(new PilotRace(pilotoCorridaDTO,
-    			pilotoService.findById(pilotoCorridaDTO.getIdPilot()),
-    			corridaService.findById(pilotoCorridaDTO.getIdRace())))
-    			.toDTO());
+    	return ResponseEntity.ok(service.insert(new PilotRace(pilotoCorridaDTO)).toDTO());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<PilotRaceDTO>> insertBatch(@RequestBody PilotRaceBatchDTO batchDTO) {
+    	if (batchDTO.getResults() == null || batchDTO.getResults().isEmpty()) {
+    		throw new IntegrityViolation("Lista de resultados vazia");
+    	}
+    	List<PilotRace> grid = batchDTO.getResults().stream()
+    			.map(dto -> new PilotRace(dto.getId(), dto.getPlacement(), new Pilot(dto.getIdPilot(), null, null, null),
+    					new Race(batchDTO.getIdRace(), null, null, null)))
+    			.toList();
+    	return ResponseEntity.ok(service.insertAll(grid).stream().map(PilotRace::toDTO).toList());
     }
 
     @GetMapping("/{id}")
@@ -46,6 +62,11 @@ public class PilotRaceResource {
         return ResponseEntity.ok(service.findById(id).toDTO());
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<BatchDTO<PilotRaceDTO>> findAllById(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), PilotRace::getId, PilotRace::toDTO));
+    }
+
     @GetMapping
     public ResponseEntity<List<PilotRaceDTO>> listAll() {
     	return ResponseEntity.ok(service.listAll().stream().map(PilotRace::toDTO).toList());
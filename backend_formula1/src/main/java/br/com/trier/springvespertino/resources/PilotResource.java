@@ -11,12 +11,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.PilotDTO;
+import br.com.trier.springvespertino.models.dto.PilotStatsDTO;
 import br.com.trier.springvespertino.services.CountryService;
 import br.com.trier.springvespertino.services.PilotService;
+import br.com.trier.springvespertino.services.PilotStatsService;
 import br.com.trier.springvespertino.services.TeamService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/pilot")
@@ -31,29 +37,39 @@ public class PilotResource {
 	@Autowired
 	private TeamService teamService;
 
+	@Autowired
+	private PilotStatsService pilotStatsService;
+
 	@GetMapping("/{id}")
-	public ResponseEntity<Pilot> findById(@PathVariable Integer id) {
-		return ResponseEntity.ok(service.findById(id));
+	public ResponseEntity<PilotDTO> findById(@PathVariable Integer id) {
+		return ResponseEntity.ok(service.findById(id).toDTO());
+	}
+
+	@GetMapping("/{id}/stats")
+	public ResponseEntity<PilotStatsDTO> stats(@PathVariable Integer id) {
+		return ResponseEntity.ok(pilotStatsService.findByPilot(id));
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<PilotDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), Pilot::getId, Pilot::toDTO));
 	}
 
 	@PostMapping
-	ResponseEntity<Pilot> insert(@RequestBody Pilot pilot) {
-		countryService.findById(pilot.getCountry().getId());
-		teamService.findById(pilot.getTeam().getId());
-		return ResponseEntity.ok(service.insert(pilot));
+	ResponseEntity<PilotDTO> insert(@RequestBody PilotDTO pilotDTO) {
+		return ResponseEntity.ok(service.insert(new Pilot(pilotDTO)).toDTO());
 	}
 
 	@GetMapping
-	ResponseEntity<List<Pilot>> listAll() {
-		return ResponseEntity.ok(service.listAll());
+	ResponseEntity<List<PilotDTO>> listAll() {
+		return ResponseEntity.ok(service.listAll().stream().map(Pilot::toDTO).toList());
 	}
 
 	@PutMapping("/{id}")
-	ResponseEntity<Pilot> update(@PathVariable Integer id, @RequestBody Pilot pilot) {
-		countryService.findById(pilot.getCountry().getId());
-		teamService.findById(pilot.getTeam().getId());
+	ResponseEntity<PilotDTO> update(@PathVariable Integer id, @RequestBody PilotDTO pilotDTO) {
+		Pilot pilot = new Pilot(pilotDTO);
 		pilot.setId(id);
-		return ResponseEntity.ok(service.update(pilot));
+		return ResponseEntity.ok(service.update(pilot).toDTO());
 	}
 
 	@DeleteMapping
@@ -63,18 +79,18 @@ public class PilotResource {
 	}
 
 	@GetMapping("/name/{name}")
-	ResponseEntity<List<Pilot>> findByNameStartsWithIgnoreCase(@PathVariable String name) {
-		return ResponseEntity.ok(service.findByNameStartsWithIgnoreCase(name));
+	ResponseEntity<List<PilotDTO>> findByNameStartsWithIgnoreCase(@PathVariable String name) {
+		return ResponseEntity.ok(service.findByNameStartsWithIgnoreCase(name).stream().map(Pilot::toDTO).toList());
 	}
 
 	@GetMapping("/country/{idPais}")
-	ResponseEntity<List<Pilot>> findByCountry(@PathVariable Integer idPais) {
-		return ResponseEntity.ok(service.findByCountry(countryService.findById(idPais)));
+	ResponseEntity<List<PilotDTO>> findByCountry(@PathVariable Integer idPais) {
+		return ResponseEntity.ok(service.findByCountry(countryService.findById(idPais)).stream().map(Pilot::toDTO).toList());
 	}
 	
 	@GetMapping("/team/{idTeam}")
-	ResponseEntity<List<Pilot>> findByTeam(@PathVariable Integer idTeam) {
-		return ResponseEntity.ok(service.findByTeam(teamService.findById(idTeam)));
+	ResponseEntity<List<PilotDTO>> findByTeam(@PathVariable Integer idTeam) {
+		return ResponseEntity.ok(service.findByTeam(teamService.findById(idTeam)).stream().map(Pilot::toDTO).toList());
 	}
 
 }
@@ -0,0 +1,26 @@
+package br.com.trier.springvespertino.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.dto.StatsRebuildDTO;
+import br.com.trier.springvespertino.services.PilotStatsService;
+
+@RestController
+@RequestMapping("/admin/pilot-stats")
+public class PilotStatsResource {
+
+	@Autowired
+	private PilotStatsService service;
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/rebuild")
+	public ResponseEntity<StatsRebuildDTO> rebuild() {
+		return ResponseEntity.ok(service.rebuild());
+	}
+
+}
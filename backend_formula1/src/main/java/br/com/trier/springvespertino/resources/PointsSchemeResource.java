@@ -0,0 +1,86 @@
+package br.com.trier.springvespertino.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.PointsScheme;
+import br.com.trier.springvespertino.models.dto.PointsSchemeDTO;
+import br.com.trier.springvespertino.models.dto.RecomputationDTO;
+import br.com.trier.springvespertino.services.PointsSchemeService;
+
+@RestController
+@RequestMapping("/points-schemes")
+public class PointsSchemeResource {
+
+	@Autowired
+	private PointsSchemeService service;
+
+	@GetMapping
+	public ResponseEntity<List<PointsSchemeDTO>> listAll() {
+		return ResponseEntity.ok(service.listAll().stream().map(PointsScheme::toDTO).toList());
+	}
+
+	@GetMapping("/{id}")
+	public ResponseEntity<PointsSchemeDTO> findById(@PathVariable Integer id) {
+		return ResponseEntity.ok(service.findById(id).toDTO());
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping
+	public ResponseEntity<PointsSchemeDTO> insert(@RequestBody PointsSchemeDTO scheme) {
+		return ResponseEntity.ok(service.insert(new PointsScheme(scheme)).toDTO());
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PutMapping("/{id}")
+	public ResponseEntity<PointsSchemeDTO> update(@PathVariable Integer id, @RequestBody PointsSchemeDTO schemeDTO) {
+		PointsScheme scheme = new PointsScheme(schemeDTO);
+		scheme.setId(id);
+		return ResponseEntity.ok(service.update(scheme).toDTO());
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@DeleteMapping("/{id}")
+	public ResponseEntity<Void> delete(@PathVariable Integer id) {
+		service.delete(id);
+		return ResponseEntity.ok().build();
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PutMapping("/{id}/championships")
+	public ResponseEntity<RecomputationDTO> assign(@PathVariable Integer id, @RequestBody List<Integer> championshipIds) {
+		return ResponseEntity.ok(service.assign(id, championshipIds));
+	}
+
+	// Campeonatos voltam à pontuação padrão
+	@Secured({"ROLE_ADMIN"})
+	@DeleteMapping("/championships")
+	public ResponseEntity<RecomputationDTO> unassign(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(service.unassign(ids));
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/{id}/recompute")
+	public ResponseEntity<RecomputationDTO> recompute(@PathVariable Integer id) {
+		return ResponseEntity.ok(service.recompute(id));
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@GetMapping("/recomputations")
+	public ResponseEntity<List<RecomputationDTO>> listRecomputations() {
+		return ResponseEntity.ok(service.listRecomputations());
+	}
+
+}
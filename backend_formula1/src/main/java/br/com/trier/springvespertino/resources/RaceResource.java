@@ -17,10 +17,14 @@ import org.springframework.web.bind.annotation.RestController;
 import br.com.trier.springvespertino.models.Championship;
 import br.com.trier.springvespertino.models.Race;
 import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.CalendarMonthDTO;
 import br.com.trier.springvespertino.models.dto.RaceDTO;
+import br.com.trier.springvespertino.models.dto.RaceDetailDTO;
 import br.com.trier.springvespertino.services.ChampionshipService;
 import br.com.trier.springvespertino.services.RaceService;
 import br.com.trier.springvespertino.services.SpeedwayService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 import br.com.trier.springvespertino.utils.DateUtils;
 
 @RestController
@@ -41,6 +45,16 @@ public class RaceResource {
 		return ResponseEntity.ok(service.findById(id).toDTO());
 	}
 
+	@GetMapping("/{id}/detail")
+	public ResponseEntity<RaceDetailDTO> findDetail(@PathVariable Integer id) {
+		return ResponseEntity.ok(service.findDetail(id));
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<RaceDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), Race::getId, Race::toDTO));
+	}
+
 	@PostMapping
 	ResponseEntity<RaceDTO> insert(@RequestBody RaceDTO raceDTO) {
 		return ResponseEntity.ok(service.insert(new Race(
@@ -81,6 +95,26 @@ public class RaceResource {
 				.toList());
 	}
 
+	@GetMapping("/calendar")
+	ResponseEntity<List<RaceDTO>> calendar(@RequestParam String from, @RequestParam String to) {
+		return ResponseEntity.ok(service.findByDateBetween(DateUtils.strToZonedDateTime(from),
+				DateUtils.strToZonedDateTime(to))
+				.stream()
+				.map(Race::toDTO)
+				.toList());
+	}
+
+	@GetMapping("/calendar/months")
+	ResponseEntity<List<CalendarMonthDTO>> calendarByMonth(@RequestParam String from, @RequestParam String to) {
+		return ResponseEntity.ok(service.calendar(DateUtils.strToZonedDateTime(from), DateUtils.strToZonedDateTime(to))
+				.entrySet()
+				.stream()
+				.map(month -> new CalendarMonthDTO(DateUtils.yearMonthToStr(month.getKey()),
+						month.getValue().size(),
+						month.getValue().stream().map(Race::toDTO).toList()))
+				.toList());
+	}
+
 	@GetMapping("/speedway/{idSpeedway}")
 	ResponseEntity<List<RaceDTO>> findBySpeedway(@PathVariable Integer idSpeedway) {
 		return ResponseEntity.ok(service.findBySpeedway(speedwayService.findById(idSpeedway))
@@ -8,14 +8,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.CubeDimension;
+import br.com.trier.springvespertino.models.PlacementBucket;
 import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.ResultColumn;
+import br.com.trier.springvespertino.models.ResultMetric;
+import br.com.trier.springvespertino.models.dto.AggregationDTO;
 import br.com.trier.springvespertino.models.dto.RaceCountryYearDTO;
 import br.com.trier.springvespertino.models.dto.RaceDTO;
+import br.com.trier.springvespertino.models.dto.ResultsCubeDTO;
 import br.com.trier.springvespertino.services.CountryService;
 import br.com.trier.springvespertino.services.RaceService;
+import br.com.trier.springvespertino.services.ResultsEngineService;
 import br.com.trier.springvespertino.services.SpeedwayService;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
 
@@ -31,6 +39,25 @@ public class ReportResource {
 	
 	@Autowired
 	private RaceService raceService;
+
+	@Autowired
+	private ResultsEngineService resultsEngineService;
+
+	// Ex.: vitórias por piloto (groupBy=PILOT, metric=WINS), pódios por equipe, resultados por pista
+	@GetMapping("/results")
+	public ResponseEntity<AggregationDTO> aggregateResults(@RequestParam ResultColumn groupBy,
+			@RequestParam ResultMetric metric, @RequestParam(required = false) Integer season,
+			@RequestParam(required = false) Integer championship, @RequestParam(defaultValue = "20") Integer limit) {
+		return ResponseEntity.ok(resultsEngineService.aggregate(groupBy, metric, season, championship, limit));
+	}
+
+	// Recortes do painel: filtros opcionais por dimensão e agrupamento por qualquer combinação delas
+	@GetMapping("/results-cube")
+	public ResponseEntity<ResultsCubeDTO> resultsCube(@RequestParam(required = false) List<CubeDimension> groupBy,
+			@RequestParam(required = false) Integer season, @RequestParam(required = false) Integer country,
+			@RequestParam(required = false) Integer team, @RequestParam(required = false) PlacementBucket bucket) {
+		return ResponseEntity.ok(resultsEngineService.cube(groupBy, season, country, team, bucket));
+	}
 	
 	
 	@GetMapping("/races-by-country-year/{countryId}/{year}")
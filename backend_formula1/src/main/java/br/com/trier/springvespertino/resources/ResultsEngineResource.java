@@ -0,0 +1,33 @@
+package br.com.trier.springvespertino.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.dto.ResultsEngineDTO;
+import br.com.trier.springvespertino.services.ResultsEngineService;
+
+@RestController
+@RequestMapping("/admin/results-engine")
+public class ResultsEngineResource {
+
+	@Autowired
+	private ResultsEngineService service;
+
+	@Secured({"ROLE_ADMIN"})
+	@GetMapping
+	public ResponseEntity<ResultsEngineDTO> status() {
+		return ResponseEntity.ok(service.status());
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/reload")
+	public ResponseEntity<ResultsEngineDTO> reload() {
+		return ResponseEntity.ok(service.reload());
+	}
+
+}
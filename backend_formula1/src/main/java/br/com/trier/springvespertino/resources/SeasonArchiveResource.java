@@ -0,0 +1,36 @@
+package br.com.trier.springvespertino.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.dto.SeasonArchiveDTO;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+
+@RestController
+@RequestMapping("/admin/archives")
+public class SeasonArchiveResource {
+
+	@Autowired
+	private SeasonArchiveService service;
+
+	@Secured({"ROLE_ADMIN"})
+	@GetMapping
+	public ResponseEntity<List<SeasonArchiveDTO>> listArchives() {
+		return ResponseEntity.ok(service.listArchives());
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/championships/{championshipId}")
+	public ResponseEntity<SeasonArchiveDTO> archive(@PathVariable Integer championshipId) {
+		return ResponseEntity.ok(service.archive(championshipId));
+	}
+
+}
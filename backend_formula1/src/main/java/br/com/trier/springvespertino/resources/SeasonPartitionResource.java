@@ -0,0 +1,48 @@
+package br.com.trier.springvespertino.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.dto.SeasonPartitionDTO;
+import br.com.trier.springvespertino.services.SeasonPartitionService;
+
+@RestController
+@RequestMapping("/admin/partitions")
+public class SeasonPartitionResource {
+
+	@Autowired
+	private SeasonPartitionService service;
+
+	@Secured({"ROLE_ADMIN"})
+	@GetMapping
+	public ResponseEntity<List<SeasonPartitionDTO>> listPartitions() {
+		return ResponseEntity.ok(service.listPartitions());
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/{season}")
+	public ResponseEntity<SeasonPartitionDTO> createPartition(@PathVariable Integer season) {
+		return ResponseEntity.ok(service.createPartition(season));
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/{season}/detach")
+	public ResponseEntity<SeasonPartitionDTO> detachPartition(@PathVariable Integer season) {
+		return ResponseEntity.ok(service.detachPartition(season));
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@PostMapping("/{season}/attach")
+	public ResponseEntity<SeasonPartitionDTO> attachPartition(@PathVariable Integer season) {
+		return ResponseEntity.ok(service.attachPartition(season));
+	}
+
+}
@@ -11,11 +11,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.SpeedwayDTO;
 import br.com.trier.springvespertino.services.CountryService;
 import br.com.trier.springvespertino.services.SpeedwayService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/speedway")
@@ -28,26 +32,31 @@ public class SpeedwayResource {
 	private CountryService countryService;
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Speedway> findById(@PathVariable Integer id) {
-		return ResponseEntity.ok(service.findById(id));
+	public ResponseEntity<SpeedwayDTO> findById(@PathVariable Integer id) {
+		return ResponseEntity.ok(service.findById(id).toDTO());
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<SpeedwayDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), Speedway::getId, Speedway::toDTO));
 	}
 
 	@PostMapping
-	ResponseEntity<Speedway> insert(@RequestBody Speedway speedway) {
-		countryService.findById(speedway.getCountry().getId());
-		return ResponseEntity.ok(service.insert(speedway));
+	ResponseEntity<SpeedwayDTO> insert(@RequestBody SpeedwayDTO speedwayDTO) {
+		return ResponseEntity.ok(service.insert(new Speedway(speedwayDTO,
+				countryService.findById(speedwayDTO.getCountryId()))).toDTO());
 	}
 
 	@GetMapping
-	ResponseEntity<List<Speedway>> listAll() {
-		return ResponseEntity.ok(service.listAll());
+	ResponseEntity<List<SpeedwayDTO>> listAll() {
+		return ResponseEntity.ok(service.listAll().stream().map(Speedway::toDTO).toList());
 	}
 
 	@PutMapping("/{id}")
-	ResponseEntity<Speedway> update(@PathVariable Integer id, @RequestBody Speedway speedway) {
-		countryService.findById(speedway.getCountry().getId());
+	ResponseEntity<SpeedwayDTO> update(@PathVariable Integer id, @RequestBody SpeedwayDTO speedwayDTO) {
+		Speedway speedway = new Speedway(speedwayDTO, countryService.findById(speedwayDTO.getCountryId()));
 		speedway.setId(id);
-		return ResponseEntity.ok(service.update(speedway));
+		return ResponseEntity.ok(service.update(speedway).toDTO());
 	}
 
 	@DeleteMapping
@@ -57,19 +66,22 @@ public class SpeedwayResource {
 	}
 
 	@GetMapping("/name/{name}")
-	ResponseEntity<List<Speedway>> findByNameStartsWithIgnoreCase(@PathVariable String name) {
-		return ResponseEntity.ok(service.findByNameStartsWithIgnoreCase(name));
+	ResponseEntity<List<SpeedwayDTO>> findByNameStartsWithIgnoreCase(@PathVariable String name) {
+		return ResponseEntity.ok(service.findByNameStartsWithIgnoreCase(name).stream().map(Speedway::toDTO).toList());
 	}
 
 	@GetMapping("/size/{sizeIn}/{sizeFin}")
-	ResponseEntity<List<Speedway>> findBySizeBetween(@PathVariable Integer sizeIn, @PathVariable Integer sizeFin) {
-		return ResponseEntity.ok(service.findBySizeBetween(sizeIn, sizeFin));
+	ResponseEntity<List<SpeedwayDTO>> findBySizeBetween(@PathVariable Integer sizeIn, @PathVariable Integer sizeFin) {
+		return ResponseEntity.ok(service.findBySizeBetween(sizeIn, sizeFin).stream().map(Speedway::toDTO).toList());
 	}
 
 	@GetMapping("/country/{idPais}")
-	ResponseEntity<List<Speedway>> findByCountryOrderBySizeDesc(@PathVariable Integer idPais) {
+	ResponseEntity<List<SpeedwayDTO>> findByCountryOrderBySizeDesc(@PathVariable Integer idPais) {
 		return ResponseEntity.ok(service.
-				findByCountryOrderBySizeDesc(countryService.findById(idPais)));
+				findByCountryOrderBySizeDesc(countryService.findById(idPais))
+				.stream()
+				.map(Speedway::toDTO)
+				.toList());
 	}
 
 }
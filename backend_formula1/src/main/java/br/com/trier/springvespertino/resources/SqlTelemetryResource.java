@@ -0,0 +1,45 @@
+package br.com.trier.springvespertino.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.config.telemetry.SqlTelemetry;
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+
+@RestController
+@RequestMapping("/admin/sql")
+@ConditionalOnProperty(name = "app.sql.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTelemetryResource {
+
+	private static final int MAX_LIMIT = 100;
+
+	@Autowired
+	private SqlTelemetry telemetry;
+
+	@Secured({"ROLE_ADMIN"})
+	@GetMapping("/slow-queries")
+	public ResponseEntity<List<SlowQueryDTO>> slowQueries(@RequestParam(defaultValue = "10") Integer limit) {
+		if (limit <= 0 || limit > MAX_LIMIT) {
+			throw new IntegrityViolation("Limite inválido: %s (entre 1 e %s)".formatted(limit, MAX_LIMIT));
+		}
+		return ResponseEntity.ok(telemetry.top(limit));
+	}
+
+	@Secured({"ROLE_ADMIN"})
+	@DeleteMapping("/slow-queries")
+	public ResponseEntity<Void> reset() {
+		telemetry.reset();
+		return ResponseEntity.ok().build();
+	}
+
+}
@@ -0,0 +1,26 @@
+package br.com.trier.springvespertino.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.trier.springvespertino.models.dto.SyncDTO;
+import br.com.trier.springvespertino.services.ChangeLogService;
+
+@RestController
+@RequestMapping("/sync")
+public class SyncResource {
+
+	@Autowired
+	private ChangeLogService service;
+
+	@GetMapping
+	public ResponseEntity<SyncDTO> sync(@RequestParam(defaultValue = "0") Long since,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(service.sync(since, limit));
+	}
+
+}
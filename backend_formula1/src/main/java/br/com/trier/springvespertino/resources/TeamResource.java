@@ -11,10 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.models.dto.TeamDTO;
 import br.com.trier.springvespertino.services.TeamService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/teams")
@@ -24,28 +28,34 @@ public class TeamResource {
 	private TeamService service;
 	
 	@PostMapping
-	public ResponseEntity<Team> insert(@RequestBody Team equipe) {
-		Team newEquipe = service.salvar(equipe);
-		return newEquipe != null ? ResponseEntity.ok(newEquipe) : ResponseEntity.badRequest().build();
+	public ResponseEntity<TeamDTO> insert(@RequestBody TeamDTO equipe) {
+		Team newEquipe = service.salvar(new Team(equipe));
+		return newEquipe != null ? ResponseEntity.ok(newEquipe.toDTO()) : ResponseEntity.badRequest().build();
 	}
 	
 	@GetMapping
-	public ResponseEntity<List<Team>> listarTodos(){
+	public ResponseEntity<List<TeamDTO>> listarTodos(){
 		List<Team> lista = service.listAll();
-		return lista != null ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista != null ? ResponseEntity.ok(lista.stream().map(Team::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping ("/{id}")
-	public ResponseEntity<Team> buscaPorCodigo(@PathVariable Integer id) {
+	public ResponseEntity<TeamDTO> buscaPorCodigo(@PathVariable Integer id) {
 		Team newEquipe = service.findById(id);
-		return newEquipe != null ? ResponseEntity.ok(newEquipe) : ResponseEntity.noContent().build();
+		return newEquipe != null ? ResponseEntity.ok(newEquipe.toDTO()) : ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<TeamDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), Team::getId, Team::toDTO));
 	}
 	
 	@PutMapping ("/{id}")
-	public ResponseEntity<Team> update(@PathVariable Integer id, @RequestBody Team equipe){
+	public ResponseEntity<TeamDTO> update(@PathVariable Integer id, @RequestBody TeamDTO equipeDTO){
+		Team equipe = new Team(equipeDTO);
 		equipe.setId(id);
 		equipe = service.update(equipe);
-		return equipe != null ? ResponseEntity.ok(equipe) : ResponseEntity.badRequest().build();
+		return equipe != null ? ResponseEntity.ok(equipe.toDTO()) : ResponseEntity.badRequest().build();
 	}
 	
 	@DeleteMapping ("/{id}")
@@ -55,15 +65,15 @@ public class TeamResource {
 	}
 	
 	@GetMapping ("/name/{name}")
-	public ResponseEntity<List<Team>> buscaPorNome(@PathVariable String name) {
+	public ResponseEntity<List<TeamDTO>> buscaPorNome(@PathVariable String name) {
 		List<Team> lista = service.findByNameIgnoreCase(name);
-		return lista.size() > 0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size() > 0 ? ResponseEntity.ok(lista.stream().map(Team::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 	
 	@GetMapping ("/name/contains/{name}")
-	public ResponseEntity<List<Team>> buscaPorNomeContem(@PathVariable String name) {
+	public ResponseEntity<List<TeamDTO>> buscaPorNomeContem(@PathVariable String name) {
 		List<Team> lista = service.findByNameContains(name);
-		return lista.size() > 0 ? ResponseEntity.ok(lista) : ResponseEntity.noContent().build();
+		return lista.size() > 0 ? ResponseEntity.ok(lista.stream().map(Team::toDTO).toList()) : ResponseEntity.noContent().build();
 	}
 
 }
@@ -12,11 +12,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.trier.springvespertino.models.User;
+import br.com.trier.springvespertino.models.dto.BatchDTO;
 import br.com.trier.springvespertino.models.dto.UserDTO;
 import br.com.trier.springvespertino.services.UserService;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @RestController
 @RequestMapping("/users")
@@ -36,6 +39,12 @@ public class UserResource {
 	public ResponseEntity<UserDTO> findById(@PathVariable Integer id){
 		return ResponseEntity.ok(service.findById(id).toDTO());
 	}
+
+	@Secured({"ROLE_USER"})
+	@GetMapping("/batch")
+	public ResponseEntity<BatchDTO<UserDTO>> findAllById(@RequestParam List<Integer> ids) {
+		return ResponseEntity.ok(BatchUtils.toBatch(ids, service.findAllById(ids), User::getId, User::toDTO));
+	}
 	
 	@Secured({"ROLE_USER"})
 	@GetMapping("/name/{name}")
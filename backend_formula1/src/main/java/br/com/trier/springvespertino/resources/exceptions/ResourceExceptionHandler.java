@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
 import jakarta.servlet.http.HttpServletRequest;
 
 @ControllerAdvice
@@ -26,6 +27,12 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 	
+	@ExceptionHandler(VersionConflict.class)
+	public ResponseEntity<StandardError> getVersionConflictExcpetion(VersionConflict ex, HttpServletRequest req){
+		StandardError error = new StandardError(LocalDateTime.now(), HttpStatus.CONFLICT.value(), ex.getMessage(), req.getRequestURI());
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+	}
+	
 	
 
 }
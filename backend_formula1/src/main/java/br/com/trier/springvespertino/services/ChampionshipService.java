@@ -8,6 +8,8 @@ public interface ChampionshipService {
 
 	Championship findById(Integer id);
 
+	List<Championship> findAllById(List<Integer> ids);
+
 	Championship insert(Championship championship);
 
 	List<Championship> listAll();
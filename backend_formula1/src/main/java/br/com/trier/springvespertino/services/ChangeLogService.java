@@ -0,0 +1,18 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.Collection;
+
+import br.com.trier.springvespertino.models.ChangeType;
+import br.com.trier.springvespertino.models.dto.SyncDTO;
+
+public interface ChangeLogService {
+
+	void recordUpsert(ChangeType type, Integer id);
+
+	void recordUpserts(ChangeType type, Collection<Integer> ids);
+
+	void recordDelete(ChangeType type, Integer id);
+
+	SyncDTO sync(Long since, Integer limit);
+
+}
@@ -16,6 +16,8 @@ public interface CountryService {
 
 	Country findById(Integer id);
 
+	List<Country> findAllById(List<Integer> ids);
+
 	List<Country> findByNomeEqualsIgnoreCase(String nome);
 
 }
@@ -0,0 +1,18 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.Collection;
+
+import br.com.trier.springvespertino.models.dto.HeadToHeadDTO;
+import br.com.trier.springvespertino.models.dto.HeadToHeadPairDTO;
+
+public interface HeadToHeadService {
+
+	HeadToHeadDTO findByChampionship(Integer championshipId);
+
+	HeadToHeadPairDTO findPair(Integer championshipId, Integer pilotId, Integer opponentId);
+
+	void resultChanged(Integer championshipId, Integer raceId);
+
+	void championshipsChanged(Collection<Integer> championshipIds);
+
+}
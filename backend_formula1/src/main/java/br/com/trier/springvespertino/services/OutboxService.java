@@ -0,0 +1,11 @@
+package br.com.trier.springvespertino.services;
+
+import br.com.trier.springvespertino.models.OutboxEventType;
+
+public interface OutboxService {
+
+	void publish(OutboxEventType type, Integer aggregateId, Object payload);
+
+	int relay();
+
+}
@@ -10,8 +10,12 @@ public interface PilotRaceService {
 
 	PilotRace findById(Integer id);
 
+	List<PilotRace> findAllById(List<Integer> ids);
+
 	PilotRace insert(PilotRace pilotRace);
 
+	List<PilotRace> insertAll(List<PilotRace> pilotRaces);
+
 	List<PilotRace> listAll();
 
 	PilotRace update(PilotRace pilotRace);
@@ -24,6 +28,8 @@ public interface PilotRaceService {
 
 	List<PilotRace> findByRaceOrderByPlacementAsc(Race race);
 
+	List<PilotRace> findByRaces(List<Race> races);
+
 	List<PilotRace> findByPlacementBetweenAndRace(Integer placementIn, Integer placementFin, Race race);
 
 	PilotRace findByPilotAndRace(Pilot pilot, Race race);
@@ -10,6 +10,8 @@ public interface PilotService {
 
 	Pilot findById(Integer id);
 
+	List<Pilot> findAllById(List<Integer> ids);
+
 	Pilot insert(Pilot pilot);
 
 	List<Pilot> listAll();
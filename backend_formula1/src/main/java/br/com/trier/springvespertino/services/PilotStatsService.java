@@ -0,0 +1,23 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.dto.PilotStatsDTO;
+import br.com.trier.springvespertino.models.dto.StatsRebuildDTO;
+
+public interface PilotStatsService {
+
+	void addResult(Integer pilotId, Integer placement);
+
+	void addResults(List<PilotRace> results);
+
+	void removeResult(Integer pilotId, Integer placement);
+
+	void replaceResult(Integer previousPilotId, Integer previousPlacement, Integer pilotId, Integer placement);
+
+	PilotStatsDTO findByPilot(Integer pilotId);
+
+	StatsRebuildDTO rebuild();
+
+}
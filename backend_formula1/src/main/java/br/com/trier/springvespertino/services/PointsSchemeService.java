@@ -0,0 +1,28 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.PointsScheme;
+import br.com.trier.springvespertino.models.dto.RecomputationDTO;
+
+public interface PointsSchemeService {
+
+	PointsScheme findById(Integer id);
+
+	List<PointsScheme> listAll();
+
+	PointsScheme insert(PointsScheme scheme);
+
+	PointsScheme update(PointsScheme scheme);
+
+	void delete(Integer id);
+
+	RecomputationDTO assign(Integer id, List<Integer> championshipIds);
+
+	RecomputationDTO unassign(List<Integer> championshipIds);
+
+	RecomputationDTO recompute(Integer id);
+
+	List<RecomputationDTO> listRecomputations();
+
+}
@@ -1,16 +1,23 @@
 package br.com.trier.springvespertino.services;
 
+import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 import br.com.trier.springvespertino.models.Championship;
 import br.com.trier.springvespertino.models.Race;
 import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.RaceDetailDTO;
 
 public interface RaceService {
 
 	Race findById(Integer id);
 
+	RaceDetailDTO findDetail(Integer id);
+
+	List<Race> findAllById(List<Integer> ids);
+
 	Race insert(Race race);
 
 	List<Race> listAll();
@@ -21,8 +28,14 @@ public interface RaceService {
 
 	List<Race> findByDate(ZonedDateTime date);
 
+	List<Race> findByDateBetween(ZonedDateTime from, ZonedDateTime to);
+
+	Map<YearMonth, List<Race>> calendar(ZonedDateTime from, ZonedDateTime to);
+
 	List<Race> findBySpeedway(Speedway speedway);
 
 	List<Race> findByChampionship(Championship championship);
 
+	List<Race> findByChampionships(List<Championship> championships);
+
 }
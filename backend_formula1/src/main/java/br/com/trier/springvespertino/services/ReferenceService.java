@@ -0,0 +1,12 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ReferenceService {
+
+	<T> T reference(Class<T> type, Integer id, String notFoundMessage);
+
+	<T> Map<Integer, T> references(Class<T> type, Collection<Integer> ids, String notFoundMessage);
+
+}
@@ -0,0 +1,32 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.Collection;
+import java.util.List;
+
+import br.com.trier.springvespertino.models.CubeDimension;
+import br.com.trier.springvespertino.models.PlacementBucket;
+import br.com.trier.springvespertino.models.ResultColumn;
+import br.com.trier.springvespertino.models.ResultMetric;
+import br.com.trier.springvespertino.models.dto.AggregationDTO;
+import br.com.trier.springvespertino.models.dto.ResultsCubeDTO;
+import br.com.trier.springvespertino.models.dto.ResultsEngineDTO;
+
+public interface ResultsEngineService {
+
+	AggregationDTO aggregate(ResultColumn groupBy, ResultMetric metric, Integer season, Integer championshipId,
+			Integer limit);
+
+	ResultsCubeDTO cube(List<CubeDimension> groupBy, Integer season, Integer countryId, Integer teamId,
+			PlacementBucket bucket);
+
+	ResultsEngineDTO status();
+
+	ResultsEngineDTO reload();
+
+	void resultsChanged(Collection<Integer> resultIds);
+
+	void raceChanged(Integer raceId);
+
+	void pilotChanged(Integer pilotId);
+
+}
@@ -0,0 +1,38 @@
+package br.com.trier.springvespertino.services;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.PlacementCountDTO;
+import br.com.trier.springvespertino.models.dto.SeasonArchiveDTO;
+
+public interface SeasonArchiveService {
+
+	SeasonArchiveDTO archive(Integer championshipId);
+
+	List<SeasonArchiveDTO> listArchives();
+
+	boolean isArchived(Integer championshipId);
+
+	Optional<Race> findRace(Integer id);
+
+	List<Race> findRacesById(Collection<Integer> ids);
+
+	List<Race> findRaces(Championship championship);
+
+	List<Race> findRacesBetween(ZonedDateTime start, ZonedDateTime end);
+
+	List<PilotRace> findResults(Integer raceId);
+
+	List<PilotRace> findResultsByRaces(Collection<Integer> raceIds);
+
+	List<PilotRace> findResults(Championship championship);
+
+	List<PlacementCountDTO> countPlacementsByPilot();
+
+}
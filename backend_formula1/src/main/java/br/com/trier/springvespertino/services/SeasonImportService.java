@@ -0,0 +1,11 @@
+package br.com.trier.springvespertino.services;
+
+import java.nio.file.Path;
+
+import br.com.trier.springvespertino.models.dto.ImportReportDTO;
+
+public interface SeasonImportService {
+
+	ImportReportDTO importResults(Path file, int chunkSize);
+
+}
@@ -0,0 +1,17 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.List;
+
+import br.com.trier.springvespertino.models.dto.SeasonPartitionDTO;
+
+public interface SeasonPartitionService {
+
+	List<SeasonPartitionDTO> listPartitions();
+
+	SeasonPartitionDTO createPartition(Integer season);
+
+	SeasonPartitionDTO detachPartition(Integer season);
+
+	SeasonPartitionDTO attachPartition(Integer season);
+
+}
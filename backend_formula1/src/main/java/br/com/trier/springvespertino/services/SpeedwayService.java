@@ -9,6 +9,8 @@ public interface SpeedwayService {
 
 	Speedway findById(Integer id);
 
+	List<Speedway> findAllById(List<Integer> ids);
+
 	Speedway insert(Speedway speedway);
 
 	List<Speedway> listAll();
@@ -0,0 +1,16 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.Collection;
+import java.util.List;
+
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+
+public interface StandingsHistoryService {
+
+	List<StandingDTO> findAfterRound(Integer championshipId, Integer round);
+
+	void resultChanged(Integer championshipId, Integer raceId);
+
+	void championshipsChanged(Collection<Integer> championshipIds);
+
+}
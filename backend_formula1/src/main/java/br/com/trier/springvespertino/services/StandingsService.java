@@ -0,0 +1,26 @@
+package br.com.trier.springvespertino.services;
+
+import java.util.Collection;
+import java.util.List;
+
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.models.dto.TeamStandingDTO;
+
+public interface StandingsService {
+
+	void lockChampionships(Collection<Integer> championshipIds);
+
+	void addResult(Integer championshipId, Integer pilotId, Integer teamId, Integer placement);
+
+	void addResults(List<PilotRace> results);
+
+	void removeResult(Integer championshipId, Integer pilotId, Integer teamId, Integer placement);
+
+	int rebuild(Integer championshipId);
+
+	List<StandingDTO> findByChampionship(Integer championshipId);
+
+	List<TeamStandingDTO> findTeamsByChampionship(Integer championshipId);
+
+}
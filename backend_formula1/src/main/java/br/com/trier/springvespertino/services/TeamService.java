@@ -12,6 +12,8 @@ public interface TeamService {
 
 	Team findById(Integer id);
 
+	List<Team> findAllById(List<Integer> ids);
+
 	Team update(Team team);
 
 	void delete(Integer id);
@@ -8,6 +8,8 @@ public interface UserService {
 
 	User findById(Integer id);
 
+	List<User> findAllById(List<Integer> ids);
+
 	User insert(User user);
 
 	List<User> listAll();
@@ -0,0 +1,9 @@
+package br.com.trier.springvespertino.services.exceptions;
+
+public class VersionConflict extends RuntimeException{
+	
+	public VersionConflict(String message) {
+		super(message);
+	}
+
+}
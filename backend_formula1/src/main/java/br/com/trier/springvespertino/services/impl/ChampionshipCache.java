@@ -0,0 +1,97 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import br.com.trier.springvespertino.utils.TransactionUtils;
+
+/**
+ * Estruturas montadas a partir dos resultados de um campeonato, guardadas em memória para os últimos
+ * campeonatos consultados (LRU). Resultados alterados marcam a corrida depois do commit e a leitura seguinte
+ * pede ao dono da estrutura para trocar só a contribuição das corridas marcadas; alterações que mexem no
+ * campeonato inteiro descartam a estrutura, que é remontada na próxima leitura.
+ * <p>
+ * A montagem e a troca precisam ler do primário: uma réplica atrasada devolveria as colocações antigas de uma
+ * corrida cuja marca já foi consumida, e a estrutura ficaria errada até outra alteração na mesma corrida.
+ */
+final class ChampionshipCache<V> {
+
+	// Relê as corridas informadas e troca a contribuição delas; false pede a remontagem da estrutura
+	interface Refresher<V> {
+
+		boolean refresh(V value, List<Integer> raceIds);
+
+	}
+
+	// Marcações feitas durante a montagem ficam para a leitura seguinte, que relê as corridas já confirmadas
+	private static final class Entry<V> {
+
+		private final Set<Integer> dirtyRaces = ConcurrentHashMap.newKeySet();
+		private volatile boolean stale;
+		private V value;
+
+	}
+
+	private final Map<Integer, Entry<V>> entries;
+
+	ChampionshipCache(int size) {
+		entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Entry<V>> eldest) {
+				return size() > size;
+			}
+
+		});
+	}
+
+	// A leitura acontece com a entrada travada, já que a troca mexe na estrutura no lugar
+	<T> T read(Integer championshipId, Function<Integer, V> loader, Refresher<V> refresher, Function<V, T> reader) {
+		Entry<V> entry = entries.computeIfAbsent(championshipId, id -> new Entry<>());
+		synchronized (entry) {
+			if (entry.value == null || entry.stale) {
+				entry.stale = false;
+				entry.dirtyRaces.clear();
+				entry.value = loader.apply(championshipId);
+			} else if (!entry.dirtyRaces.isEmpty()) {
+				List<Integer> raceIds = new ArrayList<>(entry.dirtyRaces);
+				entry.dirtyRaces.removeAll(raceIds);
+				if (!refresher.refresh(entry.value, raceIds)) {
+					entry.value = loader.apply(championshipId);
+				}
+			}
+			return reader.apply(entry.value);
+		}
+	}
+
+	void resultChanged(Integer championshipId, Integer raceId) {
+		if (championshipId != null && raceId != null) {
+			TransactionUtils.afterCommit(() -> {
+				Entry<V> entry = entries.get(championshipId);
+				if (entry != null) {
+					entry.dirtyRaces.add(raceId);
+				}
+			});
+		}
+	}
+
+	void championshipsChanged(Collection<Integer> championshipIds) {
+		Set<Integer> ids = Set.copyOf(championshipIds);
+		TransactionUtils.afterCommit(() -> ids.forEach(championshipId -> {
+			Entry<V> entry = entries.get(championshipId);
+			if (entry != null) {
+				entry.stale = true;
+			}
+		}));
+	}
+
+}
@@ -5,18 +5,49 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
 import br.com.trier.springvespertino.models.Championship;
 import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
 import br.com.trier.springvespertino.services.ChampionshipService;
+import br.com.trier.springvespertino.services.ResultsEngineService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class ChampionshipServiceImpl implements ChampionshipService {
 
 	@Autowired
 	private ChampionshipRepository repository;
 
+	@Autowired
+	private ChangeLogService changeLogService;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private ResultsEngineService resultsEngineService;
+
+	// As corridas arquivadas guardam a temporada e apontam para o campeonato sem chave estrangeira
+	private void checkNotArchived(Integer id) {
+		if (archiveService.isArchived(id)) {
+			throw new IntegrityViolation("Campeonato %s está arquivado".formatted(id));
+		}
+	}
+
 	private void validYear(Championship championship) {
 		if (championship.getYear() == null) {
 			throw new IntegrityViolation("Ano não pode ser nulo");
@@ -32,9 +63,17 @@ public class ChampionshipServiceImpl implements ChampionshipService {
 	}
 
 	@Override
+	public List<Championship> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
+	@Override
+	@Transactional
 	public Championship insert(Championship championship) {
 		validYear(championship);
-		return repository.save(championship);
+		Championship saved = repository.save(championship);
+		changeLogService.recordUpsert(ChangeType.CHAMPIONSHIP, saved.getId());
+		return saved;
 	}
 
 	@Override
@@ -43,16 +82,30 @@ public class ChampionshipServiceImpl implements ChampionshipService {
 	}
 
 	@Override
+	@Transactional
 	public Championship update(Championship championship) {
 		validYear(championship);
-		return repository.save(championship);
+		checkNotArchived(championship.getId());
+		Championship saved = repository.save(championship);
+		// A temporada das corridas e resultados acompanha o ano, para as consultas e partições por temporada
+		List<Integer> raceIds = raceRepository.findIdsByChampionshipId(saved.getId());
+		if (!raceIds.isEmpty()) {
+			raceRepository.updateSeasonByChampionship(saved.getId(), saved.getYear());
+			pilotRaceRepository.updateSeasonByRaces(raceIds, saved.getYear());
+			raceIds.forEach(resultsEngineService::raceChanged);
+		}
+		changeLogService.recordUpsert(ChangeType.CHAMPIONSHIP, saved.getId());
+		return saved;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		Championship championship = findById(id);
 		if (championship != null) {
+			checkNotArchived(id);
 			repository.delete(championship);
+			changeLogService.recordDelete(ChangeType.CHAMPIONSHIP, id);
 		}
 	}
 
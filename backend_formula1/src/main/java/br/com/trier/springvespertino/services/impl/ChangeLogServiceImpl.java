@@ -0,0 +1,213 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.trier.springvespertino.models.ChangeLog;
+import br.com.trier.springvespertino.models.ChangeOperation;
+import br.com.trier.springvespertino.models.ChangeType;
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.models.dto.ChangeDTO;
+import br.com.trier.springvespertino.models.dto.SyncDTO;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.ChangeLogRepository;
+import br.com.trier.springvespertino.repositories.CountryRepository;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.repositories.SpeedwayRepository;
+import br.com.trier.springvespertino.repositories.TeamRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+
+/**
+ * Registro de alterações para a sincronização incremental: cada escrita da camada de serviço grava, na mesma
+ * transação, uma linha (revisão, entidade, id, operação). O /sync lê as linhas depois da revisão do cliente,
+ * mantém só a última de cada entidade e monta os upserts com o estado atual, uma consulta por tipo.
+ * <p>
+ * Revisões são reservadas antes do commit, então uma transação pode confirmar a revisão 10 depois de outra
+ * já ter confirmado a 11. As revisões das transações abertas ficam em {@code inFlight} e a leitura para antes
+ * da menor delas, para o cliente nunca avançar por cima de uma alteração que ainda vai aparecer. O controle
+ * é da JVM: com várias instâncias gravando, cada uma só enxerga as próprias transações abertas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+	private static final int DEFAULT_LIMIT = 1000;
+	private static final int MAX_LIMIT = 5000;
+
+	@Autowired
+	private ChangeLogRepository repository;
+
+	@Autowired
+	private CountryRepository countryRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private SpeedwayRepository speedwayRepository;
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	// Menor revisão de cada transação aberta e quantas transações a usam
+	private final ConcurrentSkipListMap<Long, Integer> inFlight = new ConcurrentSkipListMap<>();
+
+	// Maior revisão já reservada por esta JVM; protegida pelo lock de inFlight
+	private long lastReserved;
+
+	private void record(List<ChangeLog> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		long first;
+		// A revisão é reservada e registrada como aberta sem que um /sync concorrente veja o intervalo entre as duas
+		synchronized (inFlight) {
+			List<ChangeLog> saved = repository.saveAll(entries);
+			first = saved.get(0).getRevision();
+			inFlight.merge(first, 1, Integer::sum);
+			lastReserved = Math.max(lastReserved,
+					saved.stream().mapToLong(ChangeLog::getRevision).max().getAsLong());
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				inFlight.computeIfPresent(first, (revision, count) -> count == 1 ? null : count - 1);
+			}
+		});
+	}
+
+	@Override
+	@Transactional
+	public void recordUpsert(ChangeType type, Integer id) {
+		record(List.of(new ChangeLog(null, type, id, ChangeOperation.UPSERT)));
+	}
+
+	@Override
+	@Transactional
+	public void recordUpserts(ChangeType type, Collection<Integer> ids) {
+		record(ids.stream().map(id -> new ChangeLog(null, type, id, ChangeOperation.UPSERT)).toList());
+	}
+
+	@Override
+	@Transactional
+	public void recordDelete(ChangeType type, Integer id) {
+		record(List.of(new ChangeLog(null, type, id, ChangeOperation.DELETE)));
+	}
+
+	// Transação de escrita para ler do primário: uma réplica atrasada faria o cliente pular revisões
+	@Override
+	@Transactional
+	public SyncDTO sync(Long since, Integer limit) {
+		if (since == null || since < 0) {
+			throw new IntegrityViolation("Revisão inválida: %s".formatted(since));
+		}
+		int size = limit == null ? DEFAULT_LIMIT : limit;
+		if (size < 1 || size > MAX_LIMIT) {
+			throw new IntegrityViolation("Limite inválido: %s (entre 1 e %s)".formatted(size, MAX_LIMIT));
+		}
+		// O limite é fixado no lock: a menor revisão aberta ou a próxima ainda não entregue. Uma revisão reservada
+		// depois disso fica para o próximo /sync, mesmo que confirme antes da consulta abaixo
+		Long until;
+		synchronized (inFlight) {
+			long next = Math.max(lastReserved, repository.findMaxRevision()) + 1;
+			until = inFlight.isEmpty() ? next : Math.min(inFlight.firstKey(), next);
+		}
+		List<ChangeLog> entries = repository.findByRevisionGreaterThanAndRevisionLessThanOrderByRevisionAsc(since,
+				until, PageRequest.of(0, size));
+		if (entries.isEmpty()) {
+			return new SyncDTO(since, false, List.of());
+		}
+
+		// Só a última alteração de cada entidade, na ordem em que ela aconteceu
+		Map<String, ChangeLog> latest = new LinkedHashMap<>();
+		for (ChangeLog entry : entries) {
+			String key = entry.getType() + ":" + entry.getEntityId();
+			latest.remove(key);
+			latest.put(key, entry);
+		}
+		Map<ChangeType, List<Integer>> upserts = new EnumMap<>(ChangeType.class);
+		latest.values().stream().filter(entry -> entry.getOperation() == ChangeOperation.UPSERT)
+				.forEach(entry -> upserts.computeIfAbsent(entry.getType(), type -> new ArrayList<>())
+						.add(entry.getEntityId()));
+		Map<ChangeType, Map<Integer, Object>> current = new EnumMap<>(ChangeType.class);
+		upserts.forEach((type, ids) -> current.put(type, load(type, ids)));
+
+		// Upserts de linhas que já não existem são seguidos por um DELETE numa revisão posterior
+		List<ChangeDTO> changes = new ArrayList<>();
+		for (ChangeLog entry : latest.values()) {
+			if (entry.getOperation() == ChangeOperation.DELETE) {
+				changes.add(new ChangeDTO(entry.getRevision(), entry.getType(), entry.getEntityId(),
+						ChangeOperation.DELETE, null));
+				continue;
+			}
+			Object data = current.get(entry.getType()).get(entry.getEntityId());
+			if (data != null) {
+				changes.add(new ChangeDTO(entry.getRevision(), entry.getType(), entry.getEntityId(),
+						ChangeOperation.UPSERT, data));
+			}
+		}
+		return new SyncDTO(entries.get(entries.size() - 1).getRevision(), entries.size() == size, changes);
+	}
+
+	private Map<Integer, Object> load(ChangeType type, List<Integer> ids) {
+		return switch (type) {
+			case COUNTRY -> toMap(countryRepository.findAllById(ids), Country::getId, Country::toDTO);
+			case TEAM -> toMap(teamRepository.findAllById(ids), Team::getId, Team::toDTO);
+			case PILOT -> toMap(pilotRepository.findAllById(ids), Pilot::getId, Pilot::toDTO);
+			case SPEEDWAY -> toMap(speedwayRepository.findAllById(ids), Speedway::getId, Speedway::toDTO);
+			case CHAMPIONSHIP -> toMap(championshipRepository.findAllById(ids), Championship::getId, Championship::toDTO);
+			case RACE -> races(ids);
+			case PILOT_RACE -> toMap(pilotRaceRepository.findAllById(ids), PilotRace::getId, PilotRace::toDTO);
+		};
+	}
+
+	// Corridas de temporadas arquivadas saíram das tabelas, mas continuam existindo para os clientes
+	private Map<Integer, Object> races(List<Integer> ids) {
+		Map<Integer, Object> races = toMap(raceRepository.findAllById(ids), Race::getId, Race::toDTO);
+		archiveService.findRacesById(ids.stream().filter(id -> !races.containsKey(id)).toList())
+				.forEach(race -> races.put(race.getId(), race.toDTO()));
+		return races;
+	}
+
+	private static <T> Map<Integer, Object> toMap(List<T> entities, Function<T, Integer> id, Function<T, Object> dto) {
+		return entities.stream().collect(Collectors.toMap(id, dto, (a, b) -> a, HashMap::new));
+	}
+
+}
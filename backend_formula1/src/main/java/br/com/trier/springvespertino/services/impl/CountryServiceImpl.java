@@ -5,33 +5,49 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
 import br.com.trier.springvespertino.models.Country;
 import br.com.trier.springvespertino.repositories.CountryRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
 import br.com.trier.springvespertino.services.CountryService;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class CountryServiceImpl implements CountryService{
 	
 	@Autowired
 	private CountryRepository repository;
 
+	@Autowired
+	private ChangeLogService changeLogService;
+
 	@Override
+	@Transactional
 	public Country salvar(Country country) {
-		return repository.save(country);
+		Country saved = repository.save(country);
+		changeLogService.recordUpsert(ChangeType.COUNTRY, saved.getId());
+		return saved;
 	}
 
 	@Override
+	@Transactional
 	public Country update(Country country) {
-		return repository.save(country);
+		Country saved = repository.save(country);
+		changeLogService.recordUpsert(ChangeType.COUNTRY, saved.getId());
+		return saved;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		Country country = findById(id);
 		if(country != null) {
 			repository.delete(country);
+			changeLogService.recordDelete(ChangeType.COUNTRY, id);
 		}
 		
 	}
@@ -47,6 +63,11 @@ public class CountryServiceImpl implements CountryService{
 		return country.orElseThrow(()->new ObjectNotFound("País não existe"));
 	}
 
+	@Override
+	public List<Country> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
 	@Override
 	public List<Country> findByNomeEqualsIgnoreCase(String nome) {
 		return repository.findByNameEqualsIgnoreCase(nome);
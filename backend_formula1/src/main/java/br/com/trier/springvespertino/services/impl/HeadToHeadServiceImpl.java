@@ -0,0 +1,189 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.dto.HeadToHeadDTO;
+import br.com.trier.springvespertino.models.dto.HeadToHeadPairDTO;
+import br.com.trier.springvespertino.models.dto.RacePlacementDTO;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.services.HeadToHeadService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Matriz de confronto direto por campeonato: quantas vezes cada piloto terminou à frente de cada outro, contando
+ * só as corridas em que os dois têm colocação. A matriz é montada em paralelo (uma matriz parcial por thread,
+ * somadas no fim) e fica em memória para os últimos campeonatos consultados. Resultados alterados marcam só a
+ * corrida depois do commit; a próxima leitura relê as corridas marcadas e troca a contribuição delas nas linhas
+ * dos pilotos envolvidos. Importações descartam a matriz inteira do campeonato.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HeadToHeadServiceImpl implements HeadToHeadService {
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Value("${app.head-to-head.cache-size}")
+	private int cacheSize;
+
+	private ChampionshipCache<Matrix> cache;
+
+	private static final class Matrix {
+
+		private final Map<Integer, Map<Integer, Integer>> races;
+		private final List<Integer> pilotIds;
+		private final Map<Integer, Integer> index = new HashMap<>();
+		private final int[][] ahead;
+
+		Matrix(Map<Integer, Map<Integer, Integer>> races) {
+			this.races = races;
+			pilotIds = races.values().stream().flatMap(race -> race.keySet().stream()).distinct().sorted().toList();
+			for (int i = 0; i < pilotIds.size(); i++) {
+				index.put(pilotIds.get(i), i);
+			}
+			int size = pilotIds.size();
+			ahead = races.values().parallelStream().collect(() -> new int[size][size],
+					(partial, race) -> add(partial, race, 1), Matrix::sum);
+		}
+
+		private void add(int[][] matrix, Map<Integer, Integer> race, int sign) {
+			for (Map.Entry<Integer, Integer> pilot : race.entrySet()) {
+				int row = index.get(pilot.getKey());
+				for (Map.Entry<Integer, Integer> opponent : race.entrySet()) {
+					if (pilot.getValue() < opponent.getValue()) {
+						matrix[row][index.get(opponent.getKey())] += sign;
+					}
+				}
+			}
+		}
+
+		private static void sum(int[][] target, int[][] partial) {
+			for (int i = 0; i < target.length; i++) {
+				for (int j = 0; j < target.length; j++) {
+					target[i][j] += partial[i][j];
+				}
+			}
+		}
+
+		int position(Integer championshipId, Integer pilotId) {
+			Integer position = index.get(pilotId);
+			if (position == null) {
+				throw new ObjectNotFound("Piloto %s não tem resultados no campeonato %s".formatted(pilotId, championshipId));
+			}
+			return position;
+		}
+
+		// Devolve false quando uma corrida traz piloto que não está na matriz, que então é remontada
+		boolean refresh(Collection<Integer> raceIds, Map<Integer, Map<Integer, Integer>> placements) {
+			for (Integer raceId : raceIds) {
+				if (!index.keySet().containsAll(placements.getOrDefault(raceId, Map.of()).keySet())) {
+					return false;
+				}
+			}
+			for (Integer raceId : raceIds) {
+				Map<Integer, Integer> previous = races.remove(raceId);
+				if (previous != null) {
+					add(ahead, previous, -1);
+				}
+				Map<Integer, Integer> current = placements.get(raceId);
+				if (current != null) {
+					add(ahead, current, 1);
+					races.put(raceId, current);
+				}
+			}
+			return true;
+		}
+
+	}
+
+	@PostConstruct
+	void start() {
+		cache = new ChampionshipCache<>(cacheSize);
+	}
+
+	private static Map<Integer, Map<Integer, Integer>> byRace(List<RacePlacementDTO> placements) {
+		return placements.stream().collect(Collectors.groupingBy(RacePlacementDTO::getRaceId,
+				Collectors.toMap(RacePlacementDTO::getPilotId, RacePlacementDTO::getPlacement)));
+	}
+
+	// Temporadas arquivadas entram pelos arquivos; elas não recebem mais alterações
+	private Matrix load(Integer championshipId) {
+		Map<Integer, Map<Integer, Integer>> races = new HashMap<>(byRace(pilotRaceRepository.findPlacements(championshipId)));
+		for (PilotRace result : archiveService.findResults(new Championship(championshipId, null, null))) {
+			if (result.getPlacement() != null && result.getPlacement() >= 1) {
+				races.computeIfAbsent(result.getRace().getId(), id -> new HashMap<>()).put(result.getPilot().getId(),
+						result.getPlacement());
+			}
+		}
+		return new Matrix(races);
+	}
+
+	private <T> T read(Integer championshipId, Function<Matrix, T> reader) {
+		return cache.read(championshipId, this::load,
+				(matrix, raceIds) -> matrix.refresh(raceIds,
+						byRace(pilotRaceRepository.findPlacements(championshipId, raceIds))),
+				matrix -> {
+					if (matrix.pilotIds.isEmpty()) {
+						throw new ObjectNotFound("Nenhum resultado para o campeonato %s".formatted(championshipId));
+					}
+					return reader.apply(matrix);
+				});
+	}
+
+	// Transação de escrita para ler do primário, como o /sync (ver ChampionshipCache)
+	@Override
+	@Transactional
+	public HeadToHeadDTO findByChampionship(Integer championshipId) {
+		HeadToHeadDTO dto = read(championshipId, matrix -> new HeadToHeadDTO(championshipId, matrix.pilotIds, null,
+				Arrays.stream(matrix.ahead).map(row -> Arrays.stream(row).boxed().toList()).toList()));
+		Map<Integer, String> names = pilotRepository.findAllById(dto.getPilotIds()).stream()
+				.collect(Collectors.toMap(Pilot::getId, Pilot::getName));
+		return new HeadToHeadDTO(championshipId, dto.getPilotIds(), dto.getPilotIds().stream().map(names::get).toList(),
+				dto.getAhead());
+	}
+
+	@Override
+	@Transactional
+	public HeadToHeadPairDTO findPair(Integer championshipId, Integer pilotId, Integer opponentId) {
+		return read(championshipId, matrix -> {
+			int row = matrix.position(championshipId, pilotId);
+			int column = matrix.position(championshipId, opponentId);
+			return new HeadToHeadPairDTO(championshipId, pilotId, opponentId, matrix.ahead[row][column],
+					matrix.ahead[column][row]);
+		});
+	}
+
+	@Override
+	public void resultChanged(Integer championshipId, Integer raceId) {
+		cache.resultChanged(championshipId, raceId);
+	}
+
+	@Override
+	public void championshipsChanged(Collection<Integer> championshipIds) {
+		cache.championshipsChanged(championshipIds);
+	}
+
+}
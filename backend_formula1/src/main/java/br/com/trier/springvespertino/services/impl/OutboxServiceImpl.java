@@ -0,0 +1,72 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.trier.springvespertino.config.outbox.OutboxSink;
+import br.com.trier.springvespertino.models.OutboxEvent;
+import br.com.trier.springvespertino.models.OutboxEventType;
+import br.com.trier.springvespertino.repositories.OutboxEventRepository;
+import br.com.trier.springvespertino.services.OutboxService;
+
+/**
+ * Outbox transacional dos resultados: o evento é gravado na transação da alteração (MANDATORY), então só
+ * existe se ela confirmar. O relay entrega o lote mais antigo a todos os sinks e o apaga na mesma transação;
+ * uma falha de entrega desfaz a exclusão e o lote inteiro é reenviado na próxima execução.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OutboxServiceImpl implements OutboxService {
+
+	@Autowired
+	private OutboxEventRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired(required = false)
+	private List<OutboxSink> sinks = List.of();
+
+	@Value("${app.outbox.batch-size:500}")
+	private int batchSize;
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publish(OutboxEventType type, Integer aggregateId, Object payload) {
+		try {
+			repository.save(new OutboxEvent(null, type, aggregateId, objectMapper.writeValueAsString(payload),
+					ZonedDateTime.now()));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Sem sinks configurados os eventos ficam na tabela até algum ser habilitado
+	@Override
+	@Transactional
+	public int relay() {
+		if (sinks.isEmpty()) {
+			return 0;
+		}
+		List<OutboxEvent> events = repository.findPending(PageRequest.of(0, batchSize));
+		if (events.isEmpty()) {
+			return 0;
+		}
+		var batch = events.stream().map(OutboxEvent::toDTO).toList();
+		sinks.forEach(sink -> sink.publish(batch));
+		// Um único delete com IN em vez de um OR por evento
+		repository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+		return events.size();
+	}
+
+}
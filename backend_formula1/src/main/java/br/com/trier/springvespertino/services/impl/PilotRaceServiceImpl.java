@@ -1,24 +1,84 @@
 package br.com.trier.springvespertino.services.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.OutboxEventType;
 import br.com.trier.springvespertino.models.Pilot;
 import br.com.trier.springvespertino.models.PilotRace;
 import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.PilotRaceStateDTO;
+import br.com.trier.springvespertino.models.dto.RaceStateDTO;
 import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
+import br.com.trier.springvespertino.services.HeadToHeadService;
+import br.com.trier.springvespertino.services.OutboxService;
 import br.com.trier.springvespertino.services.PilotRaceService;
+import br.com.trier.springvespertino.services.PilotStatsService;
+import br.com.trier.springvespertino.services.ResultsEngineService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.StandingsHistoryService;
+import br.com.trier.springvespertino.services.StandingsService;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
+import br.com.trier.springvespertino.utils.BatchUtils;
+import br.com.trier.springvespertino.utils.ConstraintUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class PilotRaceServiceImpl implements PilotRaceService {
 
 	@Autowired
 	private PilotRaceRepository repository;
 
+	@Autowired
+	private ChangeLogService changeLogService;
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private StandingsService standingsService;
+
+	@Autowired
+	private PilotStatsService pilotStatsService;
+
+	@Autowired
+	private HeadToHeadService headToHeadService;
+
+	@Autowired
+	private StandingsHistoryService standingsHistoryService;
+
+	@Autowired
+	private ResultsEngineService resultsEngineService;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
 	private void checkPilotRace(PilotRace pilotRace) {
 		
 		if (pilotRace.getPlacement() == null) {
@@ -29,15 +89,137 @@ public class PilotRaceServiceImpl implements PilotRaceService {
 		}
 	}
 
+	// Corridas carregadas já trazem a temporada; as montadas só com o id a buscam pela chave primária
+	private Integer seasonOf(Race race) {
+		return race.getSeason() != null ? race.getSeason() : raceRepository.findSeasonById(race.getId());
+	}
+
+	// Um select confere as corridas e traz temporada e campeonato, sem carregar a corrida e suas associações EAGER;
+	// a corrida do resultado leva só esses campos e a temporada é gravada explicitamente
+	private Map<Integer, Race> races(List<Integer> ids) {
+		Map<Integer, RaceStateDTO> states = raceRepository.findStatesByIdIn(ids.stream().distinct().toList()).stream()
+				.collect(Collectors.toMap(RaceStateDTO::getId, Function.identity()));
+		Map<Integer, Race> races = new LinkedHashMap<>();
+		for (Integer id : ids) {
+			RaceStateDTO state = states.get(id);
+			if (state == null) {
+				throw new ObjectNotFound("Corrida %s não existe".formatted(id));
+			}
+			races.put(id, new Race(id, null, null, new Championship(state.getChampionshipId(), null, null),
+					state.getVersion(), state.getSeason()));
+		}
+		return races;
+	}
+
+	// Resultados lidos do banco trazem corrida e campeonato junto
+	private void removeFromStandings(PilotRace pilotRace) {
+		standingsService.removeResult(pilotRace.getRace().getChampionship().getId(),
+				pilotRace.getPilot() != null ? pilotRace.getPilot().getId() : null, pilotRace.getTeamId(),
+				pilotRace.getPlacement());
+	}
+
+	private RuntimeException translate(DataIntegrityViolationException e, PilotRace pilotRace) {
+		if (ConstraintUtils.isViolated(e, "uk_piloto_corrida_piloto")) {
+			return new IntegrityViolation("Piloto %s já cadastrado na corrida %s!"
+					.formatted(pilotRace.getPilot().getId(), pilotRace.getRace().getId()));
+		}
+		if (ConstraintUtils.isViolated(e, "uk_piloto_corrida_colocacao")) {
+			return new IntegrityViolation("Colocacao %s já ocupada na corrida %s!"
+					.formatted(pilotRace.getPlacement(), pilotRace.getRace().getId()));
+		}
+		return e;
+	}
+
 	@Override
 	public PilotRace findById(Integer id) {
 		return repository.findById(id).orElseThrow(() -> new ObjectNotFound("ID %s inválido!".formatted(id)));
 	}
 
 	@Override
+	public List<PilotRace> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
+	@Override
+	@Transactional
 	public PilotRace insert(PilotRace pilotRace) {
 		checkPilotRace(pilotRace);
-		return repository.save(pilotRace);
+		// A equipe do piloto fica gravada no resultado e o nome vai na resposta: o piloto é lido uma vez só
+		Pilot pilot = pilotRepository.findDetailById(pilotRace.getPilot().getId()).orElseThrow(
+				() -> new ObjectNotFound("Piloto %s não existe".formatted(pilotRace.getPilot().getId())));
+		Race race = races(Collections.singletonList(pilotRace.getRace().getId())).get(pilotRace.getRace().getId());
+		PilotRace saved;
+		try {
+			saved = repository.saveAndFlush(new PilotRace(pilotRace.getId(), pilotRace.getPlacement(), pilot, race,
+					pilotRace.getVersion(), race.getSeason()));
+		} catch (DataIntegrityViolationException e) {
+			throw translate(e, pilotRace);
+		}
+		changeLogService.recordUpsert(ChangeType.PILOT_RACE, saved.getId());
+		outboxService.publish(OutboxEventType.RESULT_SAVED, saved.getId(), saved.toDTO());
+		standingsService.addResult(saved.getRace().getChampionship().getId(), saved.getPilot().getId(),
+				saved.getTeamId(), saved.getPlacement());
+		pilotStatsService.addResult(saved.getPilot().getId(), saved.getPlacement());
+		headToHeadService.resultChanged(saved.getRace().getChampionship().getId(), saved.getRace().getId());
+		standingsHistoryService.resultChanged(saved.getRace().getChampionship().getId(), saved.getRace().getId());
+		resultsEngineService.resultsChanged(List.of(saved.getId()));
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public List<PilotRace> insertAll(List<PilotRace> pilotRaces) {
+		Set<String> pilots = new HashSet<>();
+		Set<String> placements = new HashSet<>();
+		for (PilotRace pilotRace : pilotRaces) {
+			pilotRace.setId(null);
+			checkPilotRace(pilotRace);
+			Integer raceId = pilotRace.getRace().getId();
+			if (!pilots.add(raceId + ":" + pilotRace.getPilot().getId())) {
+				throw new IntegrityViolation("Piloto %s repetido na corrida %s!"
+						.formatted(pilotRace.getPilot().getId(), raceId));
+			}
+			if (!placements.add(raceId + ":" + pilotRace.getPlacement())) {
+				throw new IntegrityViolation("Colocacao %s repetida na corrida %s!"
+						.formatted(pilotRace.getPlacement(), raceId));
+			}
+		}
+		Map<Integer, Race> races = races(pilotRaces.stream().map(pilotRace -> pilotRace.getRace().getId()).toList());
+		// Pilotos carregados num único select antes de gravar, para cada resultado levar a equipe do piloto
+		List<Integer> pilotIds = pilotRaces.stream().map(pilotRace -> pilotRace.getPilot().getId()).toList();
+		Map<Integer, Pilot> pilotsById = pilotRepository.findAllById(pilotIds.stream().distinct().toList()).stream()
+				.collect(Collectors.toMap(Pilot::getId, Function.identity()));
+		for (Integer pilotId : pilotIds) {
+			if (!pilotsById.containsKey(pilotId)) {
+				throw new ObjectNotFound("Piloto %s não existe".formatted(pilotId));
+			}
+		}
+		List<PilotRace> grid = pilotRaces.stream()
+				.map(pilotRace -> new PilotRace(null, pilotRace.getPlacement(),
+						pilotsById.get(pilotRace.getPilot().getId()), races.get(pilotRace.getRace().getId()),
+						pilotRace.getVersion(), races.get(pilotRace.getRace().getId()).getSeason()))
+				.toList();
+		try {
+			List<PilotRace> saved = repository.saveAll(grid);
+			repository.flush();
+			changeLogService.recordUpserts(ChangeType.PILOT_RACE, saved.stream().map(PilotRace::getId).toList());
+			saved.forEach(pilotRace -> outboxService.publish(OutboxEventType.RESULT_SAVED, pilotRace.getId(),
+					pilotRace.toDTO()));
+			standingsService.addResults(saved);
+			pilotStatsService.addResults(saved);
+			races.values().forEach(race -> {
+				headToHeadService.resultChanged(race.getChampionship().getId(), race.getId());
+				standingsHistoryService.resultChanged(race.getChampionship().getId(), race.getId());
+			});
+			resultsEngineService.resultsChanged(saved.stream().map(PilotRace::getId).toList());
+			return saved;
+		} catch (DataIntegrityViolationException e) {
+			if (ConstraintUtils.isViolated(e, "uk_piloto_corrida")) {
+				throw new IntegrityViolation("Piloto ou colocacao já cadastrados na corrida %s!"
+						.formatted(pilotRaces.get(0).getRace().getId()));
+			}
+			throw e;
+		}
 	}
 
 	@Override
@@ -50,17 +232,62 @@ public class PilotRaceServiceImpl implements PilotRaceService {
 	}
 
 	@Override
+	@Transactional
 	public PilotRace update(PilotRace pilotRace) {
-		findById(pilotRace.getId());
 		checkPilotRace(pilotRace);
-		return repository.save(pilotRace);
+		Integer pilotId = pilotRace.getPilot().getId();
+		Integer raceId = pilotRace.getRace().getId();
+		// Um select travado traz o estado anterior e o que a alteração precisa da corrida e do piloto novos
+		PilotRaceStateDTO previous = repository.findStateForUpdate(pilotRace.getId(), pilotId, raceId)
+				.orElseThrow(() -> new ObjectNotFound("ID %s inválido!".formatted(pilotRace.getId())));
+		// O resultado mantém a equipe creditada enquanto o piloto não muda
+		Integer teamId = pilotId.equals(previous.getPilotId()) ? previous.getTeamId() : previous.getNewPilotTeamId();
+		int updated;
+		try {
+			updated = repository.update(pilotRace.getId(), pilotRace.getVersion(), pilotRace.getPlacement(),
+					pilotRace.getPilot(), pilotRace.getRace(), previous.getNewSeason(), teamId);
+		} catch (DataIntegrityViolationException e) {
+			throw translate(e, pilotRace);
+		}
+		// A linha está travada desde a leitura: se nada foi alterado, a versão enviada está desatualizada
+		if (updated == 0) {
+			throw new VersionConflict("PilotoCorrida %s foi alterado por outra requisição (versão %s desatualizada)"
+					.formatted(pilotRace.getId(), pilotRace.getVersion()));
+		}
+		changeLogService.recordUpsert(ChangeType.PILOT_RACE, pilotRace.getId());
+		Integer championshipId = previous.getNewChampionshipId();
+		standingsService.lockChampionships(Arrays.asList(previous.getChampionshipId(), championshipId));
+		standingsService.removeResult(previous.getChampionshipId(), previous.getPilotId(), previous.getTeamId(),
+				previous.getPlacement());
+		standingsService.addResult(championshipId, pilotId, teamId, pilotRace.getPlacement());
+		pilotStatsService.replaceResult(previous.getPilotId(), previous.getPlacement(), pilotId,
+				pilotRace.getPlacement());
+		headToHeadService.resultChanged(previous.getChampionshipId(), previous.getRaceId());
+		headToHeadService.resultChanged(championshipId, raceId);
+		standingsHistoryService.resultChanged(previous.getChampionshipId(), previous.getRaceId());
+		standingsHistoryService.resultChanged(championshipId, raceId);
+		resultsEngineService.resultsChanged(List.of(pilotRace.getId()));
+		// O evento e a resposta saem da requisição com a versão nova, sem reler a linha
+		PilotRace saved = new PilotRace(pilotRace.getId(), pilotRace.getPlacement(),
+				new Pilot(pilotId, previous.getNewPilotName(), null, null), pilotRace.getRace(),
+				previous.getVersion() + 1, previous.getNewSeason(), teamId);
+		outboxService.publish(OutboxEventType.RESULT_SAVED, saved.getId(), saved.toDTO());
+		return saved;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		PilotRace pilotRace = findById(id);
 		repository.delete(pilotRace);
-
+		changeLogService.recordDelete(ChangeType.PILOT_RACE, id);
+		outboxService.publish(OutboxEventType.RESULT_DELETED, id, pilotRace.toDTO());
+		removeFromStandings(pilotRace);
+		pilotStatsService.removeResult(pilotRace.getPilot() != null ? pilotRace.getPilot().getId() : null,
+				pilotRace.getPlacement());
+		headToHeadService.resultChanged(pilotRace.getRace().getChampionship().getId(), pilotRace.getRace().getId());
+		standingsHistoryService.resultChanged(pilotRace.getRace().getChampionship().getId(), pilotRace.getRace().getId());
+		resultsEngineService.resultsChanged(List.of(id));
 	}
 
 	@Override
@@ -83,13 +310,35 @@ public class PilotRaceServiceImpl implements PilotRaceService {
 
 	@Override
 	public List<PilotRace> findByRaceOrderByPlacementAsc(Race race) {
-		List<PilotRace> list = repository.findByRaceOrderByPlacementAsc(race);
+		List<PilotRace> list = repository.findByRaceAndSeasonOrderByPlacementAsc(race, seasonOf(race));
+		if (list.isEmpty()) {
+			list = archiveService.findResults(race.getId());
+		}
 		if (list.isEmpty()) {
 			throw new ObjectNotFound("Nenhum PilotoCorrida nesta corrida!");
 		}
 		return list;
 	}
 
+	// Uma consulta para as corridas vivas; as de campeonatos arquivados são lidas do arquivo
+	@Override
+	public List<PilotRace> findByRaces(List<Race> races) {
+		List<Race> live = new ArrayList<>();
+		List<Integer> archived = new ArrayList<>();
+		for (Race race : races) {
+			if (race.getChampionship() != null && archiveService.isArchived(race.getChampionship().getId())) {
+				archived.add(race.getId());
+			} else {
+				live.add(race);
+			}
+		}
+		List<PilotRace> list = new ArrayList<>(archiveService.findResultsByRaces(archived));
+		if (!live.isEmpty()) {
+			list.addAll(repository.findByRaceInOrderByPlacementAscIdAsc(live));
+		}
+		return list;
+	}
+
 	@Override
 	public List<PilotRace> findByPlacementBetweenAndRace(Integer placementIn, Integer placementFin, Race race) {
 		List<PilotRace> list = repository.findByPlacementBetweenAndRace(placementIn, placementFin, race);
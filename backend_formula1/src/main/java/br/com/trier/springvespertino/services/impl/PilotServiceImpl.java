@@ -1,31 +1,69 @@
 package br.com.trier.springvespertino.services.impl;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
 import br.com.trier.springvespertino.models.Country;
 import br.com.trier.springvespertino.models.Pilot;
 import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.repositories.CountryRepository;
 import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.TeamRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
 import br.com.trier.springvespertino.services.PilotService;
+import br.com.trier.springvespertino.services.ResultsEngineService;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
+import br.com.trier.springvespertino.utils.BatchUtils;
+import br.com.trier.springvespertino.utils.ConstraintUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class PilotServiceImpl implements PilotService {
 
 	@Autowired
 	private PilotRepository repository;
 
+	@Autowired
+	private ChangeLogService changeLogService;
+
+	@Autowired
+	private CountryRepository countryRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private ResultsEngineService resultsEngineService;
+
 	@Override
 	public Pilot findById(Integer id) {
 		return repository.findById(id).orElseThrow(() -> new ObjectNotFound("Piloto %s não existe".formatted(id)));
 	}
 
 	@Override
+	public List<Pilot> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
+	@Override
+	@Transactional
 	public Pilot insert(Pilot pilot) {
-		return repository.save(pilot);
+		// País e equipe carregados uma vez só: o select confere a chave e traz o nome que a resposta, montada fora
+		// da transação, precisa
+		Country country = Optional.ofNullable(pilot.getCountry().getId()).flatMap(countryRepository::findById)
+				.orElseThrow(() -> new ObjectNotFound("País %s não existe".formatted(pilot.getCountry().getId())));
+		Team team = Optional.ofNullable(pilot.getTeam().getId()).flatMap(teamRepository::findById)
+				.orElseThrow(() -> new ObjectNotFound("Equipe %s não encontrada".formatted(pilot.getTeam().getId())));
+		Pilot saved = repository.save(new Pilot(pilot.getId(), pilot.getName(), country, team, pilot.getVersion()));
+		changeLogService.recordUpsert(ChangeType.PILOT, saved.getId());
+		return saved;
 	}
 
 	@Override
@@ -38,14 +76,39 @@ public class PilotServiceImpl implements PilotService {
 	}
 
 	@Override
+	@Transactional
 	public Pilot update(Pilot pilot) {
-		findById(pilot.getId());
-		return repository.save(pilot);
+		int updated;
+		try {
+			updated = repository.update(pilot.getId(), pilot.getVersion(), pilot.getName(), pilot.getCountry(),
+					pilot.getTeam());
+		} catch (DataIntegrityViolationException e) {
+			if (ConstraintUtils.isViolated(e, "fk_piloto_pais")) {
+				throw new ObjectNotFound("País %s não existe".formatted(pilot.getCountry().getId()));
+			}
+			if (ConstraintUtils.isViolated(e, "fk_piloto_equipe")) {
+				throw new ObjectNotFound("Equipe %s não encontrada".formatted(pilot.getTeam().getId()));
+			}
+			throw e;
+		}
+		if (updated == 0) {
+			if (pilot.getVersion() != null && repository.existsById(pilot.getId())) {
+				throw new VersionConflict("Piloto %s foi alterado por outra requisição (versão %s desatualizada)"
+						.formatted(pilot.getId(), pilot.getVersion()));
+			}
+			throw new ObjectNotFound("Piloto %s não existe".formatted(pilot.getId()));
+		}
+		changeLogService.recordUpsert(ChangeType.PILOT, pilot.getId());
+		resultsEngineService.pilotChanged(pilot.getId());
+		// Versão nova e nomes de país e equipe num único select, já que o update não devolve a linha
+		return repository.findDetailById(pilot.getId()).orElseThrow();
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		repository.delete(findById(id));
+		changeLogService.recordDelete(ChangeType.PILOT, id);
 
 	}
 
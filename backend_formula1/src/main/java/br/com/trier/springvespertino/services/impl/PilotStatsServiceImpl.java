@@ -0,0 +1,187 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.PilotStatistic;
+import br.com.trier.springvespertino.models.dto.PilotStatsDTO;
+import br.com.trier.springvespertino.models.dto.StatsRebuildDTO;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.PilotStatisticRepository;
+import br.com.trier.springvespertino.services.PilotStatsService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+/**
+ * Estatísticas de carreira em estatistica_piloto: cada resultado gravado ou removido soma ou subtrai 1 na linha
+ * (piloto, colocação), na transação da alteração. A consulta lê as linhas do piloto, uma por colocação, e calcula
+ * largadas, vitórias, pódios, melhor colocação e média; remover o melhor resultado não obriga a reler os
+ * resultados. {@link #rebuild()} recalcula os contadores a partir dos resultados e dos arquivos de temporada e
+ * corrige os pilotos que divergiam.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PilotStatsServiceImpl implements PilotStatsService {
+
+	private static final int PODIUM = 3;
+
+	@Autowired
+	private PilotStatisticRepository repository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${app.stats.batch-size}")
+	private int batchSize;
+
+	private static int key(Integer placement) {
+		return placement != null ? placement : PilotStatistic.UNCLASSIFIED;
+	}
+
+	// Com o piloto travado, o insert da primeira linha de uma colocação não disputa com outra transação
+	private void apply(Integer pilotId, int placement, int results) {
+		int updated = repository.increment(pilotId, placement, results);
+		if (updated == 0 && results > 0) {
+			repository.save(new PilotStatistic(pilotId, placement, results));
+		}
+		if (results < 0) {
+			repository.deleteEmpty(pilotId, placement);
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void addResult(Integer pilotId, Integer placement) {
+		if (pilotId != null) {
+			pilotRepository.lockById(pilotId);
+			apply(pilotId, key(placement), 1);
+		}
+	}
+
+	// Lotes travam os pilotos em ordem de id, depois dos campeonatos travados pela classificação
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void addResults(List<PilotRace> results) {
+		Map<Integer, Map<Integer, Integer>> counts = new TreeMap<>();
+		for (PilotRace result : results) {
+			counts.computeIfAbsent(result.getPilot().getId(), pilot -> new TreeMap<>())
+					.merge(key(result.getPlacement()), 1, Integer::sum);
+		}
+		counts.forEach((pilotId, placements) -> {
+			pilotRepository.lockById(pilotId);
+			placements.forEach((placement, count) -> apply(pilotId, placement, count));
+		});
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void removeResult(Integer pilotId, Integer placement) {
+		if (pilotId != null) {
+			pilotRepository.lockById(pilotId);
+			apply(pilotId, key(placement), -1);
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void replaceResult(Integer previousPilotId, Integer previousPlacement, Integer pilotId, Integer placement) {
+		if (previousPilotId != null && pilotId != null && previousPilotId > pilotId) {
+			addResult(pilotId, placement);
+			removeResult(previousPilotId, previousPlacement);
+		} else {
+			removeResult(previousPilotId, previousPlacement);
+			addResult(pilotId, placement);
+		}
+	}
+
+	@Override
+	public PilotStatsDTO findByPilot(Integer pilotId) {
+		List<PilotStatistic> statistics = repository.findByPilotId(pilotId);
+		if (statistics.isEmpty() && !pilotRepository.existsById(pilotId)) {
+			throw new ObjectNotFound("Piloto %s não existe".formatted(pilotId));
+		}
+		int starts = 0;
+		int wins = 0;
+		int podiums = 0;
+		int classified = 0;
+		long placementSum = 0;
+		Integer best = null;
+		for (PilotStatistic statistic : statistics) {
+			int placement = statistic.getPlacement();
+			int results = statistic.getResults();
+			starts += results;
+			if (placement < 1) {
+				continue;
+			}
+			classified += results;
+			placementSum += (long) placement * results;
+			best = best == null ? placement : Math.min(best, placement);
+			wins += placement == 1 ? results : 0;
+			podiums += placement <= PODIUM ? results : 0;
+		}
+		Double average = classified > 0 ? Math.round(placementSum * 100.0 / classified) / 100.0 : null;
+		return new PilotStatsDTO(pilotId, starts, wins, podiums, best, average);
+	}
+
+	// Trava todos os pilotos (gravações de resultados esperam) e só regrava os que divergem
+	@Override
+	@Transactional
+	public StatsRebuildDTO rebuild() {
+		long start = System.currentTimeMillis();
+		pilotRepository.lockAll();
+		Map<Integer, Map<Integer, Integer>> expected = new TreeMap<>();
+		Stream.concat(pilotRaceRepository.countPlacementsByPilot().stream(),
+				archiveService.countPlacementsByPilot().stream())
+				.forEach(count -> expected.computeIfAbsent(count.getPilotId(), pilot -> new TreeMap<>())
+						.merge(key(count.getPlacement()), count.getResults().intValue(), Integer::sum));
+		Map<Integer, Map<Integer, Integer>> current = new TreeMap<>();
+		repository.findAll().forEach(statistic -> current
+				.computeIfAbsent(statistic.getPilotId(), pilot -> new TreeMap<>())
+				.put(statistic.getPlacement(), statistic.getResults()));
+
+		TreeSet<Integer> pilots = new TreeSet<>(expected.keySet());
+		pilots.addAll(current.keySet());
+		List<Integer> inconsistent = pilots.stream()
+				.filter(pilotId -> !Objects.equals(expected.get(pilotId), current.get(pilotId)))
+				.toList();
+		List<PilotStatistic> rows = new ArrayList<>();
+		for (Integer pilotId : inconsistent) {
+			expected.getOrDefault(pilotId, Map.of())
+					.forEach((placement, results) -> rows.add(new PilotStatistic(pilotId, placement, results)));
+		}
+		if (!inconsistent.isEmpty()) {
+			repository.deleteByPilotIdIn(inconsistent);
+			jdbcTemplate.batchUpdate("insert into estatistica_piloto (piloto_id, colocacao, resultados) values (?, ?, ?)",
+					rows, batchSize, (ps, row) -> {
+						ps.setInt(1, row.getPilotId());
+						ps.setInt(2, row.getPlacement());
+						ps.setInt(3, row.getResults());
+					});
+		}
+		return new StatsRebuildDTO(expected.size(), rows.size(), inconsistent, System.currentTimeMillis() - start);
+	}
+
+}
@@ -0,0 +1,263 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.PointsScheme;
+import br.com.trier.springvespertino.models.RecomputationStatus;
+import br.com.trier.springvespertino.models.dto.RecomputationDTO;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.PointsSchemeRepository;
+import br.com.trier.springvespertino.services.PointsSchemeService;
+import br.com.trier.springvespertino.services.StandingsService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.utils.BatchUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sistemas de pontuação por campeonato. Mudar a pontuação de um sistema ou o sistema de um campeonato recalcula
+ * a classificação de cada campeonato afetado num ForkJoinPool próprio, um campeonato por tarefa e por transação,
+ * depois do commit da mudança. O recálculo roda na requisição que fez a mudança; o andamento e o tempo dos
+ * últimos recálculos ficam em {@link #listRecomputations()}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PointsSchemeServiceImpl implements PointsSchemeService {
+
+	private static final int MAX_PLACEMENTS = 50;
+	private static final int HISTORY = 20;
+
+	@Autowired
+	private PointsSchemeRepository repository;
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private StandingsService standingsService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	// Cada tarefa segura uma conexão enquanto recalcula: o paralelismo precisa caber no pool do datasource
+	@Value("${app.points.parallelism}")
+	private int parallelism;
+
+	private ForkJoinPool pool;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final Map<Long, Recomputation> recomputations = new LinkedHashMap<>();
+
+	private static class Recomputation {
+
+		private final Long id;
+		private final Integer schemeId;
+		private final int championships;
+		private final long start = System.nanoTime();
+		private final AtomicInteger completed = new AtomicInteger();
+		private final AtomicInteger standings = new AtomicInteger();
+		private final Set<Integer> failed = new ConcurrentSkipListSet<>();
+		private volatile String error;
+		private volatile Long elapsedMillis;
+
+		Recomputation(Long id, Integer schemeId, int championships) {
+			this.id = id;
+			this.schemeId = schemeId;
+			this.championships = championships;
+		}
+
+		RecomputationDTO toDTO() {
+			Long elapsed = elapsedMillis;
+			RecomputationStatus status = elapsed == null ? RecomputationStatus.RUNNING
+					: failed.isEmpty() ? RecomputationStatus.DONE : RecomputationStatus.FAILED;
+			return new RecomputationDTO(id, schemeId, status, championships, completed.get(), List.copyOf(failed),
+					error, standings.get(),
+					elapsed != null ? elapsed : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+
+	}
+
+	@PostConstruct
+	void start() {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@PreDestroy
+	void stop() {
+		pool.shutdown();
+	}
+
+	private void validate(PointsScheme scheme) {
+		if (scheme.getDescription() == null || scheme.getDescription().isBlank()) {
+			throw new IntegrityViolation("Descrição não pode ser vazia");
+		}
+		List<Integer> points;
+		try {
+			points = scheme.pointsTable();
+		} catch (NumberFormatException e) {
+			throw new IntegrityViolation("Pontuação inválida: %s".formatted(scheme.getPoints()));
+		}
+		if (points.isEmpty()) {
+			throw new IntegrityViolation("Pontuação não pode ser vazia");
+		}
+		if (points.size() > MAX_PLACEMENTS) {
+			throw new IntegrityViolation("Pontuação aceita no máximo %s colocações".formatted(MAX_PLACEMENTS));
+		}
+		if (points.stream().anyMatch(value -> value < 0)) {
+			throw new IntegrityViolation("Pontuação inválida: %s".formatted(scheme.getPoints()));
+		}
+		if (scheme.getWinBonus() == null || scheme.getWinBonus() < 0) {
+			throw new IntegrityViolation("Bônus por vitória inválido: %s".formatted(scheme.getWinBonus()));
+		}
+		if (scheme.getFinishBonus() == null || scheme.getFinishBonus() < 0) {
+			throw new IntegrityViolation("Bônus por corrida concluída inválido: %s".formatted(scheme.getFinishBonus()));
+		}
+	}
+
+	private static boolean sameScoring(PointsScheme a, PointsScheme b) {
+		return a.pointsTable().equals(b.pointsTable()) && Objects.equals(a.getWinBonus(), b.getWinBonus())
+				&& Objects.equals(a.getFinishBonus(), b.getFinishBonus());
+	}
+
+	// Cada campeonato em sua transação: uma falha não desfaz os outros, e o campeonato pode ser recalculado de novo
+	private RecomputationDTO recomputeAll(Integer schemeId, List<Integer> championshipIds) {
+		Recomputation recomputation = new Recomputation(sequence.incrementAndGet(), schemeId, championshipIds.size());
+		synchronized (recomputations) {
+			recomputations.put(recomputation.id, recomputation);
+			if (recomputations.size() > HISTORY) {
+				recomputations.remove(recomputations.keySet().iterator().next());
+			}
+		}
+		List<Callable<Void>> tasks = new ArrayList<>(championshipIds.size());
+		for (Integer championshipId : championshipIds) {
+			tasks.add(() -> {
+				try {
+					recomputation.standings.addAndGet(
+							transactionTemplate.execute(status -> standingsService.rebuild(championshipId)));
+				} catch (RuntimeException e) {
+					recomputation.failed.add(championshipId);
+					recomputation.error = "Campeonato %s: %s".formatted(championshipId, e.getMessage());
+				}
+				recomputation.completed.incrementAndGet();
+				return null;
+			});
+		}
+		pool.invokeAll(tasks);
+		recomputation.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recomputation.start);
+		return recomputation.toDTO();
+	}
+
+	private List<Integer> existingChampionships(List<Integer> championshipIds) {
+		List<Integer> ids = BatchUtils.distinctIds(championshipIds);
+		List<Integer> found = championshipRepository.findAllById(ids).stream().map(Championship::getId).toList();
+		for (Integer id : ids) {
+			if (!found.contains(id)) {
+				throw new ObjectNotFound("Campeonato %s não existe".formatted(id));
+			}
+		}
+		return ids;
+	}
+
+	@Override
+	public PointsScheme findById(Integer id) {
+		return repository.findById(id)
+				.orElseThrow(() -> new ObjectNotFound("Sistema de pontuação %s não existe".formatted(id)));
+	}
+
+	@Override
+	public List<PointsScheme> listAll() {
+		List<PointsScheme> lista = repository.findAll();
+		if (lista.isEmpty()) {
+			throw new ObjectNotFound("Nenhum sistema de pontuação cadastrado");
+		}
+		return lista;
+	}
+
+	@Override
+	@Transactional
+	public PointsScheme insert(PointsScheme scheme) {
+		validate(scheme);
+		scheme.setId(null);
+		return repository.save(scheme);
+	}
+
+	// Sem transação: o recálculo só começa depois do commit da pontuação nova
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public PointsScheme update(PointsScheme scheme) {
+		validate(scheme);
+		PointsScheme previous = findById(scheme.getId());
+		PointsScheme saved = transactionTemplate.execute(status -> repository.save(scheme));
+		if (!sameScoring(previous, saved)) {
+			recomputeAll(saved.getId(), championshipRepository.findIdsByPointsSchemeId(saved.getId()));
+		}
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public void delete(Integer id) {
+		PointsScheme scheme = findById(id);
+		int championships = championshipRepository.findIdsByPointsSchemeId(id).size();
+		if (championships > 0) {
+			throw new IntegrityViolation("Sistema de pontuação %s está em uso por %s campeonato(s)"
+					.formatted(id, championships));
+		}
+		repository.delete(scheme);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public RecomputationDTO assign(Integer id, List<Integer> championshipIds) {
+		findById(id);
+		List<Integer> ids = existingChampionships(championshipIds);
+		transactionTemplate.executeWithoutResult(status -> championshipRepository.updatePointsScheme(id, ids));
+		return recomputeAll(id, ids);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public RecomputationDTO unassign(List<Integer> championshipIds) {
+		List<Integer> ids = existingChampionships(championshipIds);
+		transactionTemplate.executeWithoutResult(status -> championshipRepository.clearPointsScheme(ids));
+		return recomputeAll(null, ids);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public RecomputationDTO recompute(Integer id) {
+		findById(id);
+		return recomputeAll(id, championshipRepository.findIdsByPointsSchemeId(id));
+	}
+
+	@Override
+	public List<RecomputationDTO> listRecomputations() {
+		List<RecomputationDTO> list = new ArrayList<>();
+		synchronized (recomputations) {
+			recomputations.values().forEach(recomputation -> list.add(0, recomputation.toDTO()));
+		}
+		return list;
+	}
+
+}
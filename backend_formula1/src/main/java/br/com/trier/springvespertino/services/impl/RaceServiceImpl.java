@@ -1,25 +1,77 @@
 package br.com.trier.springvespertino.services.impl;
 
+import java.time.YearMonth;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
 import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.OutboxEventType;
+import br.com.trier.springvespertino.models.PilotRace;
 import br.com.trier.springvespertino.models.Race;
 import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.RaceDetailDTO;
+import br.com.trier.springvespertino.models.dto.RaceStateDTO;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
 import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
+import br.com.trier.springvespertino.services.HeadToHeadService;
+import br.com.trier.springvespertino.services.OutboxService;
 import br.com.trier.springvespertino.services.RaceService;
+import br.com.trier.springvespertino.services.ResultsEngineService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.StandingsHistoryService;
+import br.com.trier.springvespertino.services.StandingsService;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
+import br.com.trier.springvespertino.utils.BatchUtils;
+import br.com.trier.springvespertino.utils.DateUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class RaceServiceImpl implements RaceService {
 
 	@Autowired
 	private RaceRepository repository;
 
+	@Autowired
+	private ChangeLogService changeLogService;
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private StandingsService standingsService;
+
+	@Autowired
+	private HeadToHeadService headToHeadService;
+
+	@Autowired
+	private StandingsHistoryService standingsHistoryService;
+
+	@Autowired
+	private ResultsEngineService resultsEngineService;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
 	private void validateRace(Race race) {
 		if (race.getChampionship() == null) {
 			throw new IntegrityViolation("Campeonato não pode ser nulo");
@@ -32,18 +84,64 @@ public class RaceServiceImpl implements RaceService {
 		if (championShipYear != raceYear) {
 			throw new IntegrityViolation("Ano da corrida diferente do ano do campeonato");
 		}
+		if (archiveService.isArchived(race.getChampionship().getId())) {
+			throw new IntegrityViolation("Campeonato %s está arquivado".formatted(race.getChampionship().getId()));
+		}
+	}
+
+	// Temporadas arquivadas não estão mais nas tabelas; se um arquivamento não terminou, a linha viva prevalece
+	private List<Race> withArchived(List<Race> races, ZonedDateTime start, ZonedDateTime end) {
+		List<Race> archived = archiveService.findRacesBetween(start, end);
+		if (archived.isEmpty()) {
+			return races;
+		}
+		Set<Integer> ids = new HashSet<>();
+		races.forEach(race -> ids.add(race.getId()));
+		List<Race> lista = new ArrayList<>(races);
+		archived.stream().filter(race -> !ids.contains(race.getId())).forEach(lista::add);
+		lista.sort(Comparator.comparing(Race::getDate).thenComparing(Race::getId));
+		return lista;
 	}
 
 	@Override
 	public Race findById(Integer id) {
 		return repository.findById(id)
+				.or(() -> archiveService.findRace(id))
 				.orElseThrow(()->new ObjectNotFound("Corrida %s não existe".formatted(id)));
 	}
 
+	// Duas consultas: a corrida com pista e campeonato e a classificação projetada direto no DTO
+	@Override
+	public RaceDetailDTO findDetail(Integer id) {
+		Optional<Race> race = repository.findDetailById(id);
+		if (race.isPresent()) {
+			return race.get().toDetailDTO(pilotRaceRepository.findClassification(id, race.get().getSeason()));
+		}
+		Race archived = archiveService.findRace(id)
+				.orElseThrow(() -> new ObjectNotFound("Corrida %s não existe".formatted(id)));
+		return archived.toDetailDTO(archiveService.findResults(id).stream().map(PilotRace::toClassificationDTO).toList());
+	}
+
+	// Ids que não estão nas tabelas podem ser de temporadas arquivadas
 	@Override
+	public List<Race> findAllById(List<Integer> ids) {
+		List<Integer> distinct = BatchUtils.distinctIds(ids);
+		List<Race> lista = new ArrayList<>(repository.findAllById(distinct));
+		Set<Integer> found = new HashSet<>();
+		lista.forEach(race -> found.add(race.getId()));
+		lista.addAll(archiveService.findRacesById(distinct.stream().filter(id -> !found.contains(id)).toList()));
+		return lista;
+	}
+
+	@Override
+	@Transactional
 	public Race insert(Race race) {
 		validateRace(race);
-		return repository.save(race);
+		Race saved = repository.save(race);
+		changeLogService.recordUpsert(ChangeType.RACE, saved.getId());
+		standingsHistoryService.championshipsChanged(List.of(saved.getChampionship().getId()));
+		outboxService.publish(OutboxEventType.RACE_SAVED, saved.getId(), saved.toDTO());
+		return saved;
 	}
 
 	@Override
@@ -56,26 +154,94 @@ public class RaceServiceImpl implements RaceService {
 	}
 
 	@Override
+	@Transactional
 	public Race update(Race race) {
-		findById(race.getId());
 		validateRace(race);
-		return repository.save(race);
+		RaceStateDTO previous = repository.findStateForUpdate(race.getId())
+				.orElseThrow(() -> new ObjectNotFound("Corrida %s não existe".formatted(race.getId())));
+		Integer previousChampionship = previous.getChampionshipId();
+		int updated = repository.update(race.getId(), race.getVersion(), race.getDate(), race.getSpeedway(),
+				race.getChampionship(), race.getChampionship().getYear());
+		// A linha está travada desde a leitura: se nada foi alterado, a versão enviada está desatualizada
+		if (updated == 0) {
+			throw new VersionConflict("Corrida %s foi alterada por outra requisição (versão %s desatualizada)"
+					.formatted(race.getId(), race.getVersion()));
+		}
+		pilotRaceRepository.updateSeason(race.getId(), race.getChampionship().getYear());
+		// Trocar de campeonato leva os pontos dos resultados da corrida junto
+		if (!race.getChampionship().getId().equals(previousChampionship)) {
+			standingsService.lockChampionships(Arrays.asList(previousChampionship, race.getChampionship().getId()));
+			for (PilotRace result : pilotRaceRepository.findByRaceAndSeasonOrderByPlacementAsc(race,
+					race.getChampionship().getYear())) {
+				Integer pilotId = result.getPilot() != null ? result.getPilot().getId() : null;
+				standingsService.removeResult(previousChampionship, pilotId, result.getTeamId(), result.getPlacement());
+				standingsService.addResult(race.getChampionship().getId(), pilotId, result.getTeamId(),
+						result.getPlacement());
+			}
+			headToHeadService.resultChanged(previousChampionship, race.getId());
+			headToHeadService.resultChanged(race.getChampionship().getId(), race.getId());
+		}
+		// A data pode mudar a ordem das rodadas
+		standingsHistoryService.championshipsChanged(List.of(previousChampionship, race.getChampionship().getId()));
+		resultsEngineService.raceChanged(race.getId());
+		changeLogService.recordUpsert(ChangeType.RACE, race.getId());
+		// O evento e a resposta saem da requisição, que já traz pista e campeonato, com a versão nova
+		Race saved = new Race(race.getId(), race.getDate(), race.getSpeedway(), race.getChampionship(),
+				previous.getVersion() + 1, race.getChampionship().getYear());
+		outboxService.publish(OutboxEventType.RACE_SAVED, saved.getId(), saved.toDTO());
+		return saved;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
-		repository.delete(findById(id));
+		Race race = findById(id);
+		if (archiveService.isArchived(race.getChampionship().getId())) {
+			throw new IntegrityViolation("Campeonato %s está arquivado".formatted(race.getChampionship().getId()));
+		}
+		repository.delete(race);
+		changeLogService.recordDelete(ChangeType.RACE, id);
+		standingsHistoryService.championshipsChanged(List.of(race.getChampionship().getId()));
+		outboxService.publish(OutboxEventType.RACE_DELETED, id, race.toDTO());
 	}
 
 	@Override
 	public List<Race> findByDate(ZonedDateTime date) {
-		List<Race> lista = repository.findByDate(date);
+		ZonedDateTime start = date.truncatedTo(ChronoUnit.DAYS);
+		List<Race> lista = withArchived(repository.findByDateGreaterThanEqualAndDateLessThanOrderByDateAscIdAsc(start,
+				start.plusDays(1)), start, start.plusDays(1));
 		if(lista.isEmpty()) {
 			throw new ObjectNotFound("Não existe corrida para a data especificada");
 		}
 		return lista;
 	}
 
+	@Override
+	public List<Race> findByDateBetween(ZonedDateTime from, ZonedDateTime to) {
+		ZonedDateTime start = from.truncatedTo(ChronoUnit.DAYS);
+		ZonedDateTime end = to.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+		if (!start.isBefore(end)) {
+			throw new IntegrityViolation("Data inicial %s posterior à data final %s"
+					.formatted(DateUtils.zonedDateTimeToStr(from), DateUtils.zonedDateTimeToStr(to)));
+		}
+		List<Race> lista = withArchived(repository.findByDateGreaterThanEqualAndDateLessThanOrderByDateAscIdAsc(start, end),
+				start, end);
+		if(lista.isEmpty()) {
+			throw new ObjectNotFound("Não existe corrida entre %s e %s"
+					.formatted(DateUtils.zonedDateTimeToStr(from), DateUtils.zonedDateTimeToStr(to)));
+		}
+		return lista;
+	}
+
+	@Override
+	public Map<YearMonth, List<Race>> calendar(ZonedDateTime from, ZonedDateTime to) {
+		Map<YearMonth, List<Race>> meses = new LinkedHashMap<>();
+		for (Race race : findByDateBetween(from, to)) {
+			meses.computeIfAbsent(YearMonth.from(race.getDate()), mes -> new ArrayList<>()).add(race);
+		}
+		return meses;
+	}
+
 	@Override
 	public List<Race> findBySpeedway(Speedway speedway) {
 		List<Race> lista = repository.findBySpeedway(speedway);
@@ -87,11 +253,30 @@ public class RaceServiceImpl implements RaceService {
 
 	@Override
 	public List<Race> findByChampionship(Championship championship) {
-		List<Race> lista = repository.findByChampionship(championship);
+		List<Race> lista = repository.findByChampionshipAndSeason(championship, championship.getYear());
+		if (lista.isEmpty()) {
+			lista = archiveService.findRaces(championship);
+		}
 		if(lista.isEmpty()) {
 			throw new ObjectNotFound("Não existe corrida para o campeonato especificado");
 		}
 		return lista;
 	}
 
+	// Uma consulta para todos os campeonatos; os arquivados vêm do arquivo da temporada
+	@Override
+	public List<Race> findByChampionships(List<Championship> championships) {
+		if (championships.isEmpty()) {
+			return List.of();
+		}
+		List<Race> lista = new ArrayList<>(repository.findByChampionshipInOrderByDateAscIdAsc(championships));
+		Set<Integer> ids = new HashSet<>();
+		lista.forEach(race -> ids.add(race.getId()));
+		championships.stream().filter(championship -> archiveService.isArchived(championship.getId()))
+				.flatMap(championship -> archiveService.findRaces(championship).stream())
+				.filter(race -> ids.add(race.getId()))
+				.forEach(lista::add);
+		return lista;
+	}
+
 }
@@ -0,0 +1,69 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import br.com.trier.springvespertino.services.ReferenceService;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+
+/**
+ * Confere ids de chaves estrangeiras com uma única consulta "id in (...)" por tipo e devolve referências
+ * lazy (getReference), para que gravações não carreguem a entidade referenciada nem suas associações EAGER.
+ */
+@Service
+public class ReferenceServiceImpl implements ReferenceService {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public <T> T reference(Class<T> type, Integer id, String notFoundMessage) {
+		return references(type, Collections.singletonList(id), notFoundMessage).get(id);
+	}
+
+	@Override
+	public <T> Map<Integer, T> references(Class<T> type, Collection<Integer> ids, String notFoundMessage) {
+		Set<Integer> requested = new LinkedHashSet<>(ids);
+		if (requested.contains(null)) {
+			throw new ObjectNotFound(notFoundMessage.formatted((Object) null));
+		}
+		Map<Integer, T> references = new LinkedHashMap<>();
+		if (requested.isEmpty()) {
+			return references;
+		}
+		Set<Integer> existing = new HashSet<>(findExistingIds(type, requested));
+		for (Integer id : requested) {
+			if (!existing.contains(id)) {
+				throw new ObjectNotFound(notFoundMessage.formatted(id));
+			}
+			references.put(id, entityManager.getReference(type, id));
+		}
+		return references;
+	}
+
+	private <T> List<Integer> findExistingIds(Class<T> type, Collection<Integer> ids) {
+		EntityType<T> entity = entityManager.getMetamodel().entity(type);
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Integer> query = builder.createQuery(Integer.class);
+		Root<T> root = query.from(type);
+		Path<Integer> id = root.get(entity.getId(Integer.class));
+		query.select(id).where(id.in(ids));
+		return entityManager.createQuery(query).getResultList();
+	}
+
+}
@@ -0,0 +1,379 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.CubeDimension;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.PlacementBucket;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.ResultColumn;
+import br.com.trier.springvespertino.models.ResultMetric;
+import br.com.trier.springvespertino.models.dto.AggregateDTO;
+import br.com.trier.springvespertino.models.dto.AggregationDTO;
+import br.com.trier.springvespertino.models.dto.CubeCellDTO;
+import br.com.trier.springvespertino.models.dto.ResultRowDTO;
+import br.com.trier.springvespertino.models.dto.ResultsCubeDTO;
+import br.com.trier.springvespertino.models.dto.ResultsEngineDTO;
+import br.com.trier.springvespertino.models.dto.SeasonArchiveDTO;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.services.ResultsEngineService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.utils.IntColumn;
+import br.com.trier.springvespertino.utils.TransactionUtils;
+
+/**
+ * Cópia de piloto_corrida em memória, uma {@link IntColumn} por {@link ResultColumn} (mais o id do resultado),
+ * para agregações que varrem todos os resultados em paralelo sem passar por entidades. As colunas são
+ * carregadas na primeira consulta, com as temporadas arquivadas, e acompanham as gravações depois do commit:
+ * resultados, corridas e pilotos alterados são relidos só nas linhas afetadas. Resultados arquivados ficam com
+ * a equipe do piloto na carga, já que o arquivo não a guarda.
+ * <p>
+ * Junto com as colunas é mantido o cubo de resultados (temporada × país do piloto × equipe × faixa de
+ * colocação): cada linha gravada, trocada ou removida soma ou subtrai na sua célula, e os recortes do painel
+ * somam células, sem varrer os resultados.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResultsEngineServiceImpl implements ResultsEngineService {
+
+	// Valor nulo nas colunas
+	private static final int NULL = Integer.MIN_VALUE;
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final ResultColumn[] COLUMNS = ResultColumn.values();
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Value("${app.results-engine.off-heap}")
+	private boolean offHeap;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile boolean loaded;
+	private long loadMillis;
+	private int size;
+	private IntColumn ids;
+	private IntColumn[] columns;
+	private final Map<Integer, Integer> positions = new HashMap<>();
+	private final Map<Cell, long[]> cube = new HashMap<>();
+
+	private record Cell(int season, int country, int team, PlacementBucket bucket) {
+	}
+
+	private static int value(Integer value) {
+		return value != null ? value : NULL;
+	}
+
+	private static Integer key(int value) {
+		return value != NULL ? value : null;
+	}
+
+	private void write(int position, ResultRowDTO row) {
+		ids.set(position, row.getId());
+		columns[ResultColumn.PILOT.ordinal()].set(position, value(row.getPilotId()));
+		columns[ResultColumn.RACE.ordinal()].set(position, value(row.getRaceId()));
+		columns[ResultColumn.PLACEMENT.ordinal()].set(position, value(row.getPlacement()));
+		columns[ResultColumn.SEASON.ordinal()].set(position, value(row.getSeason()));
+		columns[ResultColumn.TEAM.ordinal()].set(position, value(row.getTeamId()));
+		columns[ResultColumn.COUNTRY.ordinal()].set(position, value(row.getCountryId()));
+		columns[ResultColumn.SPEEDWAY.ordinal()].set(position, value(row.getSpeedwayId()));
+		columns[ResultColumn.CHAMPIONSHIP.ordinal()].set(position, value(row.getChampionshipId()));
+	}
+
+	private void count(int position, int delta) {
+		Cell cell = new Cell(columns[ResultColumn.SEASON.ordinal()].get(position),
+				columns[ResultColumn.COUNTRY.ordinal()].get(position), columns[ResultColumn.TEAM.ordinal()].get(position),
+				PlacementBucket.of(key(columns[ResultColumn.PLACEMENT.ordinal()].get(position))));
+		long[] results = cube.computeIfAbsent(cell, key -> new long[1]);
+		results[0] += delta;
+		if (results[0] == 0) {
+			cube.remove(cell);
+		}
+	}
+
+	private void upsert(ResultRowDTO row) {
+		Integer position = positions.get(row.getId());
+		if (position != null) {
+			count(position, -1);
+		} else {
+			if (size == ids.capacity()) {
+				int capacity = ids.capacity() * 2;
+				ids = ids.grow(capacity, size);
+				for (int i = 0; i < columns.length; i++) {
+					columns[i] = columns[i].grow(capacity, size);
+				}
+			}
+			position = size++;
+			positions.put(row.getId(), position);
+		}
+		write(position, row);
+		count(position, 1);
+	}
+
+	// A última linha ocupa o lugar da removida, para as colunas continuarem contíguas
+	private void remove(int position) {
+		count(position, -1);
+		positions.remove(ids.get(position));
+		int last = --size;
+		if (position != last) {
+			ids.set(position, ids.get(last));
+			for (IntColumn column : columns) {
+				column.set(position, column.get(last));
+			}
+			positions.put(ids.get(position), position);
+		}
+	}
+
+	private void load() {
+		long start = System.nanoTime();
+		List<ResultRowDTO> rows = new ArrayList<>(pilotRaceRepository.findRows());
+		for (SeasonArchiveDTO archive : archiveService.listArchives()) {
+			for (PilotRace result : archiveService.findResults(new Championship(archive.getChampionshipId(), null, null))) {
+				Race race = result.getRace();
+				rows.add(new ResultRowDTO(result.getId(), result.getPilot().getId(), race.getId(), result.getPlacement(),
+						race.getSeason(), result.getTeamId(),
+						result.getPilot().getCountry() != null ? result.getPilot().getCountry().getId() : null,
+						race.getSpeedway().getId(), archive.getChampionshipId()));
+			}
+		}
+		int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(rows.size(), 1)) * 2);
+		ids = IntColumn.allocate(capacity, offHeap);
+		columns = new IntColumn[COLUMNS.length];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = IntColumn.allocate(capacity, offHeap);
+		}
+		size = 0;
+		positions.clear();
+		cube.clear();
+		rows.forEach(this::upsert);
+		loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		loaded = true;
+	}
+
+	private void ensureLoaded() {
+		if (!loaded) {
+			lock.writeLock().lock();
+			try {
+				if (!loaded) {
+					load();
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	// Com a trava de escrita, uma carga em andamento termina antes e a alteração é aplicada sobre ela
+	private void change(Runnable change) {
+		TransactionUtils.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				if (loaded) {
+					change.run();
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	private ResultsEngineDTO toDTO() {
+		if (!loaded) {
+			return new ResultsEngineDTO(false, 0, 0, offHeap, 0L, null);
+		}
+		return new ResultsEngineDTO(true, size, ids.capacity(), offHeap,
+				(long) ids.capacity() * Integer.BYTES * (columns.length + 1), loadMillis);
+	}
+
+	// Sem transação: a varredura não segura conexão, e a carga usa as transações dos repositórios
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public AggregationDTO aggregate(ResultColumn groupBy, ResultMetric metric, Integer season, Integer championshipId,
+			Integer limit) {
+		if (groupBy == null || metric == null) {
+			throw new IntegrityViolation("Agrupamento e métrica são obrigatórios");
+		}
+		if (limit == null || limit < 1) {
+			throw new IntegrityViolation("Limite inválido: %s".formatted(limit));
+		}
+		ensureLoaded();
+		long start = System.nanoTime();
+		lock.readLock().lock();
+		try {
+			IntColumn keys = columns[groupBy.ordinal()];
+			IntColumn placements = columns[ResultColumn.PLACEMENT.ordinal()];
+			IntColumn seasons = columns[ResultColumn.SEASON.ordinal()];
+			IntColumn championships = columns[ResultColumn.CHAMPIONSHIP.ordinal()];
+			int seasonFilter = value(season);
+			int championshipFilter = value(championshipId);
+			// Cada thread conta no próprio mapa; os mapas são somados no fim
+			Map<Integer, long[]> counts = IntStream.range(0, size).parallel()
+					.filter(i -> metric.matches(placements.get(i))
+							&& (season == null || seasons.get(i) == seasonFilter)
+							&& (championshipId == null || championships.get(i) == championshipFilter))
+					.collect(HashMap::new, (map, i) -> map.computeIfAbsent(keys.get(i), key -> new long[1])[0]++,
+							(target, partial) -> partial.forEach((key, count) -> target.merge(key, count, (a, b) -> {
+								a[0] += b[0];
+								return a;
+							})));
+			List<AggregateDTO> groups = counts.entrySet().stream()
+					.sorted(Comparator.comparingLong((Map.Entry<Integer, long[]> entry) -> entry.getValue()[0]).reversed()
+							.thenComparingInt(Map.Entry::getKey))
+					.limit(limit)
+					.map(entry -> new AggregateDTO(key(entry.getKey()), entry.getValue()[0]))
+					.toList();
+			long matched = counts.values().stream().mapToLong(count -> count[0]).sum();
+			return new AggregationDTO(groupBy, metric, size, matched,
+					TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), groups);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Recorte: as células que passam pelos filtros são somadas pelas dimensões pedidas
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public ResultsCubeDTO cube(List<CubeDimension> groupBy, Integer season, Integer countryId, Integer teamId,
+			PlacementBucket bucket) {
+		Set<CubeDimension> dimensions = groupBy == null || groupBy.isEmpty() ? EnumSet.noneOf(CubeDimension.class)
+				: EnumSet.copyOf(groupBy);
+		ensureLoaded();
+		long start = System.nanoTime();
+		lock.readLock().lock();
+		try {
+			Map<Cell, long[]> rollUp = new HashMap<>();
+			for (Map.Entry<Cell, long[]> entry : cube.entrySet()) {
+				Cell cell = entry.getKey();
+				if ((season != null && cell.season() != season) || (countryId != null && cell.country() != countryId)
+						|| (teamId != null && cell.team() != teamId) || (bucket != null && cell.bucket() != bucket)) {
+					continue;
+				}
+				Cell key = new Cell(dimensions.contains(CubeDimension.SEASON) ? cell.season() : NULL,
+						dimensions.contains(CubeDimension.COUNTRY) ? cell.country() : NULL,
+						dimensions.contains(CubeDimension.TEAM) ? cell.team() : NULL,
+						dimensions.contains(CubeDimension.BUCKET) ? cell.bucket() : null);
+				rollUp.computeIfAbsent(key, k -> new long[1])[0] += entry.getValue()[0];
+			}
+			List<CubeCellDTO> cells = rollUp.entrySet().stream()
+					.sorted(Comparator.comparingLong((Map.Entry<Cell, long[]> entry) -> entry.getValue()[0]).reversed()
+							.thenComparingInt(entry -> entry.getKey().season())
+							.thenComparingInt(entry -> entry.getKey().country())
+							.thenComparingInt(entry -> entry.getKey().team())
+							.thenComparing(entry -> entry.getKey().bucket(),
+									Comparator.nullsFirst(Comparator.naturalOrder())))
+					.map(entry -> new CubeCellDTO(key(entry.getKey().season()), key(entry.getKey().country()),
+							key(entry.getKey().team()), entry.getKey().bucket(), entry.getValue()[0]))
+					.toList();
+			return new ResultsCubeDTO(List.copyOf(dimensions), cube.size(),
+					cells.stream().mapToLong(CubeCellDTO::getResults).sum(),
+					TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), cells);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public ResultsEngineDTO status() {
+		lock.readLock().lock();
+		try {
+			return toDTO();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public ResultsEngineDTO reload() {
+		lock.writeLock().lock();
+		try {
+			load();
+			return toDTO();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Resultados relidos pelo id: os que não voltam foram apagados
+	@Override
+	public void resultsChanged(Collection<Integer> resultIds) {
+		Set<Integer> changed = Set.copyOf(resultIds);
+		if (changed.isEmpty()) {
+			return;
+		}
+		change(() -> {
+			Set<Integer> missing = new HashSet<>(changed);
+			for (ResultRowDTO row : pilotRaceRepository.findRowsByIdIn(changed)) {
+				upsert(row);
+				missing.remove(row.getId());
+			}
+			for (Integer id : missing) {
+				Integer position = positions.get(id);
+				if (position != null) {
+					remove(position);
+				}
+			}
+		});
+	}
+
+	// Pista, campeonato e temporada vêm da corrida; corridas arquivadas não mudam mais
+	@Override
+	public void raceChanged(Integer raceId) {
+		if (raceId != null) {
+			change(() -> {
+				IntColumn races = columns[ResultColumn.RACE.ordinal()];
+				for (int i = size - 1; i >= 0; i--) {
+					if (races.get(i) == raceId) {
+						remove(i);
+					}
+				}
+				pilotRaceRepository.findRowsByRaceId(raceId).forEach(this::upsert);
+			});
+		}
+	}
+
+	// O país vem do piloto; a equipe é a gravada em cada resultado e não muda com ele
+	@Override
+	public void pilotChanged(Integer pilotId) {
+		if (pilotId != null) {
+			change(() -> {
+				int country = value(pilotRepository.findCountryIdById(pilotId));
+				IntColumn pilots = columns[ResultColumn.PILOT.ordinal()];
+				IntColumn countries = columns[ResultColumn.COUNTRY.ordinal()];
+				for (int i = 0; i < size; i++) {
+					if (pilots.get(i) == pilotId && countries.get(i) != country) {
+						count(i, -1);
+						countries.set(i, country);
+						count(i, 1);
+					}
+				}
+			});
+		}
+	}
+
+}
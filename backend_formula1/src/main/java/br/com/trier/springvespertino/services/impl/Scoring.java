@@ -0,0 +1,28 @@
+package br.com.trier.springvespertino.services.impl;
+
+import br.com.trier.springvespertino.models.PointsScheme;
+
+// Tabela de pontos de um sistema de pontuação, já convertida para o cálculo
+record Scoring(int[] points, int winBonus, int finishBonus) {
+
+	static final Scoring STANDARD = of(PointsScheme.STANDARD);
+
+	static Scoring of(PointsScheme scheme) {
+		return new Scoring(scheme.pointsTable().stream().mapToInt(Integer::intValue).toArray(),
+				scheme.getWinBonus(), scheme.getFinishBonus());
+	}
+
+	// Colocação nula ou menor que 1 é corrida não concluída: conta a corrida, sem pontos nem bônus
+	int points(Integer placement) {
+		if (placement == null || placement < 1) {
+			return 0;
+		}
+		int total = finishBonus + (placement <= points.length ? points[placement - 1] : 0);
+		return placement == 1 ? total + winBonus : total;
+	}
+
+	static int wins(Integer placement) {
+		return placement != null && placement == 1 ? 1 : 0;
+	}
+
+}
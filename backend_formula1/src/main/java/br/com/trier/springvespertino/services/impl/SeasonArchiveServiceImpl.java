@@ -0,0 +1,357 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.PlacementCountDTO;
+import br.com.trier.springvespertino.models.dto.SeasonArchiveDTO;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.repositories.SpeedwayRepository;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.utils.SeasonArchiveFile;
+import br.com.trier.springvespertino.utils.SeasonArchiveFile.ArchivedRace;
+import br.com.trier.springvespertino.utils.SeasonArchiveFile.ArchivedResult;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Move as corridas e resultados de um campeonato encerrado para um {@link SeasonArchiveFile} e os apaga
+ * das tabelas, que ficam só com as temporadas em andamento. Os arquivos são abertos (mapeados) na
+ * inicialização; pistas, pilotos e o campeonato continuam nas tabelas e são buscados em lote ao montar
+ * as corridas e resultados arquivados.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SeasonArchiveServiceImpl implements SeasonArchiveService {
+
+	private static final String PREFIX = "campeonato_";
+	private static final String EXTENSION = ".f1a";
+	private static final String STAGING = ".staging";
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private SpeedwayRepository speedwayRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${app.archive.directory}")
+	private String directory;
+
+	private final Map<Integer, SeasonArchiveFile> archives = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void load() {
+		try {
+			Path base = Files.createDirectories(Paths.get(directory));
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(base, PREFIX + "*" + EXTENSION + STAGING)) {
+				for (Path staging : files) {
+					recover(staging);
+				}
+			}
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(base, PREFIX + "*" + EXTENSION)) {
+				for (Path file : files) {
+					SeasonArchiveFile archive = SeasonArchiveFile.open(file);
+					archives.put(archive.championshipId(), archive);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Um arquivamento que confirmou mas não publicou o arquivo (queda antes do afterCompletion ou falha ao mover)
+	// deixa só o arquivo de preparação. Ele vale se as corridas dele já saíram das tabelas; senão a transação não
+	// confirmou e ele é descartado. A consulta é de escrita para ir ao primário, não a uma réplica atrasada.
+	private void recover(Path staging) throws IOException {
+		String name = staging.getFileName().toString();
+		Path path = staging.resolveSibling(name.substring(0, name.length() - STAGING.length()));
+		List<Integer> raceIds = SeasonArchiveFile.open(staging).races().stream().map(ArchivedRace::id).toList();
+		if (Boolean.TRUE.equals(transactionTemplate.execute(status -> raceRepository.existsByIdIn(raceIds)))) {
+			Files.delete(staging);
+		} else {
+			Files.move(staging, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+
+	private SeasonArchiveDTO toDTO(SeasonArchiveFile archive) {
+		return new SeasonArchiveDTO(archive.championshipId(), archive.season(), archive.raceCount(),
+				archive.resultCount(), archive.size(), archive.mapped());
+	}
+
+	private static long micros(ZonedDateTime date) {
+		return ChronoUnit.MICROS.between(Instant.EPOCH, date.toInstant());
+	}
+
+	private static ZonedDateTime date(long micros) {
+		return ZonedDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneId.systemDefault());
+	}
+
+	@Override
+	@Transactional
+	public SeasonArchiveDTO archive(Integer championshipId) {
+		Championship championship = championshipRepository.findById(championshipId)
+				.orElseThrow(() -> new ObjectNotFound("Campeonato %s não existe".formatted(championshipId)));
+		if (championship.getYear() >= Year.now().getValue()) {
+			throw new IntegrityViolation("Campeonato %s ainda não terminou".formatted(championshipId));
+		}
+		SeasonArchiveFile previous = archives.get(championshipId);
+		List<Race> races = raceRepository.findByChampionshipAndSeason(championship, championship.getYear());
+		if (races.isEmpty()) {
+			throw new IntegrityViolation((previous != null ? "Campeonato %s já está arquivado"
+					: "Campeonato %s não tem corridas para arquivar").formatted(championshipId));
+		}
+		for (Race race : races) {
+			if (race.getDate() == null) {
+				throw new IntegrityViolation("Corrida %s sem data não pode ser arquivada".formatted(race.getId()));
+			}
+		}
+		List<PilotRace> results = pilotRaceRepository.findByRaceChampionshipAndSeason(championship,
+				championship.getYear());
+
+		// Um arquivo deixado por um arquivamento que não confirmou é juntado às linhas vivas, que prevalecem
+		Map<Integer, ArchivedRace> archivedRaces = new LinkedHashMap<>();
+		Map<Integer, ArchivedResult> archivedResults = new LinkedHashMap<>();
+		if (previous != null) {
+			previous.races().forEach(race -> archivedRaces.put(race.id(), race));
+			previous.results().forEach(result -> archivedResults.put(result.id(), result));
+		}
+		races.forEach(race -> archivedRaces.put(race.getId(),
+				new ArchivedRace(race.getId(), micros(race.getDate()), race.getSpeedway().getId())));
+		results.forEach(result -> archivedResults.put(result.getId(), new ArchivedResult(result.getId(),
+				result.getRace().getId(), result.getPilot().getId(), result.getTeamId(), result.getPlacement())));
+
+		if (!results.isEmpty()) {
+			pilotRaceRepository.deleteArchived(results.stream().map(PilotRace::getId).toList(), championship.getYear());
+		}
+		raceRepository.deleteArchived(races.stream().map(Race::getId).toList(), championship.getYear());
+
+		// O arquivo é gravado ao lado do definitivo e só toma o lugar dele quando a transação confirma; o arquivo
+		// anterior continua intacto no disco se ela não confirmar. Se a troca não acontecer depois do commit, a
+		// inicialização publica o arquivo de preparação (ver recover)
+		Path path = Paths.get(directory).resolve(PREFIX + championshipId + EXTENSION);
+		Path staging = path.resolveSibling(path.getFileName() + STAGING);
+		SeasonArchiveFile archive;
+		try {
+			SeasonArchiveFile.write(staging, championshipId, championship.getYear(),
+					List.copyOf(archivedRaces.values()), List.copyOf(archivedResults.values()));
+			archive = SeasonArchiveFile.open(staging);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		// O arquivo passa a valer já nesta transação; se ela não confirmar, as linhas continuam nas tabelas e o
+		// arquivo novo é descartado
+		archives.put(championshipId, archive);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				try {
+					if (status == STATUS_COMMITTED) {
+						Files.move(staging, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+						return;
+					}
+					if (previous != null) {
+						archives.put(championshipId, previous);
+					} else {
+						archives.remove(championshipId);
+					}
+					Files.deleteIfExists(staging);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		});
+		return toDTO(archive);
+	}
+
+	@Override
+	public List<SeasonArchiveDTO> listArchives() {
+		return archives.values().stream()
+				.sorted(Comparator.comparingInt(SeasonArchiveFile::season)
+						.thenComparingInt(SeasonArchiveFile::championshipId))
+				.map(this::toDTO)
+				.toList();
+	}
+
+	@Override
+	public boolean isArchived(Integer championshipId) {
+		return championshipId != null && archives.containsKey(championshipId);
+	}
+
+	@Override
+	public Optional<Race> findRace(Integer id) {
+		return findRacesById(List.of(id)).stream().findFirst();
+	}
+
+	// Corridas de quantos arquivos forem com uma consulta de campeonatos e uma de pistas
+	@Override
+	public List<Race> findRacesById(Collection<Integer> ids) {
+		return List.copyOf(races(locate(ids)).values());
+	}
+
+	@Override
+	public List<Race> findRaces(Championship championship) {
+		SeasonArchiveFile archive = archives.get(championship.getId());
+		return archive != null ? List.copyOf(races(Map.of(archive, archive.races())).values()) : List.of();
+	}
+
+	@Override
+	public List<Race> findRacesBetween(ZonedDateTime start, ZonedDateTime end) {
+		Map<SeasonArchiveFile, List<ArchivedRace>> archived = new LinkedHashMap<>();
+		for (SeasonArchiveFile archive : archives.values()) {
+			List<ArchivedRace> races = archive.racesBetween(micros(start), micros(end));
+			if (!races.isEmpty()) {
+				archived.put(archive, races);
+			}
+		}
+		return List.copyOf(races(archived).values());
+	}
+
+	@Override
+	public List<PilotRace> findResults(Integer raceId) {
+		return findResultsByRaces(List.of(raceId));
+	}
+
+	// Resultados de quantas corridas forem com uma consulta de pilotos, além das de campeonatos e pistas
+	@Override
+	public List<PilotRace> findResultsByRaces(Collection<Integer> raceIds) {
+		return results(locate(raceIds));
+	}
+
+	@Override
+	public List<PilotRace> findResults(Championship championship) {
+		SeasonArchiveFile archive = archives.get(championship.getId());
+		return archive != null ? results(Map.of(archive, archive.races())) : List.of();
+	}
+
+	// Lê os resultados direto dos arquivos, sem montar pilotos e corridas
+	@Override
+	public List<PlacementCountDTO> countPlacementsByPilot() {
+		Map<Integer, Map<Integer, Long>> counts = new HashMap<>();
+		for (SeasonArchiveFile archive : archives.values()) {
+			for (ArchivedResult result : archive.results()) {
+				counts.computeIfAbsent(result.pilotId(), pilot -> new HashMap<>()).merge(result.placement(), 1L, Long::sum);
+			}
+		}
+		List<PlacementCountDTO> list = new ArrayList<>();
+		counts.forEach((pilotId, placements) -> placements
+				.forEach((placement, results) -> list.add(new PlacementCountDTO(pilotId, placement, results))));
+		return list;
+	}
+
+	// Arquivos da versão 1 não guardam a equipe; os resultados deles ficam com a equipe atual do piloto
+	private static Integer teamId(SeasonArchiveFile archive, ArchivedResult result, Pilot pilot) {
+		if (archive.version() > 1) {
+			return result.teamId();
+		}
+		return pilot.getTeam() != null ? pilot.getTeam().getId() : null;
+	}
+
+	// Arquivo de cada corrida pedida; a busca nos arquivos é binária e não vai ao banco
+	private Map<SeasonArchiveFile, List<ArchivedRace>> locate(Collection<Integer> ids) {
+		Map<SeasonArchiveFile, List<ArchivedRace>> archived = new LinkedHashMap<>();
+		for (Integer id : ids) {
+			for (SeasonArchiveFile archive : archives.values()) {
+				Optional<ArchivedRace> race = archive.race(id);
+				if (race.isPresent()) {
+					archived.computeIfAbsent(archive, key -> new ArrayList<>()).add(race.get());
+					break;
+				}
+			}
+		}
+		return archived;
+	}
+
+	// Campeonatos e pistas removidos depois do arquivamento aparecem só com o id
+	private Map<Integer, Race> races(Map<SeasonArchiveFile, List<ArchivedRace>> archived) {
+		if (archived.isEmpty()) {
+			return Map.of();
+		}
+		Map<Integer, Championship> championships = championshipRepository
+				.findAllById(archived.keySet().stream().map(SeasonArchiveFile::championshipId).toList()).stream()
+				.collect(Collectors.toMap(Championship::getId, Function.identity()));
+		Map<Integer, Speedway> speedways = speedwayRepository
+				.findAllById(archived.values().stream().flatMap(List::stream).map(ArchivedRace::speedwayId).distinct()
+						.toList())
+				.stream().collect(Collectors.toMap(Speedway::getId, Function.identity()));
+		Map<Integer, Race> races = new LinkedHashMap<>();
+		archived.forEach((archive, list) -> {
+			Championship championship = championships.getOrDefault(archive.championshipId(),
+					new Championship(archive.championshipId(), null, archive.season()));
+			list.forEach(race -> races.put(race.id(), new Race(race.id(), date(race.dateMicros()),
+					speedways.getOrDefault(race.speedwayId(), new Speedway(race.speedwayId(), null, null, new Country())),
+					championship, null, archive.season())));
+		});
+		return races;
+	}
+
+	// Pilotos removidos depois do arquivamento aparecem só com o id
+	private List<PilotRace> results(Map<SeasonArchiveFile, List<ArchivedRace>> archived) {
+		Map<Integer, Race> races = races(archived);
+		Map<SeasonArchiveFile, List<ArchivedResult>> results = new LinkedHashMap<>();
+		archived.forEach((archive, list) -> results.put(archive,
+				list.stream().flatMap(race -> archive.results(race.id()).stream()).toList()));
+		Map<Integer, Pilot> pilots = pilotRepository
+				.findAllById(results.values().stream().flatMap(List::stream).map(ArchivedResult::pilotId).distinct()
+						.toList())
+				.stream().collect(Collectors.toMap(Pilot::getId, Function.identity()));
+		List<PilotRace> list = new ArrayList<>();
+		results.forEach((archive, archivedResults) -> archivedResults.forEach(result -> {
+			Pilot pilot = pilots.getOrDefault(result.pilotId(), new Pilot(result.pilotId(), null, null, null));
+			list.add(new PilotRace(result.id(), result.placement(), pilot, races.get(result.raceId()), null,
+					archive.season(), teamId(archive, result, pilot)));
+		}));
+		return list;
+	}
+
+}
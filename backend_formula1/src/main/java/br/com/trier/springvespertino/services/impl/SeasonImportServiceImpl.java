@@ -0,0 +1,300 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.trier.springvespertino.models.ChangeType;
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.ImportCheckpoint;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.models.dto.ImportReportDTO;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.CountryRepository;
+import br.com.trier.springvespertino.repositories.ImportCheckpointRepository;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.repositories.SpeedwayRepository;
+import br.com.trier.springvespertino.repositories.TeamRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
+import br.com.trier.springvespertino.services.HeadToHeadService;
+import br.com.trier.springvespertino.services.PilotStatsService;
+import br.com.trier.springvespertino.services.ResultsEngineService;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.SeasonImportService;
+import br.com.trier.springvespertino.services.StandingsHistoryService;
+import br.com.trier.springvespertino.services.StandingsService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.utils.ChannelLineReader;
+import br.com.trier.springvespertino.utils.DateUtils;
+
+/**
+ * Importa resultados históricos de um CSV separado por ponto e vírgula com cabeçalho e as colunas
+ * ano;campeonato;data;pista;tamanho_pista;pais_pista;piloto;equipe;pais_piloto;colocacao.
+ * Cada lote é gravado em uma transação junto com o checkpoint do arquivo, então uma importação
+ * interrompida continua exatamente da linha seguinte ao último lote confirmado.
+ */
+@Service
+public class SeasonImportServiceImpl implements SeasonImportService {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int COLUMNS = 10;
+
+	@Autowired
+	private CountryRepository countryRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private SpeedwayRepository speedwayRepository;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private ImportCheckpointRepository checkpointRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Autowired
+	private ChangeLogService changeLogService;
+
+	@Autowired
+	private StandingsService standingsService;
+
+	@Autowired
+	private HeadToHeadService headToHeadService;
+
+	@Autowired
+	private StandingsHistoryService standingsHistoryService;
+
+	@Autowired
+	private ResultsEngineService resultsEngineService;
+
+	@Autowired
+	private PilotStatsService pilotStatsService;
+
+	private record ResultRow(long line, Integer year, String championship, ZonedDateTime date, String speedway,
+			Integer speedwaySize, String speedwayCountry, String pilot, String team, String pilotCountry,
+			Integer placement) {
+	}
+
+	private class Dictionaries {
+
+		private final Map<String, Country> countries = new HashMap<>();
+		private final Map<String, Team> teams = new HashMap<>();
+		private final Map<String, Pilot> pilots = new HashMap<>();
+		private final Map<String, Championship> championships = new HashMap<>();
+		private final Map<String, Speedway> speedways = new HashMap<>();
+		private final Map<String, Race> races = new HashMap<>();
+
+		private Dictionaries() {
+			countryRepository.findAll().forEach(country -> countries.put(key(country.getName()), country));
+			teamRepository.findAll().forEach(team -> teams.put(key(team.getName()), team));
+			pilotRepository.findAll().forEach(pilot -> pilots.put(key(pilot.getName()), pilot));
+			championshipRepository.findAll().forEach(championship -> championships
+					.put(key(championship.getYear(), championship.getDescription()), championship));
+			speedwayRepository.findAll().forEach(speedway -> speedways.put(key(speedway.getName()), speedway));
+			// Linhas do arquivo sempre têm data: uma corrida sem data nunca é a mesma de uma linha e fica de fora
+			raceRepository.findAll().stream().filter(race -> race.getDate() != null).forEach(race -> races.put(
+					key(race.getChampionship().getId(), race.getSpeedway().getId(), race.getDate().toLocalDate()), race));
+		}
+
+		private Country country(String name) {
+			return countries.computeIfAbsent(key(name), k -> created(ChangeType.COUNTRY, countryRepository.save(new Country(null, name)), Country::getId));
+		}
+
+		private Team team(String name) {
+			return teams.computeIfAbsent(key(name), k -> created(ChangeType.TEAM, teamRepository.save(new Team(null, name)), Team::getId));
+		}
+
+		private Pilot pilot(ResultRow row) {
+			return pilots.computeIfAbsent(key(row.pilot()), k -> created(ChangeType.PILOT,
+					pilotRepository.save(new Pilot(null, row.pilot(), country(row.pilotCountry()), team(row.team()))),
+					Pilot::getId));
+		}
+
+		private Championship championship(ResultRow row) {
+			return championships.computeIfAbsent(key(row.year(), row.championship()), k -> created(ChangeType.CHAMPIONSHIP,
+					championshipRepository.save(new Championship(null, row.championship(), row.year())), Championship::getId));
+		}
+
+		private Speedway speedway(ResultRow row) {
+			return speedways.computeIfAbsent(key(row.speedway()), k -> created(ChangeType.SPEEDWAY, speedwayRepository
+					.save(new Speedway(null, row.speedway(), row.speedwaySize(), country(row.speedwayCountry()))),
+					Speedway::getId));
+		}
+
+		private Race race(ResultRow row) {
+			Speedway speedway = speedway(row);
+			Championship championship = championship(row);
+			if (archiveService.isArchived(championship.getId())) {
+				throw new IntegrityViolation("Linha %s: campeonato %s está arquivado"
+						.formatted(row.line(), championship.getId()));
+			}
+			// Dois campeonatos podem correr na mesma pista no mesmo dia
+			Race race = races.computeIfAbsent(key(championship.getId(), speedway.getId(), row.date().toLocalDate()),
+					k -> created(ChangeType.RACE, raceRepository.save(new Race(null, row.date(), speedway, championship)),
+							Race::getId));
+			if (race.getChampionship().getYear() != row.date().getYear()) {
+				throw new IntegrityViolation("Linha %s: ano da corrida diferente do ano do campeonato"
+						.formatted(row.line()));
+			}
+			return race;
+		}
+
+		// Cadastros criados pela importação entram no registro de alterações junto com o lote
+		private <T> T created(ChangeType type, T entity, Function<T, Integer> id) {
+			changeLogService.recordUpsert(type, id.apply(entity));
+			return entity;
+		}
+
+		private String key(Object... parts) {
+			StringBuilder key = new StringBuilder();
+			for (Object part : parts) {
+				key.append(part == null ? "" : part.toString().trim().toLowerCase()).append('|');
+			}
+			return key.toString();
+		}
+
+	}
+
+	@Override
+	public ImportReportDTO importResults(Path file, int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IntegrityViolation("Tamanho de lote inválido: %s".formatted(chunkSize));
+		}
+		long start = System.currentTimeMillis();
+		String name = file.toAbsolutePath().normalize().toString();
+		// Lidos em transação de escrita para virem do primário, nunca de uma réplica atrasada
+		ImportCheckpoint checkpoint = transactionTemplate.execute(status -> checkpointRepository.findById(name)
+				.orElse(new ImportCheckpoint(name, 0L, 0L, false)));
+		if (checkpoint.getFinished()) {
+			throw new IntegrityViolation("Arquivo %s já importado".formatted(file.getFileName()));
+		}
+		long resumedFromLine = checkpoint.getLine();
+		long results = 0;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (checkpoint.getPosition() > channel.size()) {
+				throw new IntegrityViolation("Arquivo %s menor que o checkpoint gravado".formatted(file.getFileName()));
+			}
+			ChannelLineReader reader = new ChannelLineReader(channel, checkpoint.getPosition(), BUFFER_SIZE);
+			long line = checkpoint.getLine();
+			if (line == 0 && reader.readLine() != null) {
+				line++;
+			}
+			Dictionaries dictionaries = transactionTemplate.execute(status -> new Dictionaries());
+			List<ResultRow> chunk = new ArrayList<>(chunkSize);
+			String text;
+			while ((text = reader.readLine()) != null) {
+				line++;
+				if (text.isBlank()) {
+					continue;
+				}
+				chunk.add(parse(text, line));
+				if (chunk.size() == chunkSize) {
+					commit(chunk, dictionaries, checkpoint, reader.position(), line, false);
+					results += chunk.size();
+					chunk.clear();
+				}
+			}
+			// O último commit só marca o arquivo como importado quando as linhas fecham um número exato de lotes
+			commit(chunk, dictionaries, checkpoint, reader.position(), line, true);
+			results += chunk.size();
+			int chunks = (int) ((results + chunkSize - 1) / chunkSize);
+			return new ImportReportDTO(file.getFileName().toString(), resumedFromLine, line, results, chunks,
+					System.currentTimeMillis() - start);
+		} catch (NoSuchFileException e) {
+			throw new ObjectNotFound("Arquivo %s não existe".formatted(file.getFileName()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void commit(List<ResultRow> chunk, Dictionaries dictionaries, ImportCheckpoint checkpoint,
+			long position, long line, boolean finished) {
+		transactionTemplate.executeWithoutResult(status -> {
+			List<PilotRace> pilotRaces = new ArrayList<>(chunk.size());
+			for (ResultRow row : chunk) {
+				Race race = dictionaries.race(row);
+				pilotRaces.add(new PilotRace(null, row.placement(), dictionaries.pilot(row), race, null, race.getSeason()));
+			}
+			pilotRaceRepository.saveAll(pilotRaces);
+			changeLogService.recordUpserts(ChangeType.PILOT_RACE, pilotRaces.stream().map(PilotRace::getId).toList());
+			standingsService.addResults(pilotRaces);
+			pilotStatsService.addResults(pilotRaces);
+			List<Integer> championshipIds = pilotRaces.stream()
+					.map(pilotRace -> pilotRace.getRace().getChampionship().getId()).toList();
+			headToHeadService.championshipsChanged(championshipIds);
+			standingsHistoryService.championshipsChanged(championshipIds);
+			resultsEngineService.resultsChanged(pilotRaces.stream().map(PilotRace::getId).toList());
+			checkpoint.setPosition(position);
+			checkpoint.setLine(line);
+			checkpoint.setFinished(finished);
+			checkpointRepository.save(checkpoint);
+		});
+	}
+
+	private ResultRow parse(String text, long line) {
+		String[] columns = text.split(";", -1);
+		if (columns.length != COLUMNS) {
+			throw new IntegrityViolation("Linha %s: esperadas %s colunas, encontradas %s"
+					.formatted(line, COLUMNS, columns.length));
+		}
+		try {
+			ResultRow row = new ResultRow(line,
+					Integer.valueOf(columns[0].trim()),
+					columns[1].trim(),
+					DateUtils.strToZonedDateTime(columns[2].trim()),
+					columns[3].trim(),
+					Integer.valueOf(columns[4].trim()),
+					columns[5].trim(),
+					columns[6].trim(),
+					columns[7].trim(),
+					columns[8].trim(),
+					Integer.valueOf(columns[9].trim()));
+			if (row.placement() <= 0) {
+				throw new IntegrityViolation("Linha %s: colocação inválida".formatted(line));
+			}
+			return row;
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IntegrityViolation("Linha %s inválida: %s".formatted(line, text));
+		}
+	}
+
+}
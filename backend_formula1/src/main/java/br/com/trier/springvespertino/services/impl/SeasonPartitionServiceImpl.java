@@ -0,0 +1,149 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.dto.SeasonPartitionDTO;
+import br.com.trier.springvespertino.services.SeasonPartitionService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+/**
+ * Administra as partições por temporada criadas pela migration opcional de db/partitioning. Cada temporada tem
+ * um par corrida_ANO/piloto_corrida_ANO; desanexar tira o par das consultas (arquivo de temporadas antigas)
+ * sem apagar os dados, e anexar devolve. Em bancos sem particionamento (H2, PostgreSQL sem a migration) as
+ * operações são recusadas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SeasonPartitionServiceImpl implements SeasonPartitionService {
+
+	private static final int MAX_SEASON = 9999;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private void checkPartitioned() {
+		boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+				"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+		if (!postgres || !jdbcTemplate.queryForObject(
+				"select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('corrida'))",
+				Boolean.class)) {
+			throw new IntegrityViolation("Particionamento por temporada não está ativo neste banco");
+		}
+	}
+
+	private void checkSeason(Integer season) {
+		if (season == null || season < 1 || season > MAX_SEASON) {
+			throw new IntegrityViolation("Temporada inválida: %s".formatted(season));
+		}
+	}
+
+	private SeasonPartitionDTO find(Integer season) {
+		return partitions().get(season);
+	}
+
+	private SeasonPartitionDTO existing(Integer season) {
+		SeasonPartitionDTO partition = find(season);
+		if (partition == null) {
+			throw new ObjectNotFound("Partição da temporada %s não existe".formatted(season));
+		}
+		return partition;
+	}
+
+	// reltuples é a estimativa do último analyze (-1 se a tabela nunca foi analisada); contar as linhas de
+	// cada partição leria o histórico inteiro
+	private Map<Integer, SeasonPartitionDTO> partitions() {
+		Map<Integer, Long> results = new TreeMap<>();
+		jdbcTemplate.query("select c.relname, c.reltuples::bigint from pg_class c where c.relkind = 'r' "
+				+ "and c.relnamespace = current_schema()::regnamespace and c.relname ~ '^piloto_corrida_[0-9]+$'",
+				rs -> {
+					results.put(Integer.valueOf(rs.getString(1).substring("piloto_corrida_".length())),
+							Math.max(0, rs.getLong(2)));
+				});
+		Map<Integer, SeasonPartitionDTO> partitions = new TreeMap<>();
+		jdbcTemplate.query("select c.relname, c.reltuples::bigint, c.relispartition from pg_class c where c.relkind = 'r' "
+				+ "and c.relnamespace = current_schema()::regnamespace and c.relname ~ '^corrida_[0-9]+$'",
+				rs -> {
+					Integer season = Integer.valueOf(rs.getString(1).substring("corrida_".length()));
+					partitions.put(season, new SeasonPartitionDTO(season, rs.getBoolean(3), Math.max(0, rs.getLong(2)),
+							results.getOrDefault(season, 0L)));
+				});
+		return partitions;
+	}
+
+	@Override
+	public List<SeasonPartitionDTO> listPartitions() {
+		checkPartitioned();
+		return List.copyOf(partitions().values());
+	}
+
+	@Override
+	@Transactional
+	public SeasonPartitionDTO createPartition(Integer season) {
+		checkSeason(season);
+		checkPartitioned();
+		if (find(season) != null) {
+			throw new IntegrityViolation("Partição da temporada %s já existe".formatted(season));
+		}
+		// O PostgreSQL não cria a partição enquanto a default tiver linhas do ano: elas saem para tabelas
+		// temporárias e voltam pela tabela pai, já roteadas para a partição nova
+		jdbcTemplate.execute("create temp table tmp_corrida on commit drop as "
+				+ "select * from corrida_default where temporada = " + season);
+		jdbcTemplate.execute("create temp table tmp_piloto_corrida on commit drop as "
+				+ "select * from piloto_corrida_default where temporada = " + season);
+		jdbcTemplate.execute("delete from piloto_corrida_default where temporada = " + season);
+		jdbcTemplate.execute("delete from corrida_default where temporada = " + season);
+		jdbcTemplate.execute("create table corrida_%1$s partition of corrida for values in (%1$s)".formatted(season));
+		jdbcTemplate.execute("create table piloto_corrida_%1$s partition of piloto_corrida for values in (%1$s)"
+				.formatted(season));
+		jdbcTemplate.execute("insert into corrida select * from tmp_corrida");
+		jdbcTemplate.execute("insert into piloto_corrida select * from tmp_piloto_corrida");
+		return find(season);
+	}
+
+	@Override
+	@Transactional
+	public SeasonPartitionDTO detachPartition(Integer season) {
+		checkSeason(season);
+		checkPartitioned();
+		if (!existing(season).getAttached()) {
+			throw new IntegrityViolation("Partição da temporada %s já está desanexada".formatted(season));
+		}
+		jdbcTemplate.execute("alter table piloto_corrida detach partition piloto_corrida_" + season);
+		// A chave estrangeira herdada continua apontando para corrida e impediria desanexar corrida_ANO
+		jdbcTemplate.queryForList("select format('alter table %s drop constraint %I', c.conrelid::regclass::text, "
+				+ "c.conname) from pg_constraint c where c.conrelid = to_regclass(?) and c.contype = 'f' "
+				+ "and c.confrelid = to_regclass('corrida')", String.class, "piloto_corrida_" + season)
+				.forEach(jdbcTemplate::execute);
+		jdbcTemplate.execute("alter table corrida detach partition corrida_" + season);
+		return find(season);
+	}
+
+	@Override
+	@Transactional
+	public SeasonPartitionDTO attachPartition(Integer season) {
+		checkSeason(season);
+		checkPartitioned();
+		if (existing(season).getAttached()) {
+			throw new IntegrityViolation("Partição da temporada %s já está anexada".formatted(season));
+		}
+		if (jdbcTemplate.queryForObject("select exists (select 1 from corrida_default where temporada = ?)",
+				Boolean.class, season)) {
+			throw new IntegrityViolation("Existem corridas da temporada %s na partição default".formatted(season));
+		}
+		// Anexar recria em piloto_corrida_ANO a chave estrangeira da tabela pai
+		jdbcTemplate.execute("alter table corrida attach partition corrida_%1$s for values in (%1$s)".formatted(season));
+		jdbcTemplate.execute("alter table piloto_corrida attach partition piloto_corrida_%1$s for values in (%1$s)"
+				.formatted(season));
+		return find(season);
+	}
+
+}
@@ -4,20 +4,28 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
 import br.com.trier.springvespertino.models.Country;
 import br.com.trier.springvespertino.models.Speedway;
 import br.com.trier.springvespertino.repositories.SpeedwayRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
 import br.com.trier.springvespertino.services.SpeedwayService;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.utils.BatchUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class SpeedwayServiceImpl implements SpeedwayService {
 
 	@Autowired
 	private SpeedwayRepository repository;
 
+	@Autowired
+	private ChangeLogService changeLogService;
+
 	private void validateSpeedway(Speedway speedway) {
 		if (speedway.getSize() == null || speedway.getSize() <= 0) {
 			throw new IntegrityViolation("Tamanho da pista inválido");
@@ -31,9 +39,17 @@ public class SpeedwayServiceImpl implements SpeedwayService {
 	}
 
 	@Override
+	public List<Speedway> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
+	@Override
+	@Transactional
 	public Speedway insert(Speedway speedway) {
 		validateSpeedway(speedway);
-		return repository.save(speedway);
+		Speedway saved = repository.save(speedway);
+		changeLogService.recordUpsert(ChangeType.SPEEDWAY, saved.getId());
+		return saved;
 	}
 
 	@Override
@@ -46,16 +62,21 @@ public class SpeedwayServiceImpl implements SpeedwayService {
 	}
 
 	@Override
+	@Transactional
 	public Speedway update(Speedway speedway) {
 		findById(speedway.getId());
 		validateSpeedway(speedway);
-		return repository.save(speedway);
+		Speedway saved = repository.save(speedway);
+		changeLogService.recordUpsert(ChangeType.SPEEDWAY, saved.getId());
+		return saved;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		Speedway speedway = findById(id);
 		repository.delete(speedway);
+		changeLogService.recordDelete(ChangeType.SPEEDWAY, id);
 	}
 
 	@Override
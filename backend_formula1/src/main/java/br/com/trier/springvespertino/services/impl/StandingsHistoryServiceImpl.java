@@ -0,0 +1,260 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.RacePlacementDTO;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.PointsSchemeRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.StandingsHistoryService;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Classificação do campeonato como estava depois da rodada N. Para cada campeonato consultado fica em memória
+ * a soma acumulada de pontos, vitórias e resultados de cada piloto por rodada (corridas em ordem de data), em
+ * vetores de int com uma linha por piloto; a classificação de qualquer rodada lê uma coluna, sem repassar as
+ * corridas anteriores. Resultados alterados marcam a corrida depois do commit, e a próxima leitura troca a
+ * contribuição dela nas rodadas seguintes. Corridas novas, removidas ou remarcadas, importações e trocas do
+ * sistema de pontuação remontam o campeonato.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StandingsHistoryServiceImpl implements StandingsHistoryService {
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private PointsSchemeRepository pointsSchemeRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Value("${app.standings-history.cache-size}")
+	private int cacheSize;
+
+	private ChampionshipCache<History> cache;
+
+	// Totais do piloto depois de uma rodada
+	private record Row(Integer pilotId, int points, int wins, int results) {
+	}
+
+	private static final class History {
+
+		private final Scoring scoring;
+		private final Map<Integer, Integer> rounds = new HashMap<>();
+		private final Map<Integer, Integer> index = new HashMap<>();
+		private final List<Integer> pilotIds;
+		private final Map<Integer, Map<Integer, Integer>> races;
+		// Linha do piloto p: células p * stride até p * stride + rodadas; a célula 0 é antes da primeira corrida
+		private final int stride;
+		private final int[] points;
+		private final int[] wins;
+		private final int[] results;
+
+		History(Scoring scoring, List<Integer> raceIds, Map<Integer, Map<Integer, Integer>> races) {
+			this.scoring = scoring;
+			this.races = races;
+			for (int i = 0; i < raceIds.size(); i++) {
+				rounds.put(raceIds.get(i), i + 1);
+			}
+			pilotIds = races.values().stream().flatMap(race -> race.keySet().stream()).distinct().sorted().toList();
+			for (int i = 0; i < pilotIds.size(); i++) {
+				index.put(pilotIds.get(i), i);
+			}
+			stride = raceIds.size() + 1;
+			points = new int[pilotIds.size() * stride];
+			wins = new int[points.length];
+			results = new int[points.length];
+			// Cada corrida grava só a própria rodada; a soma acumulada da linha vira o total depois de cada rodada
+			races.forEach((raceId, race) -> race.forEach((pilotId, placement) -> {
+				int cell = index.get(pilotId) * stride + rounds.get(raceId);
+				points[cell] += scoring.points(placement);
+				wins[cell] += Scoring.wins(placement);
+				results[cell]++;
+			}));
+			for (int base = 0; base < points.length; base += stride) {
+				for (int cell = base + 1; cell < base + stride; cell++) {
+					points[cell] += points[cell - 1];
+					wins[cell] += wins[cell - 1];
+					results[cell] += results[cell - 1];
+				}
+			}
+		}
+
+		int rounds() {
+			return stride - 1;
+		}
+
+		// A corrida entra (ou sai) do total de todas as rodadas a partir da sua
+		private void apply(int round, Map<Integer, Integer> race, int sign) {
+			race.forEach((pilotId, placement) -> {
+				int base = index.get(pilotId) * stride;
+				int racePoints = sign * scoring.points(placement);
+				int raceWins = sign * Scoring.wins(placement);
+				for (int cell = base + round; cell < base + stride; cell++) {
+					points[cell] += racePoints;
+					wins[cell] += raceWins;
+					results[cell] += sign;
+				}
+			});
+		}
+
+		// Devolve false quando uma corrida ou piloto não está nos vetores, que então são remontados
+		boolean refresh(Collection<Integer> raceIds, Map<Integer, Map<Integer, Integer>> current) {
+			for (Integer raceId : raceIds) {
+				if (!rounds.containsKey(raceId)
+						|| !index.keySet().containsAll(current.getOrDefault(raceId, Map.of()).keySet())) {
+					return false;
+				}
+			}
+			for (Integer raceId : raceIds) {
+				Map<Integer, Integer> previous = races.remove(raceId);
+				if (previous != null) {
+					apply(rounds.get(raceId), previous, -1);
+				}
+				Map<Integer, Integer> race = current.get(raceId);
+				if (race != null) {
+					apply(rounds.get(raceId), race, 1);
+					races.put(raceId, race);
+				}
+			}
+			return true;
+		}
+
+		List<Row> rows(int round) {
+			List<Row> rows = new ArrayList<>();
+			for (int i = 0; i < pilotIds.size(); i++) {
+				int cell = i * stride + round;
+				if (results[cell] > 0) {
+					rows.add(new Row(pilotIds.get(i), points[cell], wins[cell], results[cell]));
+				}
+			}
+			return rows;
+		}
+
+	}
+
+	@PostConstruct
+	void start() {
+		cache = new ChampionshipCache<>(cacheSize);
+	}
+
+	// Colocação nula é resultado não concluído e também conta como corrida
+	private static Map<Integer, Map<Integer, Integer>> byRace(List<RacePlacementDTO> results) {
+		Map<Integer, Map<Integer, Integer>> races = new HashMap<>();
+		for (RacePlacementDTO result : results) {
+			races.computeIfAbsent(result.getRaceId(), race -> new HashMap<>()).put(result.getPilotId(),
+					result.getPlacement());
+		}
+		return races;
+	}
+
+	private Scoring scoring(Integer championshipId) {
+		Integer schemeId = championshipRepository.findPointsSchemeId(championshipId);
+		return schemeId == null ? Scoring.STANDARD
+				: pointsSchemeRepository.findById(schemeId).map(Scoring::of).orElse(Scoring.STANDARD);
+	}
+
+	// Temporadas arquivadas entram pelos arquivos; elas não recebem mais alterações
+	private History load(Integer championshipId) {
+		List<Race> rounds = new ArrayList<>(raceRepository.findByChampionshipIdOrderByDateAscIdAsc(championshipId));
+		Map<Integer, Map<Integer, Integer>> races = byRace(pilotRaceRepository.findResults(championshipId));
+		rounds.addAll(archiveService.findRaces(new Championship(championshipId, null, null)));
+		for (PilotRace result : archiveService.findResults(new Championship(championshipId, null, null))) {
+			races.computeIfAbsent(result.getRace().getId(), id -> new HashMap<>()).put(result.getPilot().getId(),
+					result.getPlacement());
+		}
+		rounds.sort(Comparator.comparing(Race::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+				.thenComparing(Race::getId));
+		return new History(scoring(championshipId), rounds.stream().map(Race::getId).toList(), races);
+	}
+
+	private <T> T read(Integer championshipId, Function<History, T> reader) {
+		return cache.read(championshipId, this::load,
+				(history, raceIds) -> history.refresh(raceIds,
+						byRace(pilotRaceRepository.findResults(championshipId, raceIds))),
+				history -> {
+					if (history.rounds() == 0) {
+						throw new ObjectNotFound("Nenhuma corrida para o campeonato %s".formatted(championshipId));
+					}
+					return reader.apply(history);
+				});
+	}
+
+	// Transação de escrita para ler do primário, como o /sync (ver ChampionshipCache)
+	@Override
+	@Transactional
+	public List<StandingDTO> findAfterRound(Integer championshipId, Integer round) {
+		List<Row> rows = read(championshipId, history -> {
+			if (round == null || round < 1 || round > history.rounds()) {
+				throw new IntegrityViolation("Rodada %s inválida: o campeonato %s tem %s corrida(s)"
+						.formatted(round, championshipId, history.rounds()));
+			}
+			return history.rows(round);
+		});
+		if (rows.isEmpty()) {
+			throw new ObjectNotFound("Nenhuma classificação para o campeonato %s na rodada %s"
+					.formatted(championshipId, round));
+		}
+		Map<Integer, Pilot> pilots = pilotRepository.findAllById(rows.stream().map(Row::pilotId).toList()).stream()
+				.collect(Collectors.toMap(Pilot::getId, Function.identity()));
+		List<StandingDTO> standings = new ArrayList<>(rows.stream()
+				.map(row -> {
+					Pilot pilot = pilots.get(row.pilotId());
+					return new StandingDTO(row.pilotId(), pilot != null ? pilot.getName() : null,
+							pilot != null && pilot.getTeam() != null ? pilot.getTeam().getName() : null, row.points(),
+							row.wins(), row.results());
+				})
+				.sorted(Comparator.comparing(StandingDTO::getPoints, Comparator.reverseOrder())
+						.thenComparing(StandingDTO::getWins, Comparator.reverseOrder())
+						.thenComparing(StandingDTO::getPilotName, Comparator.nullsLast(Comparator.naturalOrder())))
+				.toList());
+		for (int i = 0; i < standings.size(); i++) {
+			standings.get(i).setPosition(i + 1);
+		}
+		return standings;
+	}
+
+	@Override
+	public void resultChanged(Integer championshipId, Integer raceId) {
+		cache.resultChanged(championshipId, raceId);
+	}
+
+	@Override
+	public void championshipsChanged(Collection<Integer> championshipIds) {
+		cache.championshipsChanged(championshipIds);
+	}
+
+}
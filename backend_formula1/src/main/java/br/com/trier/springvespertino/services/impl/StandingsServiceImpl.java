@@ -0,0 +1,246 @@
+package br.com.trier.springvespertino.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Standing;
+import br.com.trier.springvespertino.models.TeamStanding;
+import br.com.trier.springvespertino.models.dto.PlacementCountDTO;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.models.dto.TeamStandingDTO;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PointsSchemeRepository;
+import br.com.trier.springvespertino.repositories.StandingRepository;
+import br.com.trier.springvespertino.repositories.TeamStandingRepository;
+import br.com.trier.springvespertino.services.SeasonArchiveService;
+import br.com.trier.springvespertino.services.StandingsHistoryService;
+import br.com.trier.springvespertino.services.StandingsService;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+/**
+ * Classificações materializadas em classificacao_campeonato e classificacao_equipe: cada resultado gravado ou
+ * removido soma ou subtrai pontos, vitórias e corridas das linhas (campeonato, piloto) e (campeonato, equipe
+ * creditada no resultado), na transação da alteração, com o sistema de pontuação do campeonato. A leitura é um
+ * select pela chave do campeonato, independente de quantas corridas a temporada tem. Quando o sistema muda,
+ * {@link #rebuild(Integer)} refaz as linhas do campeonato a partir dos resultados.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StandingsServiceImpl implements StandingsService {
+
+	@Autowired
+	private StandingRepository repository;
+
+	@Autowired
+	private TeamStandingRepository teamRepository;
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private PointsSchemeRepository pointsSchemeRepository;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private SeasonArchiveService archiveService;
+
+	@Autowired
+	private StandingsHistoryService historyService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${app.points.batch-size}")
+	private int batchSize;
+
+	// Soma de pontos, vitórias e resultados de um piloto ou equipe
+	private static final class Totals {
+
+		private int points;
+		private int wins;
+		private int results;
+
+		void add(Scoring scoring, Integer placement, int count) {
+			points += scoring.points(placement) * count;
+			wins += Scoring.wins(placement) * count;
+			results += count;
+		}
+
+	}
+
+	// Com o campeonato travado, o insert da primeira linha de um piloto ou equipe não disputa com outra
+	// transação e um recálculo não perde resultados gravados durante a leitura
+	private Scoring lock(Integer championshipId) {
+		Integer schemeId = championshipRepository.lockPointsSchemeId(championshipId);
+		return schemeId == null ? Scoring.STANDARD
+				: pointsSchemeRepository.findById(schemeId).map(Scoring::of).orElse(Scoring.STANDARD);
+	}
+
+	// Quem move resultados entre dois campeonatos trava os dois em ordem de id antes de mexer nas linhas, para
+	// movimentos em sentidos opostos não se bloquearem em ciclo
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void lockChampionships(Collection<Integer> championshipIds) {
+		Set<Integer> ordered = new TreeSet<>();
+		championshipIds.stream().filter(Objects::nonNull).forEach(ordered::add);
+		ordered.forEach(championshipRepository::lockPointsSchemeId);
+	}
+
+	private void applyPilot(Integer championshipId, Integer pilotId, int points, int wins, int races) {
+		int updated = repository.increment(championshipId, pilotId, points, wins, races);
+		if (updated == 0 && races > 0) {
+			repository.save(new Standing(championshipId, pilotId, points, wins, races));
+		}
+		if (races < 0) {
+			repository.deleteEmpty(championshipId, pilotId);
+		}
+	}
+
+	// Resultados sem equipe (pilotos gravados antes da coluna ou sem equipe) só contam para o piloto
+	private void applyTeam(Integer championshipId, Integer teamId, int points, int wins, int results) {
+		if (teamId == null) {
+			return;
+		}
+		int updated = teamRepository.increment(championshipId, teamId, points, wins, results);
+		if (updated == 0 && results > 0) {
+			teamRepository.save(new TeamStanding(championshipId, teamId, points, wins, results));
+		}
+		if (results < 0) {
+			teamRepository.deleteEmpty(championshipId, teamId);
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void addResult(Integer championshipId, Integer pilotId, Integer teamId, Integer placement) {
+		if (championshipId != null && pilotId != null) {
+			Scoring scoring = lock(championshipId);
+			applyPilot(championshipId, pilotId, scoring.points(placement), Scoring.wins(placement), 1);
+			applyTeam(championshipId, teamId, scoring.points(placement), Scoring.wins(placement), 1);
+		}
+	}
+
+	// Lotes somam por piloto e equipe e travam os campeonatos em ordem de id, para duas importações não se
+	// bloquearem em ciclo
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void addResults(List<PilotRace> results) {
+		Map<Integer, List<PilotRace>> byChampionship = new TreeMap<>();
+		for (PilotRace result : results) {
+			byChampionship.computeIfAbsent(result.getRace().getChampionship().getId(), championship -> new ArrayList<>())
+					.add(result);
+		}
+		byChampionship.forEach((championshipId, championshipResults) -> {
+			Scoring scoring = lock(championshipId);
+			Map<Integer, Totals> pilots = new TreeMap<>();
+			Map<Integer, Totals> teams = new TreeMap<>();
+			for (PilotRace result : championshipResults) {
+				pilots.computeIfAbsent(result.getPilot().getId(), pilot -> new Totals())
+						.add(scoring, result.getPlacement(), 1);
+				if (result.getTeamId() != null) {
+					teams.computeIfAbsent(result.getTeamId(), team -> new Totals()).add(scoring, result.getPlacement(), 1);
+				}
+			}
+			pilots.forEach((pilotId, total) -> applyPilot(championshipId, pilotId, total.points, total.wins,
+					total.results));
+			teams.forEach((teamId, total) -> applyTeam(championshipId, teamId, total.points, total.wins,
+					total.results));
+		});
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void removeResult(Integer championshipId, Integer pilotId, Integer teamId, Integer placement) {
+		if (championshipId != null && pilotId != null) {
+			Scoring scoring = lock(championshipId);
+			applyPilot(championshipId, pilotId, -scoring.points(placement), -Scoring.wins(placement), -1);
+			applyTeam(championshipId, teamId, -scoring.points(placement), -Scoring.wins(placement), -1);
+		}
+	}
+
+	private void insert(String table, String keyColumn, String countColumn, Integer championshipId,
+			Map<Integer, Totals> totals) {
+		jdbcTemplate.batchUpdate("insert into %s (campeonato_id, %s, pontos, vitorias, %s) values (?, ?, ?, ?, ?)"
+				.formatted(table, keyColumn, countColumn),
+				List.copyOf(totals.entrySet()), batchSize, (ps, row) -> {
+					ps.setInt(1, championshipId);
+					ps.setInt(2, row.getKey());
+					ps.setInt(3, row.getValue().points);
+					ps.setInt(4, row.getValue().wins);
+					ps.setInt(5, row.getValue().results);
+				});
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public int rebuild(Integer championshipId) {
+		Scoring scoring = lock(championshipId);
+		Map<Integer, Totals> pilots = new TreeMap<>();
+		Map<Integer, Totals> teams = new TreeMap<>();
+		for (PlacementCountDTO count : pilotRaceRepository.countPlacements(championshipId)) {
+			pilots.computeIfAbsent(count.getPilotId(), pilot -> new Totals())
+					.add(scoring, count.getPlacement(), count.getResults().intValue());
+			if (count.getTeamId() != null) {
+				teams.computeIfAbsent(count.getTeamId(), team -> new Totals())
+						.add(scoring, count.getPlacement(), count.getResults().intValue());
+			}
+		}
+		// Temporadas arquivadas saíram das tabelas, mas continuam nas classificações do campeonato, com a equipe
+		// gravada no arquivo
+		for (PilotRace result : archiveService.findResults(new Championship(championshipId, null, null))) {
+			pilots.computeIfAbsent(result.getPilot().getId(), pilot -> new Totals()).add(scoring, result.getPlacement(), 1);
+			if (result.getTeamId() != null) {
+				teams.computeIfAbsent(result.getTeamId(), team -> new Totals()).add(scoring, result.getPlacement(), 1);
+			}
+		}
+		repository.deleteByChampionship(championshipId);
+		teamRepository.deleteByChampionship(championshipId);
+		insert("classificacao_campeonato", "piloto_id", "corridas", championshipId, pilots);
+		insert("classificacao_equipe", "equipe_id", "resultados", championshipId, teams);
+		historyService.championshipsChanged(List.of(championshipId));
+		return pilots.size() + teams.size();
+	}
+
+	@Override
+	public List<StandingDTO> findByChampionship(Integer championshipId) {
+		List<StandingDTO> standings = repository.findStandings(championshipId);
+		if (standings.isEmpty()) {
+			throw new ObjectNotFound("Nenhuma classificação para o campeonato %s".formatted(championshipId));
+		}
+		for (int i = 0; i < standings.size(); i++) {
+			standings.get(i).setPosition(i + 1);
+		}
+		return standings;
+	}
+
+	@Override
+	public List<TeamStandingDTO> findTeamsByChampionship(Integer championshipId) {
+		List<TeamStandingDTO> standings = teamRepository.findStandings(championshipId);
+		if (standings.isEmpty()) {
+			throw new ObjectNotFound("Nenhuma classificação de equipes para o campeonato %s".formatted(championshipId));
+		}
+		for (int i = 0; i < standings.size(); i++) {
+			standings.get(i).setPosition(i + 1);
+		}
+		return standings;
+	}
+
+}
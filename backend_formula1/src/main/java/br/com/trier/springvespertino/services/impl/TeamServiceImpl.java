@@ -4,31 +4,50 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.trier.springvespertino.models.ChangeType;
 import br.com.trier.springvespertino.models.Team;
 import br.com.trier.springvespertino.repositories.TeamRepository;
+import br.com.trier.springvespertino.services.ChangeLogService;
 import br.com.trier.springvespertino.services.TeamService;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
+import br.com.trier.springvespertino.utils.BatchUtils;
+import br.com.trier.springvespertino.utils.ConstraintUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class TeamServiceImpl implements TeamService{
 	
 	@Autowired
 	private TeamRepository repository;
+
+	@Autowired
+	private ChangeLogService changeLogService;
 	
-	private void findByName(Team team) {
-		List<Team> lista = repository.findByNameIgnoreCase(team.getName());
-		if(lista.size()>0 && !lista.get(0).getId().equals(team.getId())) {
-			throw new IntegrityViolation("Nome já existente: %s".formatted(team.getName()));
+	// Cobre uk_equipe_nome e uk_equipe_nome_normalizado
+	private RuntimeException translate(DataIntegrityViolationException e, Team team) {
+		if (ConstraintUtils.isViolated(e, "uk_equipe_nome")) {
+			return new IntegrityViolation("Nome já existente: %s".formatted(team.getName()));
 		}
+		return e;
 	}
 
 	@Override
+	@Transactional
 	public Team salvar(Team team) {
-		findByName(team);
-		return repository.save(team);
+		Team saved;
+		try {
+			saved = repository.saveAndFlush(team);
+		} catch (DataIntegrityViolationException e) {
+			throw translate(e, team);
+		}
+		changeLogService.recordUpsert(ChangeType.TEAM, saved.getId());
+		return saved;
 	}
 
 	@Override
@@ -47,16 +66,39 @@ public class TeamServiceImpl implements TeamService{
 	}
 
 	@Override
+	public List<Team> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
+	@Override
+	@Transactional
 	public Team update(Team team) {
-		findById(team.getId());
-		findByName(team);
-		return repository.save(team);
+		int updated;
+		try {
+			updated = repository.update(team.getId(), team.getVersion(), team.getName());
+		} catch (DataIntegrityViolationException e) {
+			throw translate(e, team);
+		}
+		if (updated == 0) {
+			if (team.getVersion() != null && repository.existsById(team.getId())) {
+				throw new VersionConflict("Equipe %s foi alterada por outra requisição (versão %s desatualizada)"
+						.formatted(team.getId(), team.getVersion()));
+			}
+			throw new ObjectNotFound("Equipe %s não encontrada".formatted(team.getId()));
+		}
+		changeLogService.recordUpsert(ChangeType.TEAM, team.getId());
+		if (team.getVersion() != null) {
+			team.setVersion(team.getVersion() + 1);
+		}
+		return team;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		Team team = findById(id);
 		repository.delete(team);
+		changeLogService.recordDelete(ChangeType.TEAM, id);
 		
 	}
 
@@ -4,26 +4,32 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.trier.springvespertino.models.User;
 import br.com.trier.springvespertino.repositories.UserRepository;
 import br.com.trier.springvespertino.services.UserService;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
+import br.com.trier.springvespertino.utils.BatchUtils;
+import br.com.trier.springvespertino.utils.ConstraintUtils;
 
 @Service
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService{
 	
 	@Autowired
 	private UserRepository repository;
 	
-	private void findByEmail(User user) {
-		User busca = repository.findByEmail(user.getEmail()).orElse(null);
-		if(busca != null && !busca.getId().equals(user.getId())) {
-			throw new IntegrityViolation("Email já existente: %s"
+	private RuntimeException translate(DataIntegrityViolationException e, User user) {
+		if (ConstraintUtils.isViolated(e, "uk_usuario_email")) {
+			return new IntegrityViolation("Email já existente: %s"
 					.formatted(user.getEmail()));
 		}
+		return e;
 	}
 
 	@Override
@@ -34,9 +40,18 @@ public class UserServiceImpl implements UserService{
 	}
 
 	@Override
+	public List<User> findAllById(List<Integer> ids) {
+		return repository.findAllById(BatchUtils.distinctIds(ids));
+	}
+
+	@Override
+	@Transactional
 	public User insert(User user) {
-		findByEmail(user);
-		return repository.save(user);
+		try {
+			return repository.saveAndFlush(user);
+		} catch (DataIntegrityViolationException e) {
+			throw translate(e, user);
+		}
 	}
 
 	@Override
@@ -49,13 +64,30 @@ public class UserServiceImpl implements UserService{
 	}
 
 	@Override
+	@Transactional
 	public User update(User user) {
-		findById(user.getId());
-		findByEmail(user);
-		return repository.save(user);
+		int updated;
+		try {
+			updated = repository.update(user.getId(), user.getVersion(), user.getName(), user.getEmail(),
+					user.getPassword(), user.getRoles());
+		} catch (DataIntegrityViolationException e) {
+			throw translate(e, user);
+		}
+		if (updated == 0) {
+			if (user.getVersion() != null && repository.existsById(user.getId())) {
+				throw new VersionConflict("O usuário %s foi alterado por outra requisição (versão %s desatualizada)"
+						.formatted(user.getId(), user.getVersion()));
+			}
+			throw new ObjectNotFound("O usuário %s não existe".formatted(user.getId()));
+		}
+		if (user.getVersion() != null) {
+			user.setVersion(user.getVersion() + 1);
+		}
+		return user;
 	}
 
 	@Override
+	@Transactional
 	public void delete(Integer id) {
 		User user = findById(id);
 		repository.delete(user);
@@ -0,0 +1,44 @@
+package br.com.trier.springvespertino.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import br.com.trier.springvespertino.models.dto.BatchDTO;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+
+public class BatchUtils {
+
+	public static final int MAX_IDS = 100;
+
+	// Ids repetidos vão uma vez só para o IN; a resposta continua alinhada com a lista pedida
+	public static List<Integer> distinctIds(List<Integer> ids) {
+		if (ids == null || ids.isEmpty()) {
+			throw new IntegrityViolation("Informe ao menos um id");
+		}
+		if (ids.size() > MAX_IDS) {
+			throw new IntegrityViolation("Máximo de %s ids por consulta: %s informados".formatted(MAX_IDS, ids.size()));
+		}
+		if (ids.stream().anyMatch(Objects::isNull)) {
+			throw new IntegrityViolation("Id inválido na lista");
+		}
+		return ids.stream().distinct().toList();
+	}
+
+	public static <T, D> BatchDTO<D> toBatch(List<Integer> ids, List<T> found, Function<T, Integer> id,
+			Function<T, D> toDTO) {
+		Map<Integer, T> byId = found.stream().collect(Collectors.toMap(id, Function.identity(), (a, b) -> a));
+		List<D> results = new ArrayList<>(ids.size());
+		for (Integer requested : ids) {
+			T value = byId.get(requested);
+			results.add(value != null ? toDTO.apply(value) : null);
+		}
+		// Um id repetido e inexistente aparece uma vez só entre os ausentes
+		List<Integer> missing = distinctIds(ids).stream().filter(requested -> !byId.containsKey(requested)).toList();
+		return new BatchDTO<>(results, missing);
+	}
+
+}
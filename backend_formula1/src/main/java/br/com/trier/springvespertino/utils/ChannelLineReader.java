@@ -0,0 +1,64 @@
+package br.com.trier.springvespertino.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lê linhas UTF-8 de um {@link FileChannel} através de um buffer direto,
+ * mantendo a posição exata em bytes do fim de cada linha para permitir
+ * retomar a leitura do ponto em que parou.
+ */
+public class ChannelLineReader {
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private byte[] line = new byte[256];
+	private int length;
+	private long position;
+
+	public ChannelLineReader(FileChannel channel, long start, int bufferSize) throws IOException {
+		this.channel = channel;
+		this.channel.position(start);
+		this.position = start;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.buffer.flip();
+	}
+
+	public String readLine() throws IOException {
+		length = 0;
+		boolean read = false;
+		while (true) {
+			if (!buffer.hasRemaining()) {
+				buffer.clear();
+				int count = channel.read(buffer);
+				buffer.flip();
+				if (count <= 0) {
+					return read ? decode() : null;
+				}
+			}
+			byte b = buffer.get();
+			position++;
+			read = true;
+			if (b == '\n') {
+				return decode();
+			}
+			if (length == line.length) {
+				line = Arrays.copyOf(line, length * 2);
+			}
+			line[length++] = b;
+		}
+	}
+
+	public long position() {
+		return position;
+	}
+
+	private String decode() {
+		int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+		return new String(line, 0, end, StandardCharsets.UTF_8);
+	}
+
+}
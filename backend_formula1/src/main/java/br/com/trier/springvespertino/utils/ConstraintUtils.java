@@ -0,0 +1,24 @@
+package br.com.trier.springvespertino.utils;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class ConstraintUtils {
+
+	public static boolean isViolated(DataIntegrityViolationException exception, String constraint) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation && contains(violation.getConstraintName(), constraint)) {
+				return true;
+			}
+			if (contains(cause.getMessage(), constraint)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(String text, String constraint) {
+		return text != null && text.toLowerCase().contains(constraint.toLowerCase());
+	}
+
+}
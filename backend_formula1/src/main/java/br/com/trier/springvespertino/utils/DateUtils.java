@@ -1,6 +1,7 @@
 package br.com.trier.springvespertino.utils;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -8,6 +9,7 @@ import java.time.format.DateTimeFormatter;
 public class DateUtils {
 
 	private static DateTimeFormatter dtfBR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+	private static DateTimeFormatter monthBR = DateTimeFormatter.ofPattern("MM/yyyy");
 
 	public static ZonedDateTime strToZonedDateTime(String dateStr) {
 		return dateStr != null ? LocalDate.parse(dateStr, dtfBR).atStartOfDay(ZoneId.systemDefault())
@@ -18,4 +20,8 @@ public class DateUtils {
 		return date != null ? dtfBR.format(date) : "";
 	}
 
+	public static String yearMonthToStr(YearMonth month) {
+		return month != null ? monthBR.format(month) : "";
+	}
+
 }
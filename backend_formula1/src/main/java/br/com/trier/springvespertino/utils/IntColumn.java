@@ -0,0 +1,50 @@
+package br.com.trier.springvespertino.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Coluna de int de tamanho fixo, no heap (int[]) ou fora dele (buffer direto, fora do alcance do GC). Leituras
+ * por posição não mexem no estado do buffer e podem ser feitas por várias threads ao mesmo tempo.
+ */
+public class IntColumn {
+
+	private final IntBuffer buffer;
+	private final boolean offHeap;
+
+	private IntColumn(IntBuffer buffer, boolean offHeap) {
+		this.buffer = buffer;
+		this.offHeap = offHeap;
+	}
+
+	public static IntColumn allocate(int capacity, boolean offHeap) {
+		return new IntColumn(offHeap
+				? ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer()
+				: IntBuffer.wrap(new int[capacity]), offHeap);
+	}
+
+	public int get(int position) {
+		return buffer.get(position);
+	}
+
+	public void set(int position, int value) {
+		buffer.put(position, value);
+	}
+
+	public int capacity() {
+		return buffer.capacity();
+	}
+
+	public boolean offHeap() {
+		return offHeap;
+	}
+
+	// Nova coluna com as primeiras posições copiadas; a antiga é liberada quando sair de uso
+	public IntColumn grow(int capacity, int used) {
+		IntColumn column = allocate(capacity, offHeap);
+		column.buffer.put(0, buffer, 0, used);
+		return column;
+	}
+
+}
@@ -0,0 +1,407 @@
+package br.com.trier.springvespertino.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Arquivo colunar de uma temporada encerrada: as corridas e os resultados ficam em colunas separadas,
+ * com pistas e pilotos codificados por dicionário, o índice da corrida de cada resultado e as colocações
+ * empacotados no menor número de bits que comporta os valores. A leitura decodifica direto do arquivo
+ * mapeado em memória, sem carregar as colunas para o heap; se o sistema de arquivos não permitir o
+ * mapeamento, o arquivo é lido inteiro para um buffer.
+ *
+ * <pre>
+ * cabeçalho  magic, versão, campeonato, temporada, menor e maior data (epoch em microssegundos),
+ *            quantidade de corridas e de resultados
+ * corridas   ids (int, crescentes), datas (long), dicionário de pistas + códigos empacotados
+ * resultados ids (int), índice da corrida empacotado (crescente), dicionário de pilotos + códigos
+ *            empacotados, dicionário de equipes + códigos empacotados (0 = sem equipe; só a partir da
+ *            versão 2), colocação mínima + colocações empacotadas (0 = sem colocação)
+ * </pre>
+ *
+ * A equipe é a creditada no resultado quando ele foi gravado. Arquivos da versão 1 não a guardam e seus
+ * resultados são lidos sem equipe.
+ */
+public class SeasonArchiveFile {
+
+	private static final int MAGIC = 0x46314152;
+	private static final int VERSION = 2;
+	private static final int FIRST_VERSION = 1;
+	private static final int HEADER_SIZE = 40;
+
+	public record ArchivedRace(int id, long dateMicros, int speedwayId) {
+	}
+
+	public record ArchivedResult(int id, int raceId, int pilotId, Integer teamId, Integer placement) {
+	}
+
+	private final ByteBuffer buffer;
+	private final boolean mapped;
+	private final int version;
+	private final int championshipId;
+	private final int season;
+	private final long minDateMicros;
+	private final long maxDateMicros;
+	private final int raceCount;
+	private final int resultCount;
+	private final int raceIds;
+	private final int dates;
+	private final Column speedways;
+	private final int resultIds;
+	private final Column raceIndexes;
+	private final Column pilots;
+	private final Column teams;
+	private final Column placements;
+	private final int minPlacement;
+
+	// Coluna empacotada; com dicionário, o código lido é a posição do valor em dictionary
+	private record Column(int dictionary, int base, int bits) {
+	}
+
+	private SeasonArchiveFile(ByteBuffer buffer, boolean mapped) throws IOException {
+		this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		this.mapped = mapped;
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) < FIRST_VERSION
+				|| buffer.getInt(4) > VERSION) {
+			throw new IOException("Arquivo de temporada inválido ou de versão desconhecida");
+		}
+		version = buffer.getInt(4);
+		championshipId = buffer.getInt(8);
+		season = buffer.getInt(12);
+		minDateMicros = buffer.getLong(16);
+		maxDateMicros = buffer.getLong(24);
+		raceCount = buffer.getInt(32);
+		resultCount = buffer.getInt(36);
+		int offset = HEADER_SIZE;
+		raceIds = offset;
+		offset += raceCount * Integer.BYTES;
+		dates = offset;
+		offset += raceCount * Long.BYTES;
+		speedways = dictionaryColumn(offset);
+		offset = end(speedways, raceCount);
+		resultIds = offset;
+		offset += resultCount * Integer.BYTES;
+		raceIndexes = new Column(-1, offset, bitsFor(raceCount - 1));
+		offset = end(raceIndexes, resultCount);
+		pilots = dictionaryColumn(offset);
+		offset = end(pilots, resultCount);
+		if (version >= 2) {
+			int size = buffer.getInt(offset);
+			teams = new Column(offset + Integer.BYTES, offset + Integer.BYTES + size * Integer.BYTES, bitsFor(size));
+			offset = end(teams, resultCount);
+		} else {
+			teams = null;
+		}
+		minPlacement = buffer.getInt(offset);
+		placements = new Column(-1, offset + 2 * Integer.BYTES, buffer.getInt(offset + Integer.BYTES));
+		if (end(placements, resultCount) > buffer.capacity()) {
+			throw new IOException("Arquivo de temporada truncado");
+		}
+	}
+
+	private Column dictionaryColumn(int offset) {
+		int size = buffer.getInt(offset);
+		return new Column(offset + Integer.BYTES, offset + Integer.BYTES + size * Integer.BYTES,
+				bitsFor(size - 1));
+	}
+
+	private static int end(Column column, int count) {
+		return column.base() + packedBytes(count, column.bits());
+	}
+
+	public static SeasonArchiveFile open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer;
+			boolean mapped = true;
+			try {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} catch (UnsupportedOperationException | IOException e) {
+				mapped = false;
+				buffer = ByteBuffer.allocate((int) channel.size());
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				}
+				buffer.flip();
+			}
+			return new SeasonArchiveFile(buffer, mapped);
+		}
+	}
+
+	/**
+	 * Grava as corridas e resultados em um arquivo temporário ao lado do destino e o renomeia, então um
+	 * leitor nunca encontra o arquivo pela metade. Resultados de corridas ausentes da lista são recusados.
+	 */
+	public static void write(Path target, int championshipId, int season, List<ArchivedRace> races,
+			List<ArchivedResult> results) throws IOException {
+		List<ArchivedRace> sortedRaces = races.stream().sorted(Comparator.comparingInt(ArchivedRace::id)).toList();
+		Map<Integer, Integer> raceIndex = new LinkedHashMap<>();
+		for (ArchivedRace race : sortedRaces) {
+			raceIndex.put(race.id(), raceIndex.size());
+		}
+		for (ArchivedResult result : results) {
+			if (!raceIndex.containsKey(result.raceId())) {
+				throw new IllegalArgumentException("Resultado %s de corrida fora do arquivo: %s"
+						.formatted(result.id(), result.raceId()));
+			}
+		}
+		List<ArchivedResult> sortedResults = results.stream()
+				.sorted(Comparator.comparingInt((ArchivedResult result) -> raceIndex.get(result.raceId()))
+						.thenComparing(ArchivedResult::placement, Comparator.nullsFirst(Comparator.naturalOrder()))
+						.thenComparingInt(ArchivedResult::id))
+				.toList();
+
+		int[] speedwayDictionary = sortedRaces.stream().mapToInt(ArchivedRace::speedwayId).distinct().sorted().toArray();
+		int[] pilotDictionary = sortedResults.stream().mapToInt(ArchivedResult::pilotId).distinct().sorted().toArray();
+		int[] teamDictionary = sortedResults.stream().map(ArchivedResult::teamId).filter(team -> team != null)
+				.mapToInt(Integer::intValue).distinct().sorted().toArray();
+		int minPlacement = sortedResults.stream().map(ArchivedResult::placement).filter(p -> p != null)
+				.mapToInt(Integer::intValue).min().orElse(0);
+		int maxPlacement = sortedResults.stream().map(ArchivedResult::placement).filter(p -> p != null)
+				.mapToInt(Integer::intValue).max().orElse(0);
+		int placementBits = bitsFor(maxPlacement - minPlacement + 1);
+		int raceBits = bitsFor(sortedRaces.size() - 1);
+		int speedwayBits = bitsFor(speedwayDictionary.length - 1);
+		int pilotBits = bitsFor(pilotDictionary.length - 1);
+		int teamBits = bitsFor(teamDictionary.length);
+
+		int raceCount = sortedRaces.size();
+		int resultCount = sortedResults.size();
+		int size = HEADER_SIZE + raceCount * (Integer.BYTES + Long.BYTES)
+				+ Integer.BYTES + speedwayDictionary.length * Integer.BYTES + packedBytes(raceCount, speedwayBits)
+				+ resultCount * Integer.BYTES + packedBytes(resultCount, raceBits)
+				+ Integer.BYTES + pilotDictionary.length * Integer.BYTES + packedBytes(resultCount, pilotBits)
+				+ Integer.BYTES + teamDictionary.length * Integer.BYTES + packedBytes(resultCount, teamBits)
+				+ 2 * Integer.BYTES + packedBytes(resultCount, placementBits);
+		ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(championshipId).putInt(season)
+				.putLong(sortedRaces.stream().mapToLong(ArchivedRace::dateMicros).min().orElse(0))
+				.putLong(sortedRaces.stream().mapToLong(ArchivedRace::dateMicros).max().orElse(0))
+				.putInt(raceCount).putInt(resultCount);
+		sortedRaces.forEach(race -> buffer.putInt(race.id()));
+		sortedRaces.forEach(race -> buffer.putLong(race.dateMicros()));
+		putDictionary(buffer, speedwayDictionary);
+		pack(buffer, sortedRaces.stream().mapToInt(race -> indexOf(speedwayDictionary, race.speedwayId())).toArray(),
+				speedwayBits);
+		sortedResults.forEach(result -> buffer.putInt(result.id()));
+		pack(buffer, sortedResults.stream().mapToInt(result -> raceIndex.get(result.raceId())).toArray(), raceBits);
+		putDictionary(buffer, pilotDictionary);
+		pack(buffer, sortedResults.stream().mapToInt(result -> indexOf(pilotDictionary, result.pilotId())).toArray(),
+				pilotBits);
+		putDictionary(buffer, teamDictionary);
+		pack(buffer, sortedResults.stream()
+				.mapToInt(result -> result.teamId() == null ? 0 : indexOf(teamDictionary, result.teamId()) + 1).toArray(),
+				teamBits);
+		buffer.putInt(minPlacement).putInt(placementBits);
+		pack(buffer, sortedResults.stream()
+				.mapToInt(result -> result.placement() == null ? 0 : result.placement() - minPlacement + 1).toArray(),
+				placementBits);
+
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public int version() {
+		return version;
+	}
+
+	public int championshipId() {
+		return championshipId;
+	}
+
+	public int season() {
+		return season;
+	}
+
+	public long minDateMicros() {
+		return minDateMicros;
+	}
+
+	public long maxDateMicros() {
+		return maxDateMicros;
+	}
+
+	public int raceCount() {
+		return raceCount;
+	}
+
+	public int resultCount() {
+		return resultCount;
+	}
+
+	public int size() {
+		return buffer.capacity();
+	}
+
+	public boolean mapped() {
+		return mapped;
+	}
+
+	public List<ArchivedRace> races() {
+		List<ArchivedRace> races = new ArrayList<>(raceCount);
+		for (int i = 0; i < raceCount; i++) {
+			races.add(race(i));
+		}
+		return races;
+	}
+
+	public Optional<ArchivedRace> race(Integer id) {
+		int index = raceIndex(id);
+		return index < 0 ? Optional.empty() : Optional.of(race(index));
+	}
+
+	// Intervalo [from, to) em microssegundos, como a consulta por datas das tabelas vivas
+	public List<ArchivedRace> racesBetween(long fromMicros, long toMicros) {
+		List<ArchivedRace> races = new ArrayList<>();
+		if (raceCount == 0 || maxDateMicros < fromMicros || minDateMicros >= toMicros) {
+			return races;
+		}
+		for (int i = 0; i < raceCount; i++) {
+			long date = buffer.getLong(dates + i * Long.BYTES);
+			if (date >= fromMicros && date < toMicros) {
+				races.add(race(i));
+			}
+		}
+		return races;
+	}
+
+	public List<ArchivedResult> results() {
+		List<ArchivedResult> results = new ArrayList<>(resultCount);
+		for (int i = 0; i < resultCount; i++) {
+			results.add(result(i));
+		}
+		return results;
+	}
+
+	// Os resultados estão ordenados pela corrida e pela colocação: busca binária até o primeiro da corrida
+	public List<ArchivedResult> results(Integer raceId) {
+		List<ArchivedResult> results = new ArrayList<>();
+		int index = raceIndex(raceId);
+		if (index < 0) {
+			return results;
+		}
+		int low = 0;
+		int high = resultCount;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (unpack(raceIndexes, middle) < index) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		for (int i = low; i < resultCount && unpack(raceIndexes, i) == index; i++) {
+			results.add(result(i));
+		}
+		return results;
+	}
+
+	private int raceIndex(Integer id) {
+		if (id == null) {
+			return -1;
+		}
+		int low = 0;
+		int high = raceCount - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int value = buffer.getInt(raceIds + middle * Integer.BYTES);
+			if (value < id) {
+				low = middle + 1;
+			} else if (value > id) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	private ArchivedRace race(int index) {
+		return new ArchivedRace(buffer.getInt(raceIds + index * Integer.BYTES),
+				buffer.getLong(dates + index * Long.BYTES), decode(speedways, index));
+	}
+
+	private ArchivedResult result(int index) {
+		int placement = unpack(placements, index);
+		int team = teams != null ? unpack(teams, index) : 0;
+		return new ArchivedResult(buffer.getInt(resultIds + index * Integer.BYTES),
+				buffer.getInt(raceIds + unpack(raceIndexes, index) * Integer.BYTES), decode(pilots, index),
+				team == 0 ? null : buffer.getInt(teams.dictionary() + (team - 1) * Integer.BYTES),
+				placement == 0 ? null : placement + minPlacement - 1);
+	}
+
+	private int decode(Column column, int index) {
+		return buffer.getInt(column.dictionary() + unpack(column, index) * Integer.BYTES);
+	}
+
+	private int unpack(Column column, int index) {
+		int bits = column.bits();
+		if (bits == 0) {
+			return 0;
+		}
+		long bit = (long) index * bits;
+		int word = column.base() + (int) (bit >>> 6) * Long.BYTES;
+		int shift = (int) (bit & 63);
+		long value = buffer.getLong(word) >>> shift;
+		if (shift + bits > Long.SIZE) {
+			value |= buffer.getLong(word + Long.BYTES) << (Long.SIZE - shift);
+		}
+		return (int) (value & ((1L << bits) - 1));
+	}
+
+	private static void putDictionary(ByteBuffer buffer, int[] dictionary) {
+		buffer.putInt(dictionary.length);
+		for (int value : dictionary) {
+			buffer.putInt(value);
+		}
+	}
+
+	private static void pack(ByteBuffer buffer, int[] values, int bits) {
+		long[] words = new long[packedBytes(values.length, bits) / Long.BYTES];
+		for (int i = 0; bits > 0 && i < values.length; i++) {
+			long bit = (long) i * bits;
+			int word = (int) (bit >>> 6);
+			int shift = (int) (bit & 63);
+			words[word] |= (long) values[i] << shift;
+			if (shift + bits > Long.SIZE) {
+				words[word + 1] |= (long) values[i] >>> (Long.SIZE - shift);
+			}
+		}
+		for (long word : words) {
+			buffer.putLong(word);
+		}
+	}
+
+	private static int indexOf(int[] dictionary, int value) {
+		return Arrays.binarySearch(dictionary, value);
+	}
+
+	private static int packedBytes(int count, int bits) {
+		return (int) (((long) count * bits + 63) / 64) * Long.BYTES;
+	}
+
+	private static int bitsFor(int max) {
+		return max <= 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(max);
+	}
+
+}
@@ -0,0 +1,12 @@
+-- Outbox transacional: eventos de corridas e resultados gravados na mesma transação da alteração e
+-- apagados pelo relay depois de entregues. Ids de sequence com incremento 50 para gravar grids em lote.
+create sequence outbox_evento_seq start with 1 increment by 50;
+
+create table outbox_evento (
+    id bigint not null,
+    tipo varchar(30) not null,
+    agregado_id integer not null,
+    dados varchar(4000) not null,
+    criado_em timestamp(6) with time zone not null,
+    primary key (id)
+);
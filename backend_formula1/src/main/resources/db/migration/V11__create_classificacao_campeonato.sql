@@ -0,0 +1,24 @@
+-- Classificação dos pilotos por campeonato, mantida incrementalmente a cada resultado gravado ou removido.
+-- A chave primária (campeonato, piloto) atende a leitura da classificação de um campeonato.
+create table classificacao_campeonato (
+    campeonato_id integer not null,
+    piloto_id integer not null,
+    pontos integer not null,
+    vitorias integer not null,
+    corridas integer not null,
+    primary key (campeonato_id, piloto_id),
+    constraint fk_classificacao_campeonato foreign key (campeonato_id) references campeonato (codigo_campeonato),
+    constraint fk_classificacao_piloto foreign key (piloto_id) references piloto (id_piloto)
+);
+
+-- Carga inicial com a pontuação 25-18-15-12-10-8-6-4-2-1; temporadas já arquivadas não estão mais nas tabelas
+insert into classificacao_campeonato (campeonato_id, piloto_id, pontos, vitorias, corridas)
+select c.championship_codigo_campeonato, pc.pilot_id_piloto,
+       sum(case pc.colocacao when 1 then 25 when 2 then 18 when 3 then 15 when 4 then 12 when 5 then 10
+           when 6 then 8 when 7 then 6 when 8 then 4 when 9 then 2 when 10 then 1 else 0 end),
+       sum(case when pc.colocacao = 1 then 1 else 0 end),
+       count(*)
+from piloto_corrida pc
+join corrida c on c.id_corrida = pc.race_id_corrida
+where pc.pilot_id_piloto is not null
+group by c.championship_codigo_campeonato, pc.pilot_id_piloto;
@@ -0,0 +1,15 @@
+-- Sistemas de pontuação configuráveis: pontos por colocação (lista separada por vírgulas, do 1º em diante) e
+-- bônus por vitória e por corrida concluída. Campeonatos sem sistema usam a pontuação 25-18-15-12-10-8-6-4-2-1.
+create table sistema_pontuacao (
+    id integer generated by default as identity,
+    descricao varchar(255) not null,
+    pontos varchar(500) not null,
+    bonus_vitoria integer not null default 0,
+    bonus_conclusao integer not null default 0,
+    primary key (id)
+);
+
+alter table campeonato add column sistema_pontuacao_id integer;
+alter table campeonato add constraint fk_campeonato_sistema_pontuacao
+    foreign key (sistema_pontuacao_id) references sistema_pontuacao (id);
+create index idx_campeonato_sistema_pontuacao on campeonato (sistema_pontuacao_id);
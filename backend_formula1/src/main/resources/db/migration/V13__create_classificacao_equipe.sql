@@ -0,0 +1,24 @@
+-- Equipe creditada por cada resultado: a do piloto quando o resultado foi gravado. Sem chave estrangeira,
+-- como o histórico arquivado, para a equipe poder ser removida depois que os pilotos saírem dela.
+alter table piloto_corrida add column equipe_id integer;
+
+update piloto_corrida set equipe_id = (select p.team_id_equipe from piloto p where p.id_piloto = piloto_corrida.pilot_id_piloto);
+
+-- Classificação de equipes por campeonato, mantida incrementalmente junto com a dos pilotos
+create table classificacao_equipe (
+    campeonato_id integer not null,
+    equipe_id integer not null,
+    pontos integer not null,
+    vitorias integer not null,
+    resultados integer not null,
+    primary key (campeonato_id, equipe_id),
+    constraint fk_classificacao_equipe_campeonato foreign key (campeonato_id) references campeonato (codigo_campeonato)
+);
+
+-- Carga inicial a partir da classificação dos pilotos, que já usa o sistema de pontuação de cada campeonato;
+-- até aqui todo resultado fica com a equipe atual do piloto
+insert into classificacao_equipe (campeonato_id, equipe_id, pontos, vitorias, resultados)
+select s.campeonato_id, p.team_id_equipe, sum(s.pontos), sum(s.vitorias), sum(s.corridas)
+from classificacao_campeonato s
+join piloto p on p.id_piloto = s.piloto_id
+group by s.campeonato_id, p.team_id_equipe;
@@ -0,0 +1,17 @@
+-- Estatística de carreira por piloto: quantos resultados o piloto tem em cada colocação (0 para resultado sem
+-- colocação). Largadas, vitórias, pódios, melhor colocação e média saem dessas linhas, que só recebem somas e
+-- subtrações. Sem chave estrangeira, como o histórico arquivado, para o piloto poder ser removido.
+create table estatistica_piloto (
+    piloto_id integer not null,
+    colocacao integer not null,
+    resultados integer not null,
+    primary key (piloto_id, colocacao)
+);
+
+-- Carga inicial com os resultados das tabelas; temporadas já arquivadas entram pela reconstrução
+-- (/admin/pilot-stats/rebuild)
+insert into estatistica_piloto (piloto_id, colocacao, resultados)
+select pilot_id_piloto, coalesce(colocacao, 0), count(*)
+from piloto_corrida
+where pilot_id_piloto is not null
+group by pilot_id_piloto, coalesce(colocacao, 0);
@@ -0,0 +1,5 @@
+-- O nome da equipe é único sem diferenciar maiúsculas em qualquer banco: a aplicação grava o nome em minúsculas
+-- nesta coluna e a constraint única fica nela
+alter table equipe add column nome_normalizado varchar(255);
+update equipe set nome_normalizado = lower(nome_equipe);
+alter table equipe add constraint uk_equipe_nome_normalizado unique (nome_normalizado);
@@ -0,0 +1,69 @@
+create table pais (
+    id integer generated by default as identity,
+    name varchar(255),
+    primary key (id),
+    constraint uk_pais_name unique (name)
+);
+
+create table equipe (
+    id_equipe integer generated by default as identity,
+    nome_equipe varchar(255),
+    primary key (id_equipe),
+    constraint uk_equipe_nome unique (nome_equipe)
+);
+
+create table usuario (
+    id_usuario integer generated by default as identity,
+    nome_usuario varchar(255),
+    email_usuario varchar(255),
+    senha_usuario varchar(255),
+    permissoes_usuario varchar(255),
+    primary key (id_usuario),
+    constraint uk_usuario_email unique (email_usuario)
+);
+
+create table campeonato (
+    codigo_campeonato integer generated by default as identity,
+    descricao varchar(255),
+    ano integer,
+    primary key (codigo_campeonato)
+);
+
+create table pista (
+    id_pista integer generated by default as identity,
+    nome_pista varchar(255),
+    tamanho_pista integer,
+    country_id integer,
+    primary key (id_pista),
+    constraint fk_pista_pais foreign key (country_id) references pais (id)
+);
+
+create table piloto (
+    id_piloto integer generated by default as identity,
+    nome_piloto varchar(255),
+    country_id integer not null,
+    team_id_equipe integer not null,
+    primary key (id_piloto),
+    constraint fk_piloto_pais foreign key (country_id) references pais (id),
+    constraint fk_piloto_equipe foreign key (team_id_equipe) references equipe (id_equipe)
+);
+
+create table corrida (
+    id_corrida integer generated by default as identity,
+    data_corrida timestamp(6) with time zone,
+    speedway_id_pista integer not null,
+    championship_codigo_campeonato integer not null,
+    primary key (id_corrida),
+    constraint fk_corrida_pista foreign key (speedway_id_pista) references pista (id_pista),
+    constraint fk_corrida_campeonato foreign key (championship_codigo_campeonato) references campeonato (codigo_campeonato)
+);
+
+create table piloto_corrida (
+    id integer generated by default as identity,
+    colocacao integer,
+    pilot_id_piloto integer,
+    race_id_corrida integer,
+    primary key (id),
+    constraint fk_piloto_corrida_piloto foreign key (pilot_id_piloto) references piloto (id_piloto),
+    constraint fk_piloto_corrida_corrida foreign key (race_id_corrida) references corrida (id_corrida)
+);
@@ -0,0 +1,13 @@
+-- Resultados de uma corrida ordenados por colocação e busca por faixa de colocação
+create index idx_piloto_corrida_race_colocacao on piloto_corrida (race_id_corrida, colocacao);
+-- Histórico de resultados de um piloto
+create index idx_piloto_corrida_pilot on piloto_corrida (pilot_id_piloto);
+-- Corridas de uma pista, já ordenáveis pela data
+create index idx_corrida_speedway_data on corrida (speedway_id_pista, data_corrida);
+-- Corridas de um campeonato
+create index idx_corrida_championship on corrida (championship_codigo_campeonato);
+-- Pistas de um país ordenadas pelo tamanho
+create index idx_pista_country_tamanho on pista (country_id, tamanho_pista);
+-- Pilotos por país e por equipe
+create index idx_piloto_country on piloto (country_id);
+create index idx_piloto_team on piloto (team_id_equipe);
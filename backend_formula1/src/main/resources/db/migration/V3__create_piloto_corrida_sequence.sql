@@ -0,0 +1,3 @@
+-- Ids de piloto_corrida passam a vir de uma sequence com incremento 50 (otimizador pooled do Hibernate),
+-- permitindo que os inserts de um grid inteiro sejam enviados em lote via JDBC batch.
+create sequence piloto_corrida_seq start with 1 increment by 50;
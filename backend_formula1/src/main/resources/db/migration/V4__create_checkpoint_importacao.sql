@@ -0,0 +1,8 @@
+-- Posição da última transação confirmada de cada arquivo importado, gravada na mesma transação do lote
+create table checkpoint_importacao (
+    arquivo varchar(1000),
+    posicao bigint,
+    linha bigint,
+    concluido boolean,
+    primary key (arquivo)
+);
@@ -0,0 +1,6 @@
+-- Versão para bloqueio otimista: cada update condicional incrementa e confere a coluna
+alter table piloto add column versao integer default 0 not null;
+alter table corrida add column versao integer default 0 not null;
+alter table equipe add column versao integer default 0 not null;
+alter table usuario add column versao integer default 0 not null;
+alter table piloto_corrida add column versao integer default 0 not null;
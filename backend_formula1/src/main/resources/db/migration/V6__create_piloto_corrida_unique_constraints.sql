@@ -0,0 +1,3 @@
+-- Um piloto aparece uma vez por corrida e cada colocação de uma corrida pertence a um único piloto
+alter table piloto_corrida add constraint uk_piloto_corrida_piloto unique (pilot_id_piloto, race_id_corrida);
+alter table piloto_corrida add constraint uk_piloto_corrida_colocacao unique (race_id_corrida, colocacao);
@@ -0,0 +1,2 @@
+-- Calendário: corridas por faixa de datas; idx_corrida_speedway_data começa pela pista e não atende
+create index idx_corrida_data on corrida (data_corrida);
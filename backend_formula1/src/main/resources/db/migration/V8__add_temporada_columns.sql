@@ -0,0 +1,8 @@
+-- Ano do campeonato em corrida e piloto_corrida: chave do particionamento opcional do PostgreSQL
+-- (db/partitioning) e filtro das consultas por temporada, que assim leem só a partição do ano
+alter table corrida add column temporada integer;
+alter table piloto_corrida add column temporada integer;
+update corrida set temporada = (select ano from campeonato where codigo_campeonato = corrida.championship_codigo_campeonato);
+update piloto_corrida set temporada = (select temporada from corrida where id_corrida = piloto_corrida.race_id_corrida);
+alter table corrida alter column temporada set not null;
+alter table piloto_corrida alter column temporada set not null;
@@ -0,0 +1,12 @@
+-- Log só de inserção das alterações feitas pela camada de serviço, lido pelo /sync dos clientes offline.
+-- A revisão vem de uma sequence com incremento 50 (otimizador pooled), para que os registros de uma
+-- importação sejam gravados em lote; só a ordem importa, buracos na numeração são esperados.
+create sequence registro_alteracao_seq start with 1 increment by 50;
+
+create table registro_alteracao (
+    revisao bigint not null,
+    entidade varchar(20) not null,
+    entidade_id integer not null,
+    operacao varchar(10) not null,
+    primary key (revisao)
+);
@@ -0,0 +1,71 @@
+-- Particionamento declarativo de corrida e piloto_corrida pela temporada (PostgreSQL 12+). Opcional: só roda
+-- com classpath:db/partitioning/{vendor} em spring.flyway.locations; bases que já passaram da V8 sem esta
+-- location precisam de spring.flyway.out-of-order=true na primeira execução.
+-- A chave de partição precisa fazer parte de toda chave primária e única, por isso as constraints ganham a
+-- temporada; como a temporada é derivada da corrida, as regras continuam as mesmas da V6.
+-- Trocar uma corrida de temporada move a linha entre partições; com a chave estrangeira em cascata isso exige
+-- PostgreSQL 15+ (versões anteriores recusam a movimentação de linhas referenciadas).
+alter table piloto_corrida drop constraint fk_piloto_corrida_corrida;
+
+alter table corrida rename to corrida_legado;
+alter table piloto_corrida rename to piloto_corrida_legado;
+
+create table corrida (
+    id_corrida integer generated by default as identity,
+    data_corrida timestamp(6) with time zone,
+    speedway_id_pista integer not null,
+    championship_codigo_campeonato integer not null,
+    versao integer not null default 0,
+    temporada integer not null
+) partition by list (temporada);
+
+create table piloto_corrida (
+    id integer not null,
+    colocacao integer,
+    pilot_id_piloto integer,
+    race_id_corrida integer,
+    versao integer not null default 0,
+    temporada integer not null
+) partition by list (temporada);
+
+-- Uma partição por temporada já existente; temporadas novas caem na default até serem criadas pela
+-- administração (/admin/partitions)
+do $$
+declare
+    ano integer;
+begin
+    for ano in select distinct temporada from corrida_legado order by temporada loop
+        execute format('create table corrida_%s partition of corrida for values in (%s)', ano, ano);
+        execute format('create table piloto_corrida_%s partition of piloto_corrida for values in (%s)', ano, ano);
+    end loop;
+end $$;
+
+create table corrida_default partition of corrida default;
+create table piloto_corrida_default partition of piloto_corrida default;
+
+insert into corrida (id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, versao, temporada)
+    select id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, versao, temporada from corrida_legado;
+insert into piloto_corrida (id, colocacao, pilot_id_piloto, race_id_corrida, versao, temporada)
+    select id, colocacao, pilot_id_piloto, race_id_corrida, versao, temporada from piloto_corrida_legado;
+
+drop table piloto_corrida_legado;
+drop table corrida_legado;
+
+alter table corrida add constraint corrida_pkey primary key (id_corrida, temporada);
+alter table corrida add constraint fk_corrida_pista foreign key (speedway_id_pista) references pista (id_pista);
+alter table corrida add constraint fk_corrida_campeonato
+    foreign key (championship_codigo_campeonato) references campeonato (codigo_campeonato);
+
+alter table piloto_corrida add constraint piloto_corrida_pkey primary key (id, temporada);
+alter table piloto_corrida add constraint fk_piloto_corrida_piloto foreign key (pilot_id_piloto) references piloto (id_piloto);
+alter table piloto_corrida add constraint fk_piloto_corrida_corrida foreign key (race_id_corrida, temporada)
+    references corrida (id_corrida, temporada) on update cascade;
+alter table piloto_corrida add constraint uk_piloto_corrida_piloto unique (pilot_id_piloto, race_id_corrida, temporada);
+alter table piloto_corrida add constraint uk_piloto_corrida_colocacao unique (race_id_corrida, colocacao, temporada);
+
+create index idx_corrida_speedway_data on corrida (speedway_id_pista, data_corrida);
+create index idx_corrida_championship on corrida (championship_codigo_campeonato);
+create index idx_corrida_data on corrida (data_corrida);
+
+-- A identity recriada começa do 1; os ids copiados continuam valendo
+select setval(pg_get_serial_sequence('corrida', 'id_corrida'), (select coalesce(max(id_corrida), 0) + 1 from corrida), false);
@@ -0,0 +1,113 @@
+package br.com.trier.springvespertino.config;
+
+import br.com.trier.springvespertino.config.datasource.ReadWriteRoutingDataSource;
+import br.com.trier.springvespertino.config.datasource.ReplicaLagMonitor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private static DataSource primary;
+    private static DataSource replica;
+
+    private static DataSource h2(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1".formatted(name));
+        dataSource.setUser("sa");
+        new JdbcTemplate(dataSource).execute("create table if not exists origem as select '%s' nome".formatted(name));
+        return dataSource;
+    }
+
+    @BeforeAll
+    static void setUp() {
+        primary = h2("primario");
+        replica = h2("replica");
+    }
+
+    private static ReplicaLagMonitor monitor(DataSource replica, String lagQuery) {
+        var monitor = new ReplicaLagMonitor(replica, lagQuery, Duration.ofSeconds(5), Duration.ofMinutes(1),
+                Duration.ofSeconds(1));
+        monitor.check();
+        return monitor;
+    }
+
+    private String origin(String lagQuery, boolean readOnly) {
+        return origin(replica, monitor(replica, lagQuery), readOnly);
+    }
+
+    private String origin(DataSource replica, ReplicaLagMonitor monitor, boolean readOnly) {
+        var dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor));
+        var transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        var jdbc = new JdbcTemplate(dataSource);
+        return transaction.execute(status -> jdbc.queryForObject("select nome from origem", String.class));
+    }
+
+    @Test
+    @DisplayName("Teste transação somente leitura vai para a réplica")
+    void testReadOnlyGoesToReplica() {
+        assertEquals("replica", origin("select 0", true));
+    }
+
+    @Test
+    @DisplayName("Teste transação de escrita e consulta sem transação vão para o primário")
+    void testReadWriteGoesToPrimary() {
+        assertEquals("primario", origin("select 0", false));
+        var monitor = monitor(replica, "select 0");
+        var jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor)));
+        assertEquals("primario", jdbc.queryForObject("select nome from origem", String.class));
+    }
+
+    @Test
+    @DisplayName("Teste réplica atrasada além da tolerância volta para o primário")
+    void testLaggingReplicaFallsBackToPrimary() {
+        assertEquals("replica", origin("select 4.5", true));
+        assertEquals("primario", origin("select 60", true));
+    }
+
+    @Test
+    @DisplayName("Teste réplica com falha na checagem volta para o primário")
+    void testFailingReplicaFallsBackToPrimary() {
+        assertEquals("primario", origin("select atraso from tabela_inexistente", true));
+    }
+
+    @Test
+    @DisplayName("Teste réplica sem checagem ou que recusa conexão entre checagens volta para o primário")
+    void testReplicaRefusingConnectionFallsBackToPrimary() {
+        var unchecked = new ReplicaLagMonitor(replica, "select 0", Duration.ofSeconds(5), Duration.ofMinutes(1),
+                Duration.ofSeconds(1));
+        assertEquals("primario", origin(replica, unchecked, true));
+
+        var down = new AtomicBoolean();
+        DataSource flaky = new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (down.get()) {
+                    throw new SQLException("Conexão recusada");
+                }
+                return super.getConnection();
+            }
+        };
+        var monitor = monitor(flaky, "select 0");
+        assertEquals("replica", origin(flaky, monitor, true));
+        down.set(true);
+        assertEquals("primario", origin(flaky, monitor, true));
+        assertFalse(monitor.isUsable());
+    }
+
+}
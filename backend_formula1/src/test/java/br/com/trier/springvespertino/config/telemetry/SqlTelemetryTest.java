@@ -0,0 +1,81 @@
+package br.com.trier.springvespertino.config.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+import br.com.trier.springvespertino.repositories.TeamRepository;
+
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SqlTelemetryTest extends BaseTest {
+
+	@Autowired
+	private SqlTelemetry telemetry;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Test
+	@DisplayName("Teste normalizar assinatura removendo literais e colapsando listas IN")
+	void testSignature() {
+		assertEquals("select * from equipe where id_equipe in (?...) and nome_equipe = ? and x = ?",
+				SqlTelemetry.signature("select *\n  from equipe where id_equipe in (?, ?,?) and nome_equipe = 'O''Brien' and x = 12.5"));
+		assertEquals("select p1_0.id_piloto from piloto p1_0 where p1_0.id_piloto=?",
+				SqlTelemetry.signature("select p1_0.id_piloto from piloto p1_0 where p1_0.id_piloto=?"));
+	}
+
+	@Test
+	@DisplayName("Teste mascarar parâmetros de comandos sobre usuários")
+	void testDescribeSensitive() {
+		assertEquals(List.of("Ferrari", "3"),
+				SqlTelemetry.describe("update equipe set nome_equipe = ? where id_equipe = ?", List.of("Ferrari", 3)));
+		assertEquals(List.of("<String(6)>", "<String(7)>", "<Integer(1)>"),
+				SqlTelemetry.describe("update usuario set email_usuario = ?, senha_usuario = ? where id_usuario = ?",
+						List.of("a@b.co", "segredo", 1)));
+	}
+
+	@Test
+	@DisplayName("Teste registrar latência por assinatura com o método de repositório")
+	@Sql({"classpath:/sqls/equipe.sql"})
+	void testRecordRepositoryCall() {
+		telemetry.reset();
+		teamRepository.findByNameIgnoreCase("ferrari");
+		teamRepository.findByNameIgnoreCase("red bull");
+		List<SlowQueryDTO> report = telemetry.top(100);
+		SlowQueryDTO query = report.stream()
+				.filter(dto -> "TeamRepository.findByNameIgnoreCase".equals(dto.getLastCaller()))
+				.findFirst()
+				.orElseThrow();
+		assertEquals(2, query.getCalls());
+		assertEquals(2, query.getHistogram().values().stream().mapToLong(Long::longValue).sum());
+		assertTrue(query.getSignature().contains("from equipe"));
+	}
+
+	@Test
+	@DisplayName("Teste limitar relatório e agrupar assinaturas excedentes")
+	void testTopAndOverflow() {
+		SqlTelemetry local = new SqlTelemetry(Duration.ofSeconds(1), 0, 2);
+		local.record("select 1 from equipe where id_equipe = ?", 3_000_000, List.of(), 0);
+		local.record("select 1 from equipe where id_equipe = ?", 4_000_000, List.of(), 0);
+		local.record("select 1 from pais", 30_000_000, List.of(), 0);
+		local.record("select 1 from piloto", 1_000_000, List.of(), 0);
+		List<SlowQueryDTO> report = local.top(10);
+		assertEquals(3, report.size());
+		assertEquals("select ? from pais", report.get(0).getSignature());
+		assertEquals("select ? from equipe where id_equipe = ?", report.get(1).getSignature());
+		assertEquals(2, report.get(1).getCalls());
+		assertEquals(5L, report.get(1).getP50Millis());
+		assertEquals(SqlTelemetry.OTHERS, report.get(2).getSignature());
+		assertEquals(1, local.top(1).size());
+	}
+
+}
@@ -0,0 +1,74 @@
+package br.com.trier.springvespertino.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.config.telemetry.SqlTelemetry;
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+import jakarta.transaction.Transactional;
+
+@Transactional
+@AutoConfigureGraphQlTester
+public class GraphQlResourceTest extends BaseTest {
+
+	@Autowired
+	private GraphQlTester tester;
+
+	@Autowired
+	private SqlTelemetry telemetry;
+
+	@Test
+	@DisplayName("Teste resolver campeonatos, corridas e resultados com uma consulta por tipo e nível")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+	void testBatchedQuery() {
+		telemetry.reset();
+		var response = tester.document("""
+				{
+				  championships { id races { id } }
+				  races(ids: [3, 4]) { id speedway { name } results { placement pilot { name team { name } } } }
+				}""")
+				.execute();
+		response.path("championships[*].id").entityList(Integer.class).containsExactly(3, 4);
+		response.path("championships[1].races[0].id").entity(Integer.class).isEqualTo(4);
+		response.path("races[0].speedway.name").entity(String.class).isEqualTo("Pista Curta");
+		response.path("races[0].results[0].pilot.name").entity(String.class).isEqualTo("Leonardo");
+		response.path("races[1].results[0].pilot.team.name").entity(String.class).isEqualTo("Red Bull");
+		// campeonatos, corridas dos campeonatos, corridas por id e resultados das corridas
+		assertTrue(telemetry.top(100).stream().mapToLong(SlowQueryDTO::getCalls).sum() <= 4);
+	}
+
+	@Test
+	@DisplayName("Teste erro de corrida inexistente")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+	void testNotFound() {
+		tester.document("{ race(id: 10) { id } }")
+				.execute()
+				.errors()
+				.satisfy(errors -> {
+					assertEquals(1, errors.size());
+					assertEquals("Corrida 10 não existe", errors.get(0).getMessage());
+				});
+	}
+
+	@Test
+	@DisplayName("Teste recusar consulta acima do limite de complexidade")
+	void testComplexityLimit() {
+		tester.document("""
+				{ championships { races { results { pilot { name team { name } country { name } } } } } }""")
+				.execute()
+				.errors()
+				.satisfy(errors -> {
+					assertEquals(1, errors.size());
+					assertTrue(errors.get(0).getMessage().contains("complexity"));
+				});
+	}
+
+}
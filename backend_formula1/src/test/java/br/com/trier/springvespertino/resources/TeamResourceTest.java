@@ -0,0 +1,112 @@
+package br.com.trier.springvespertino.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import br.com.trier.springvespertino.SpringVespertinoApplication;
+import br.com.trier.springvespertino.config.jwt.LoginDTO;
+import br.com.trier.springvespertino.models.dto.TeamDTO;
+import jakarta.persistence.EntityManagerFactory;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = SpringVespertinoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:pooldb;DB_CLOSE_ON_EXIT=FALSE")
+@Import(TeamResourceTest.SerializationProbe.class)
+@Sql(scripts = { "classpath:/sqls/usuario.sql", "classpath:/sqls/equipe.sql" })
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class TeamResourceTest {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	/**
+	 * Registra, no momento em que o corpo da resposta vai ser escrito, se a thread ainda tem um
+	 * EntityManager ou uma conexão do pool presos a ela.
+	 */
+	@TestConfiguration
+	@ControllerAdvice
+	static class SerializationProbe implements ResponseBodyAdvice<Object> {
+
+		static volatile boolean written;
+		static volatile boolean entityManagerBound;
+		static volatile boolean connectionBound;
+
+		@Autowired
+		private EntityManagerFactory entityManagerFactory;
+
+		@Autowired
+		private DataSource dataSource;
+
+		@Override
+		public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+			return returnType.getContainingClass() == TeamResource.class;
+		}
+
+		@Override
+		public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+				Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+				ServerHttpResponse response) {
+			written = true;
+			entityManagerBound = TransactionSynchronizationManager.hasResource(entityManagerFactory);
+			connectionBound = TransactionSynchronizationManager.hasResource(dataSource);
+			return body;
+		}
+
+	}
+
+	private HttpHeaders getHeaders(String email, String password) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		String token = rest.exchange("/auth/token", HttpMethod.POST,
+				new HttpEntity<>(new LoginDTO(email, password), headers), String.class).getBody();
+		headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		headers.setBearerAuth(token);
+		return headers;
+	}
+
+	@Test
+	@DisplayName("Resposta é serializada sem EntityManager nem conexão presos à requisição")
+	void listAllSerializesWithoutConnectionTest() {
+		HttpEntity<Void> entity = new HttpEntity<>(getHeaders("email1", "senha1"));
+		SerializationProbe.written = false;
+		ResponseEntity<List<TeamDTO>> response = rest.exchange("/teams", HttpMethod.GET, entity,
+				new ParameterizedTypeReference<List<TeamDTO>>() {});
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(2, response.getBody().size());
+		assertTrue(SerializationProbe.written);
+		assertFalse(SerializationProbe.entityManagerBound);
+		assertFalse(SerializationProbe.connectionBound);
+	}
+
+}
@@ -2,6 +2,7 @@ package br.com.trier.springvespertino.services;
 
 import br.com.trier.springvespertino.BaseTest;
 import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Race;
 import br.com.trier.springvespertino.repositories.ChampionshipRepository;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import jakarta.transaction.Transactional;
@@ -21,6 +22,12 @@ public class ChampionshipServiceImplTest extends BaseTest {
     @Autowired
     private ChampionshipService service;
 
+    @Autowired
+    private RaceService raceService;
+
+    @Autowired
+    private PilotRaceService pilotRaceService;
+
     @Test
     @DisplayName("Teste buscar campeonato por ID")
     @Sql({"classpath:/sqls/campeonato.sql"})
@@ -105,6 +112,19 @@ public class ChampionshipServiceImplTest extends BaseTest {
     }
 
 
+    @Test
+    @DisplayName("Teste alterar ano do campeonato leva a temporada das corridas e resultados junto")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+    void testUpdateYearMovesSeason() {
+        service.update(new Championship(3, "Mundial", 2021));
+        var corridas = raceService.findByChampionship(new Championship(3, "Mundial", 2021));
+        assertEquals(List.of(3), corridas.stream().map(Race::getId).toList());
+        assertEquals(2021, corridas.get(0).getSeason());
+        var resultados = pilotRaceService.findByRaceOrderByPlacementAsc(corridas.get(0));
+        assertEquals(1, resultados.size());
+        assertEquals(2021, resultados.get(0).getSeason());
+    }
+
     @Test
     @DisplayName("Teste remover campeonato")
     @Sql({"classpath:/sqls/campeonato.sql"})
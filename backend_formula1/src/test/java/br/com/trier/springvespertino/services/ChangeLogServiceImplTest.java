@@ -0,0 +1,90 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.ChangeOperation;
+import br.com.trier.springvespertino.models.ChangeType;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.models.dto.TeamDTO;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+
+// Sem @Transactional: as alterações só aparecem no /sync depois do commit
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:syncdb;DB_CLOSE_ON_EXIT=FALSE")
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ChangeLogServiceImplTest extends BaseTest {
+
+	@Autowired
+	private ChangeLogService service;
+
+	@Autowired
+	private CountryService countryService;
+
+	@Autowired
+	private TeamService teamService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	@DisplayName("Teste sincronizar só a última alteração de cada entidade")
+	void testSync() {
+		Long since = service.sync(0L, null).getRevision();
+		Country country = countryService.salvar(new Country(null, "Brasil"));
+		Team team = teamService.salvar(new Team(null, "Ferrari"));
+		teamService.update(new Team(team.getId(), "Scuderia Ferrari"));
+		countryService.delete(country.getId());
+
+		var sync = service.sync(since, null);
+		assertFalse(sync.getHasMore());
+		assertEquals(2, sync.getChanges().size());
+		var equipe = sync.getChanges().get(0);
+		assertEquals(ChangeType.TEAM, equipe.getType());
+		assertEquals(ChangeOperation.UPSERT, equipe.getOperation());
+		assertEquals("Scuderia Ferrari", ((TeamDTO) equipe.getData()).getName());
+		var pais = sync.getChanges().get(1);
+		assertEquals(ChangeType.COUNTRY, pais.getType());
+		assertEquals(ChangeOperation.DELETE, pais.getOperation());
+		assertNull(pais.getData());
+		assertEquals(pais.getRevision(), sync.getRevision());
+
+		var vazio = service.sync(sync.getRevision(), null);
+		assertTrue(vazio.getChanges().isEmpty());
+		assertEquals(sync.getRevision(), vazio.getRevision());
+
+		// O upsert de um país já excluído é omitido, mas a revisão avança
+		var pagina = service.sync(since, 1);
+		assertTrue(pagina.getHasMore());
+		assertTrue(pagina.getChanges().isEmpty());
+		assertTrue(pagina.getRevision() > since);
+
+		var exception = assertThrows(IntegrityViolation.class, () -> service.sync(-1L, null));
+		assertEquals("Revisão inválida: -1", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Teste não avançar sobre transação ainda aberta")
+	void testInFlight() {
+		Long since = service.sync(0L, null).getRevision();
+		transactionTemplate.executeWithoutResult(status -> {
+			teamService.salvar(new Team(null, "Williams"));
+			assertTrue(service.sync(since, null).getChanges().isEmpty());
+		});
+		var sync = service.sync(since, null);
+		assertEquals(1, sync.getChanges().size());
+		assertEquals(ChangeType.TEAM, sync.getChanges().get(0).getType());
+	}
+
+}
@@ -0,0 +1,71 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+// Sem @Transactional: a matriz só é atualizada depois do commit
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:h2hdb;DB_CLOSE_ON_EXIT=FALSE")
+@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+@Sql(statements = {
+		"INSERT INTO piloto(id_piloto, nome_piloto, country_id, team_id_equipe) VALUES(5, 'Ayrton', 3, 3)",
+		"INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, temporada) VALUES(5, '2022-08-18', 4, 3, 2022)"})
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class HeadToHeadServiceImplTest extends BaseTest {
+
+	@Autowired
+	private HeadToHeadService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	private static PilotRace result(Integer placement, Integer pilotId, Integer raceId) {
+		return new PilotRace(null, placement, new Pilot(pilotId, null, null, null), new Race(raceId, null, null, null));
+	}
+
+	@Test
+	@DisplayName("Teste montar matriz de confronto direto e atualizar só as corridas alteradas")
+	void testMatrix() {
+		pilotRaceService.insertAll(List.of(result(1, 3, 3), result(2, 4, 3), result(3, 5, 3)));
+		var segundo = pilotRaceService.insert(result(1, 4, 5));
+		pilotRaceService.insert(result(2, 3, 5));
+
+		var matriz = service.findByChampionship(3);
+		assertEquals(List.of(3, 4, 5), matriz.getPilotIds());
+		assertEquals(List.of("Leonardo", "Clavison", "Ayrton"), matriz.getPilotNames());
+		assertEquals(List.of(List.of(0, 1, 1), List.of(1, 0, 1), List.of(0, 0, 0)), matriz.getAhead());
+
+		pilotRaceService.delete(segundo.getId());
+		pilotRaceService.insert(result(1, 5, 5));
+		assertEquals(List.of(List.of(0, 1, 1), List.of(0, 0, 1), List.of(1, 0, 0)),
+				service.findByChampionship(3).getAhead());
+
+		var confronto = service.findPair(3, 5, 3);
+		assertEquals(1, confronto.getAhead());
+		assertEquals(1, confronto.getBehind());
+	}
+
+	@Test
+	@DisplayName("Teste confronto direto sem resultados")
+	void testNotFound() {
+		var exception = assertThrows(ObjectNotFound.class, () -> service.findByChampionship(4));
+		assertEquals("Nenhum resultado para o campeonato 4", exception.getMessage());
+		pilotRaceService.insert(result(1, 3, 4));
+		exception = assertThrows(ObjectNotFound.class, () -> service.findPair(4, 3, 4));
+		assertEquals("Piloto 4 não tem resultados no campeonato 4", exception.getMessage());
+	}
+
+}
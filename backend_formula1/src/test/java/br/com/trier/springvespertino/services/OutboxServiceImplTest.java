@@ -0,0 +1,111 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.config.outbox.FileOutboxSink;
+import br.com.trier.springvespertino.config.outbox.MemoryOutboxSink;
+import br.com.trier.springvespertino.models.OutboxEventType;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.OutboxEventDTO;
+
+// Sem @Transactional: o outbox depende do commit da transação de cada escrita
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:outboxdb;DB_CLOSE_ON_EXIT=FALSE")
+@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OutboxServiceImplTest extends BaseTest {
+
+	@Autowired
+	private OutboxService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private MemoryOutboxSink sink;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@TempDir
+	Path dir;
+
+	@BeforeEach
+	void clearSink() {
+		sink.clear();
+	}
+
+	@Test
+	@DisplayName("Teste entregar eventos de resultados confirmados e apagar do outbox")
+	void testRelay() {
+		var resultado = pilotRaceService.insert(new PilotRace(null, 2, new Pilot(4, null, null, null),
+				new Race(3, null, null, null)));
+		pilotRaceService.update(new PilotRace(resultado.getId(), 3, new Pilot(4, null, null, null),
+				new Race(3, null, null, null)));
+
+		assertEquals(2, service.relay());
+		List<OutboxEventDTO> events = sink.events();
+		assertEquals(2, events.size());
+		assertTrue(events.stream().allMatch(event -> event.getType() == OutboxEventType.RESULT_SAVED
+				&& event.getAggregateId().equals(resultado.getId())));
+		assertTrue(events.get(0).getId() < events.get(1).getId());
+		assertTrue(events.get(1).getPayload().contains("\"placement\":3"));
+		// A alteração publica a linha gravada: versão nova e nome do piloto
+		assertTrue(events.get(1).getPayload().contains("\"version\":1"));
+		assertTrue(events.get(1).getPayload().contains("\"namePilot\":\"Clavison\""));
+		assertEquals(0, service.relay());
+	}
+
+	@Test
+	@DisplayName("Teste não gerar evento de transação desfeita nem fora de transação")
+	void testRollback() {
+		transactionTemplate.executeWithoutResult(status -> {
+			pilotRaceService.insert(new PilotRace(null, 2, new Pilot(4, null, null, null), new Race(3, null, null, null)));
+			status.setRollbackOnly();
+		});
+		assertEquals(0, service.relay());
+		assertTrue(sink.events().isEmpty());
+		assertThrows(IllegalTransactionStateException.class,
+				() -> service.publish(OutboxEventType.RESULT_DELETED, 1, null));
+	}
+
+	@Test
+	@DisplayName("Teste acrescentar eventos ao arquivo, um JSON por linha")
+	void testFileSink() throws IOException {
+		Path file = dir.resolve("outbox").resolve("eventos.jsonl");
+		FileOutboxSink fileSink = new FileOutboxSink(file, objectMapper);
+		var event = new OutboxEventDTO(1L, OutboxEventType.RACE_DELETED, 3, "{\"id\":3}", "2023-07-18T00:00:00Z");
+		fileSink.publish(List.of(event));
+		fileSink.publish(List.of(event));
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(2, lines.size());
+		assertEquals(lines.get(0), lines.get(1));
+		assertTrue(lines.get(0).contains("\"payload\":{\"id\":3}"));
+		assertEquals(3, objectMapper.readTree(lines.get(0)).get("payload").get("id").asInt());
+	}
+
+}
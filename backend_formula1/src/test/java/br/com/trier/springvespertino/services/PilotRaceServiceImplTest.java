@@ -4,6 +4,7 @@ import br.com.trier.springvespertino.BaseTest;
 import br.com.trier.springvespertino.models.*;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -48,13 +49,72 @@ public class PilotRaceServiceImplTest extends BaseTest {
     void testInsert() {
         var pilotoCorrida = new PilotRace(null, 3,
                 new Pilot(3, "Leonardo", new Country(3,"Brasil"), new Team(3, "Ferrari")),
-                new Race(3, ZonedDateTime.now(),new Speedway(3,"Pista Curta",10, new Country(3, "Brasil")),new Championship(3, "Mundial", 2023)));
-        service.insert(pilotoCorrida);
-        pilotoCorrida = service.findById(1);
-        assertEquals(1, pilotoCorrida.getId());
+                new Race(4, ZonedDateTime.now(),new Speedway(4,"Pista Longa",20, new Country(4, "Japão")),new Championship(4, "Mundial", 2024)));
+        var salvo = service.insert(pilotoCorrida);
+        pilotoCorrida = service.findById(salvo.getId());
+        assertEquals(salvo.getId(), pilotoCorrida.getId());
         assertEquals("Leonardo", pilotoCorrida.getPilot().getName());
     }
 
+    @Test
+    @DisplayName("Teste salvar piloto_corrida com piloto ou colocação já cadastrados na corrida")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+    void testInsertDuplicated() {
+        var corrida = new Race(3, ZonedDateTime.now(),new Speedway(3,"Pista Curta",10, new Country(3, "Brasil")),new Championship(3, "Mundial", 2023));
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.insert(new PilotRace(null, 2,
+                        new Pilot(3, "Leonardo", new Country(3,"Brasil"), new Team(3, "Ferrari")), corrida)));
+        assertEquals("Piloto 3 já cadastrado na corrida 3!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste alterar piloto_corrida para colocação já ocupada")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+    void testUpdateDuplicated() {
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.update(new PilotRace(4, 1,
+                        new Pilot(4, "Clavison", new Country(4,"Japão"), new Team(4, "Red Bull")),
+                        new Race(3, ZonedDateTime.now(),new Speedway(3,"Pista Curta",10, new Country(3, "Brasil")),new Championship(3, "Mundial", 2023)))));
+        assertEquals("Colocacao 1 já ocupada na corrida 3!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste salvar grid de pilotos_corridas em lote")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+    void testInsertAll() {
+        var corrida = new Race(3, ZonedDateTime.now(),new Speedway(3,"Pista Curta",10, new Country(3, "Brasil")),new Championship(3, "Mundial", 2023));
+        var grid = List.of(
+                new PilotRace(null, 1, new Pilot(3, "Leonardo", new Country(3,"Brasil"), new Team(3, "Ferrari")), corrida),
+                new PilotRace(null, 2, new Pilot(4, "Clavison", new Country(4,"Japão"), new Team(4, "Red Bull")), corrida));
+        var salvos = service.insertAll(grid);
+        assertEquals(2, salvos.size());
+        assertTrue(salvos.stream().allMatch(pilotoCorrida -> pilotoCorrida.getId() != null));
+        var resultado = service.findByRaceOrderByPlacementAsc(corrida);
+        assertEquals(2, resultado.size());
+        assertEquals("Leonardo", resultado.get(0).getPilot().getName());
+    }
+
+    @Test
+    @DisplayName("Teste salvar grid em lote com piloto ou colocação repetidos")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+    void testInsertAllException() {
+        var corrida = new Race(3, ZonedDateTime.now(),new Speedway(3,"Pista Curta",10, new Country(3, "Brasil")),new Championship(3, "Mundial", 2023));
+        var leonardo = new Pilot(3, "Leonardo", new Country(3,"Brasil"), new Team(3, "Ferrari"));
+        var clavison = new Pilot(4, "Clavison", new Country(4,"Japão"), new Team(4, "Red Bull"));
+
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.insertAll(List.of(
+                        new PilotRace(null, 1, leonardo, corrida),
+                        new PilotRace(null, 2, leonardo, corrida))));
+        assertEquals("Piloto 3 repetido na corrida 3!", exception.getMessage());
+
+        exception = assertThrows(
+                IntegrityViolation.class, () -> service.insertAll(List.of(
+                        new PilotRace(null, 1, leonardo, corrida),
+                        new PilotRace(null, 1, clavison, corrida))));
+        assertEquals("Colocacao 1 repetida na corrida 3!", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Teste salvar piloto_corrida com valor da posicao nulo e zero ")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
@@ -114,6 +174,24 @@ public class PilotRaceServiceImplTest extends BaseTest {
         assertNotEquals(posicaoAntesAlterar, pilotoCorridaAlterado.getPlacement());
     }
 
+    @Test
+    @DisplayName("Teste alterar piloto_corrida com versão desatualizada ou inexistente")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+    void testUpdateVersionConflict() {
+        var pilotoCorridaAlterado = service.update(new PilotRace(3, 2, new Pilot(4, null, null, null),
+                new Race(3, null, null, null), 0));
+        assertEquals(1, pilotoCorridaAlterado.getVersion());
+        assertEquals("Clavison", pilotoCorridaAlterado.getPilot().getName());
+        assertEquals(4, pilotoCorridaAlterado.getTeamId());
+
+        var exception = assertThrows(VersionConflict.class, () -> service.update(new PilotRace(3, 3,
+                new Pilot(4, null, null, null), new Race(3, null, null, null), 0)));
+        assertEquals("PilotoCorrida 3 foi alterado por outra requisição (versão 0 desatualizada)", exception.getMessage());
+        var notFound = assertThrows(ObjectNotFound.class, () -> service.update(new PilotRace(10, 3,
+                new Pilot(4, null, null, null), new Race(3, null, null, null))));
+        assertEquals("ID 10 inválido!", notFound.getMessage());
+    }
+
     @Test
     @DisplayName("Teste remover piloto")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
@@ -5,7 +5,10 @@ import br.com.trier.springvespertino.models.Country;
 import br.com.trier.springvespertino.models.Pilot;
 import br.com.trier.springvespertino.models.Team;
 import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.exceptions.VersionConflict;
+import br.com.trier.springvespertino.utils.BatchUtils;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +38,30 @@ public class PilotServiceImplTest extends BaseTest {
         assertEquals("Leonardo", piloto.getName());
     }
 
+    @Test
+    @DisplayName("Teste buscar pilotos em lote na ordem pedida e com ids inexistentes")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql"})
+    void testFindAllById() {
+        var ids = List.of(4, 10, 3, 4, 10);
+        var lote = BatchUtils.toBatch(ids, service.findAllById(ids), Pilot::getId, Pilot::toDTO);
+        assertEquals(5, lote.getResults().size());
+        assertEquals("Clavison", lote.getResults().get(0).getName());
+        assertNull(lote.getResults().get(1));
+        assertEquals("Leonardo", lote.getResults().get(2).getName());
+        assertEquals(4, lote.getResults().get(3).getId());
+        assertNull(lote.getResults().get(4));
+        assertEquals(List.of(10), lote.getMissing());
+    }
+
+    @Test
+    @DisplayName("Teste buscar pilotos em lote acima do limite")
+    void testFindAllByIdOverLimit() {
+        var ids = IntStream.rangeClosed(1, BatchUtils.MAX_IDS + 1).boxed().toList();
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.findAllById(ids));
+        assertEquals("Máximo de 100 ids por consulta: 101 informados", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Teste buscar piloto por ID inexistente")
     @Sql({"classpath:/sqls/pais.sql", "classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql"})
@@ -100,6 +128,22 @@ public class PilotServiceImplTest extends BaseTest {
         verify(repositoryMock, times(0)).save(piloto);
     }
 
+    @Test
+    @DisplayName("Teste alterar piloto com versão desatualizada")
+    @Sql({"classpath:/sqls/pais.sql", "classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql"})
+    void testUpdateVersionConflict() {
+        var piloto = new Pilot(3, "Leonardo", new Country(3, "Brasil"), new Team(4, "Red Bull"), 0);
+        var pilotoAlterado = service.update(piloto);
+        assertEquals(1, pilotoAlterado.getVersion());
+
+        var desatualizado = new Pilot(3, "Leo", new Country(3, "Brasil"), new Team(4, "Red Bull"), 0);
+        var exception = assertThrows(
+                VersionConflict.class, () -> service.update(desatualizado));
+        assertEquals("Piloto 3 foi alterado por outra requisição (versão 0 desatualizada)", exception.getMessage());
+        assertEquals("Leonardo", service.findById(3).getName());
+        assertEquals(1, service.findById(3).getVersion());
+    }
+
     @Test
     @DisplayName("Teste remover piloto")
     @Sql({"classpath:/sqls/pais.sql", "classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql"})
@@ -0,0 +1,93 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.config.telemetry.SqlTelemetry;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+@Transactional
+public class PilotStatsServiceImplTest extends BaseTest {
+
+	@Autowired
+	private PilotStatsService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private SqlTelemetry telemetry;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private static PilotRace result(Integer id, Integer placement, Integer pilotId, Integer raceId) {
+		return new PilotRace(id, placement, new Pilot(pilotId, null, null, null), new Race(raceId, null, null, null));
+	}
+
+	@Test
+	@DisplayName("Teste atualizar estatísticas de carreira a cada resultado")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+	void testIncremental() {
+		var vitoria = pilotRaceService.insert(result(null, 1, 3, 3));
+		var terceiro = pilotRaceService.insert(result(null, 3, 3, 4));
+
+		entityManager.flush();
+		telemetry.reset();
+		var estatistica = service.findByPilot(3);
+		assertEquals(1, telemetry.top(100).stream().mapToLong(SlowQueryDTO::getCalls).sum());
+		assertEquals(2, estatistica.getStarts());
+		assertEquals(1, estatistica.getWins());
+		assertEquals(2, estatistica.getPodiums());
+		assertEquals(1, estatistica.getBestFinish());
+		assertEquals(2.0, estatistica.getAveragePlacement());
+
+		// Sem a vitória, a melhor colocação passa a ser a próxima linha do piloto
+		pilotRaceService.delete(vitoria.getId());
+		estatistica = service.findByPilot(3);
+		assertEquals(1, estatistica.getStarts());
+		assertEquals(0, estatistica.getWins());
+		assertEquals(3, estatistica.getBestFinish());
+
+		pilotRaceService.update(result(terceiro.getId(), 2, 4, 4));
+		assertEquals(0, service.findByPilot(3).getStarts());
+		assertNull(service.findByPilot(3).getBestFinish());
+		assertNull(service.findByPilot(3).getAveragePlacement());
+		assertEquals(2, service.findByPilot(4).getBestFinish());
+
+		var exception = assertThrows(ObjectNotFound.class, () -> service.findByPilot(10));
+		assertEquals("Piloto 10 não existe", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Teste reconstruir estatísticas e apontar pilotos divergentes")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+	void testRebuild() {
+		// Os resultados do script entraram direto na tabela, sem passar pelos contadores
+		assertEquals(0, service.findByPilot(3).getStarts());
+		var report = service.rebuild();
+		assertEquals(List.of(3, 4), report.getInconsistentPilots());
+		assertEquals(2, report.getRows());
+		var estatistica = service.findByPilot(3);
+		assertEquals(1, estatistica.getStarts());
+		assertEquals(1, estatistica.getWins());
+		assertTrue(service.rebuild().getInconsistentPilots().isEmpty());
+	}
+
+}
@@ -0,0 +1,111 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.PointsScheme;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.RecomputationStatus;
+import br.com.trier.springvespertino.models.dto.PointsSchemeDTO;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.models.dto.TeamStandingDTO;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+// Sem @Transactional: o recálculo roda em outras threads e só enxerga o que já foi confirmado
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:pointsdb;DB_CLOSE_ON_EXIT=FALSE")
+@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class PointsSchemeServiceImplTest extends BaseTest {
+
+	@Autowired
+	private PointsSchemeService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private StandingsService standingsService;
+
+	private static PilotRace result(Integer placement, Integer pilotId, Integer raceId) {
+		return new PilotRace(null, placement, new Pilot(pilotId, null, null, null), new Race(raceId, null, null, null));
+	}
+
+	private static PointsScheme scheme(Integer id, List<Integer> points, Integer winBonus, Integer finishBonus) {
+		return new PointsScheme(new PointsSchemeDTO(id, "Teste", points, winBonus, finishBonus));
+	}
+
+	private List<Integer> points(Integer championshipId) {
+		return standingsService.findByChampionship(championshipId).stream().map(StandingDTO::getPoints).toList();
+	}
+
+	@Test
+	@DisplayName("Teste recalcular classificação ao trocar o sistema e a pontuação")
+	void testRecompute() {
+		pilotRaceService.insert(result(1, 3, 3));
+		pilotRaceService.insert(result(2, 4, 3));
+		pilotRaceService.insert(result(1, 4, 4));
+		assertEquals(List.of(25, 18), points(3));
+
+		var sistema = service.insert(scheme(null, List.of(10, 6, 4, 3, 2, 1), 0, 1));
+		var recalculo = service.assign(sistema.getId(), List.of(3, 4, 3));
+		assertEquals(RecomputationStatus.DONE, recalculo.getStatus());
+		assertEquals(2, recalculo.getChampionships());
+		assertEquals(2, recalculo.getCompleted());
+		// Linhas de pilotos e de equipes
+		assertEquals(6, recalculo.getStandings());
+		assertEquals(List.of(11, 7), points(3));
+		assertEquals(List.of(11, 7), standingsService.findTeamsByChampionship(3).stream()
+				.map(TeamStandingDTO::getPoints).toList());
+
+		// Resultados novos já somam com o sistema do campeonato
+		pilotRaceService.insert(result(2, 3, 4));
+		assertEquals(List.of(11, 7), points(4));
+
+		service.update(scheme(sistema.getId(), List.of(20, 10), 5, 0));
+		assertEquals(List.of(25, 10), points(3));
+		assertEquals(List.of(25, 10), points(4));
+		var ultimo = service.listRecomputations().get(0);
+		assertEquals(sistema.getId(), ultimo.getPointsSchemeId());
+		assertEquals(RecomputationStatus.DONE, ultimo.getStatus());
+		assertEquals(8, ultimo.getStandings());
+
+		var exception = assertThrows(IntegrityViolation.class, () -> service.delete(sistema.getId()));
+		assertEquals("Sistema de pontuação %s está em uso por 2 campeonato(s)".formatted(sistema.getId()),
+				exception.getMessage());
+		recalculo = service.unassign(List.of(3, 4));
+		assertEquals(RecomputationStatus.DONE, recalculo.getStatus());
+		assertEquals(List.of(25, 18), points(3));
+		service.delete(sistema.getId());
+		assertThrows(ObjectNotFound.class, () -> service.findById(sistema.getId()));
+	}
+
+	@Test
+	@DisplayName("Teste validar sistema de pontuação")
+	void testInvalid() {
+		var exception = assertThrows(IntegrityViolation.class, () -> service.insert(scheme(null, List.of(), 0, 0)));
+		assertEquals("Pontuação não pode ser vazia", exception.getMessage());
+		exception = assertThrows(IntegrityViolation.class, () -> service.insert(scheme(null, List.of(10, -1), 0, 0)));
+		assertEquals("Pontuação inválida: 10,-1", exception.getMessage());
+		exception = assertThrows(IntegrityViolation.class, () -> service.insert(scheme(null, List.of(10), -2, 0)));
+		assertEquals("Bônus por vitória inválido: -2", exception.getMessage());
+		var notFound = assertThrows(ObjectNotFound.class, () -> service.assign(10, List.of(3)));
+		assertEquals("Sistema de pontuação 10 não existe", notFound.getMessage());
+		var sistema = service.insert(scheme(null, List.of(10), 0, 0));
+		notFound = assertThrows(ObjectNotFound.class, () -> service.assign(sistema.getId(), List.of(3, 10)));
+		assertEquals("Campeonato 10 não existe", notFound.getMessage());
+		assertEquals(1, service.listAll().size());
+	}
+
+}
@@ -1,7 +1,9 @@
 package br.com.trier.springvespertino.services;
 
 import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.config.telemetry.SqlTelemetry;
 import br.com.trier.springvespertino.models.*;
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
 import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
 import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
 import jakarta.transaction.Transactional;
@@ -12,6 +14,7 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -24,6 +27,12 @@ public class RaceServiceImplTest  extends BaseTest {
     @Autowired
     private RaceService service;
 
+    @Autowired
+    private PilotRaceService pilotRaceService;
+
+    @Autowired
+    private SqlTelemetry telemetry;
+
     @Test
     @DisplayName("Teste buscar corrida por ID")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
@@ -33,6 +42,38 @@ public class RaceServiceImplTest  extends BaseTest {
         assertEquals(3, corrida.getId());
     }
 
+    @Test
+    @DisplayName("Teste buscar corridas em lote")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+    void testFindAllById() {
+        var corridas = service.findAllById(List.of(4, 3, 10, 3));
+        assertEquals(2, corridas.size());
+        assertTrue(corridas.stream().allMatch(corrida -> corrida.getSpeedway().getName() != null));
+
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.findAllById(List.of()));
+        assertEquals("Informe ao menos um id", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste buscar detalhe da corrida com classificação em duas consultas")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+    void testFindDetail() {
+        telemetry.reset();
+        var detalhe = service.findDetail(3);
+        assertTrue(telemetry.top(100).stream().mapToLong(SlowQueryDTO::getCalls).sum() <= 2);
+        assertEquals("Pista Curta", detalhe.getSpeedway().getName());
+        assertEquals("Mundial", detalhe.getChampionship().getDescription());
+        assertEquals(1, detalhe.getResults().size());
+        assertEquals(1, detalhe.getResults().get(0).getPlacement());
+        assertEquals("Leonardo", detalhe.getResults().get(0).getPilotName());
+        assertEquals("Ferrari", detalhe.getResults().get(0).getTeamName());
+
+        var exception = assertThrows(
+                ObjectNotFound.class, () -> service.findDetail(10));
+        assertEquals("Corrida 10 não existe", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Teste buscar corrida por ID inexistente")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
@@ -140,6 +181,21 @@ public class RaceServiceImplTest  extends BaseTest {
         assertNotEquals(nomeAntesAlterar, corridaAlterada.getSpeedway().getName());
     }
 
+    @Test
+    @DisplayName("Teste alterar campeonato da corrida leva corrida e resultados para a nova temporada")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+    void testUpdateSeason() {
+        ZonedDateTime dataCorrida = ZonedDateTime.of(LocalDate.of(2023, 7, 18), LocalTime.of(0, 0, 0), ZoneId.systemDefault());
+        var corridaAlterada = new Race(3, dataCorrida, new Speedway(3, "Pista Curta", 3, new Country(3, "Brasil")), new Championship(4,"Mundial",2023));
+        service.update(corridaAlterada);
+        var corrida = service.findById(3);
+        assertEquals(2023, corrida.getSeason());
+        assertEquals(2, service.findByChampionship(new Championship(4,"Mundial",2023)).size());
+        var resultados = pilotRaceService.findByRaceOrderByPlacementAsc(corrida);
+        assertEquals(1, resultados.size());
+        assertEquals(2023, resultados.get(0).getSeason());
+    }
+
     @Test
     @DisplayName("Teste remover corrida")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
@@ -172,6 +228,41 @@ public class RaceServiceImplTest  extends BaseTest {
 
     }
 
+    @Test
+    @DisplayName("Teste buscar corridas por intervalo de datas")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+    void testFindByDateBetween() {
+        ZoneId fusoHorario = ZoneId.systemDefault();
+        var corridas = service.findByDateBetween(LocalDate.of(2023, 7, 1).atStartOfDay(fusoHorario),
+                LocalDate.of(2024, 7, 18).atStartOfDay(fusoHorario));
+        assertEquals(2, corridas.size());
+        assertEquals(3, corridas.get(0).getId());
+        assertEquals(4, corridas.get(1).getId());
+
+        corridas = service.findByDateBetween(LocalDate.of(2023, 7, 18).atTime(15, 0).atZone(fusoHorario),
+                LocalDate.of(2023, 7, 18).atTime(9, 0).atZone(fusoHorario));
+        assertEquals(1, corridas.size());
+
+        var exception = assertThrows(ObjectNotFound.class, () -> service.findByDateBetween(
+                LocalDate.of(2023, 8, 1).atStartOfDay(fusoHorario), LocalDate.of(2023, 8, 31).atStartOfDay(fusoHorario)));
+        assertEquals("Não existe corrida entre 01/08/2023 e 31/08/2023", exception.getMessage());
+
+        var invalid = assertThrows(IntegrityViolation.class, () -> service.findByDateBetween(
+                LocalDate.of(2023, 8, 31).atStartOfDay(fusoHorario), LocalDate.of(2023, 8, 1).atStartOfDay(fusoHorario)));
+        assertEquals("Data inicial 31/08/2023 posterior à data final 01/08/2023", invalid.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste calendário agrupado por mês")
+    @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+    void testCalendar() {
+        ZoneId fusoHorario = ZoneId.systemDefault();
+        var meses = service.calendar(LocalDate.of(2023, 1, 1).atStartOfDay(fusoHorario),
+                LocalDate.of(2024, 12, 31).atStartOfDay(fusoHorario));
+        assertEquals(List.of(YearMonth.of(2023, 7), YearMonth.of(2024, 7)), List.copyOf(meses.keySet()));
+        assertEquals(3, meses.get(YearMonth.of(2023, 7)).get(0).getId());
+    }
+
     @Test
     @DisplayName("Teste buscar corrida pela pista")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
@@ -0,0 +1,62 @@
+package br.com.trier.springvespertino.services;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+public class ReferenceServiceImplTest extends BaseTest {
+
+    @Autowired
+    private ReferenceService service;
+
+    @Test
+    @DisplayName("Teste obter referência sem carregar a entidade")
+    @Sql({"classpath:/sqls/equipe.sql"})
+    void testReference() {
+        var equipe = service.reference(Team.class, 4, "Equipe %s não encontrada");
+        assertEquals(4, equipe.getId());
+        assertFalse(Hibernate.isInitialized(equipe));
+        assertEquals("Red Bull", equipe.getName());
+    }
+
+    @Test
+    @DisplayName("Teste obter referência inexistente")
+    @Sql({"classpath:/sqls/equipe.sql"})
+    void testReferenceNonExists() {
+        var exception = assertThrows(
+                ObjectNotFound.class, () -> service.reference(Team.class, 10, "Equipe %s não encontrada"));
+        assertEquals("Equipe 10 não encontrada", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste obter várias referências na ordem pedida")
+    @Sql({"classpath:/sqls/pais.sql", "classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql"})
+    void testReferences() {
+        var pilotos = service.references(Pilot.class, List.of(4, 3, 4), "Piloto %s não existe");
+        assertEquals(List.of(4, 3), List.copyOf(pilotos.keySet()));
+        assertFalse(Hibernate.isInitialized(pilotos.get(3)));
+        assertTrue(service.references(Pilot.class, List.of(), "Piloto %s não existe").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Teste obter várias referências com id inexistente")
+    @Sql({"classpath:/sqls/pais.sql", "classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql"})
+    void testReferencesNonExists() {
+        var exception = assertThrows(
+                ObjectNotFound.class, () -> service.references(Pilot.class, List.of(3, 7, 8), "Piloto %s não existe"));
+        assertEquals("Piloto 7 não existe", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,144 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.CubeDimension;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.PlacementBucket;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.ResultColumn;
+import br.com.trier.springvespertino.models.ResultMetric;
+import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.models.dto.AggregateDTO;
+import br.com.trier.springvespertino.models.dto.CubeCellDTO;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+
+// Sem @Transactional: as colunas só acompanham o que foi confirmado; fora do heap para cobrir o buffer direto
+@TestPropertySource(properties = {"spring.datasource.url=jdbc:h2:mem:enginedb;DB_CLOSE_ON_EXIT=FALSE",
+		"app.results-engine.off-heap=true"})
+@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ResultsEngineServiceImplTest extends BaseTest {
+
+	@Autowired
+	private ResultsEngineService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private PilotService pilotService;
+
+	@Autowired
+	private RaceService raceService;
+
+	private List<List<Integer>> aggregate(ResultColumn groupBy, ResultMetric metric, Integer season) {
+		return service.aggregate(groupBy, metric, season, null, 20).getGroups().stream()
+				.map(group -> Arrays.asList(group.getKey(), group.getValue().intValue())).toList();
+	}
+
+	@Test
+	@DisplayName("Teste agregar resultados em memória e acompanhar as gravações")
+	void testAggregate() {
+		service.reload();
+		var vitorias = service.aggregate(ResultColumn.PILOT, ResultMetric.WINS, null, null, 20);
+		assertEquals(2, vitorias.getScannedRows());
+		assertEquals(1, vitorias.getMatchedRows());
+		assertEquals(List.of(List.of(3, 1)), aggregate(ResultColumn.PILOT, ResultMetric.WINS, null));
+
+		var novo = pilotRaceService.insert(new PilotRace(null, 1, new Pilot(3, null, null, null),
+				new Race(4, null, null, null)));
+		assertEquals(List.of(List.of(3, 2)), aggregate(ResultColumn.PILOT, ResultMetric.WINS, null));
+		// Os resultados do script não têm equipe gravada
+		List<AggregateDTO> podios = service.aggregate(ResultColumn.TEAM, ResultMetric.PODIUMS, null, null, 20)
+				.getGroups();
+		assertNull(podios.get(0).getKey());
+		assertEquals(2, podios.get(0).getValue());
+		assertEquals(3, podios.get(1).getKey());
+		assertEquals(List.of(List.of(4, 2)), aggregate(ResultColumn.SPEEDWAY, ResultMetric.RESULTS, 2023));
+		assertEquals(List.of(List.of(3, 1)),
+				service.aggregate(ResultColumn.PILOT, ResultMetric.RESULTS, null, 3, 20).getGroups().stream()
+						.map(group -> List.of(group.getKey(), group.getValue().intValue())).toList());
+
+		pilotRaceService.delete(novo.getId());
+		assertEquals(List.of(List.of(3, 1)), aggregate(ResultColumn.PILOT, ResultMetric.WINS, null));
+
+		pilotService.update(new Pilot(3, "Leonardo", new Country(4, "Japão"), new Team(3, "Ferrari")));
+		assertEquals(List.of(List.of(4, 2)), aggregate(ResultColumn.COUNTRY, ResultMetric.RESULTS, null));
+
+		raceService.update(new Race(4, ZonedDateTime.of(LocalDate.of(2023, 7, 18), LocalTime.MIDNIGHT,
+				ZoneId.systemDefault()), new Speedway(3, "Pista Curta", 10, new Country(3, "Brasil")),
+				new Championship(4, "Mundial", 2023)));
+		assertEquals(List.of(List.of(3, 2)), aggregate(ResultColumn.SPEEDWAY, ResultMetric.RESULTS, null));
+
+		var status = service.status();
+		assertTrue(status.getLoaded());
+		assertTrue(status.getOffHeap());
+		assertEquals(2, status.getRows());
+	}
+
+	@Test
+	@DisplayName("Teste recortes do cubo de resultados por temporada, país, equipe e faixa")
+	void testCube() {
+		service.reload();
+		var novo = pilotRaceService.insert(new PilotRace(null, 12, new Pilot(3, null, null, null),
+				new Race(4, null, null, null)));
+
+		var temporadas = service.cube(List.of(CubeDimension.SEASON), null, null, null, null);
+		assertEquals(3, temporadas.getResults());
+		assertEquals(List.of(2023, 2022), temporadas.getCells().stream().map(CubeCellDTO::getSeason).toList());
+		assertEquals(List.of(2L, 1L), temporadas.getCells().stream().map(CubeCellDTO::getResults).toList());
+
+		var faixas = service.cube(List.of(CubeDimension.BUCKET), 2023, null, null, null);
+		assertEquals(List.of(PlacementBucket.PODIUM, PlacementBucket.NO_POINTS),
+				faixas.getCells().stream().map(CubeCellDTO::getBucket).toList());
+		assertNull(faixas.getCells().get(0).getSeason());
+
+		var equipe = service.cube(List.of(CubeDimension.COUNTRY, CubeDimension.TEAM), null, 3, 3, null);
+		assertEquals(1, equipe.getCells().size());
+		assertEquals(1, equipe.getResults());
+		assertEquals(1, service.cube(null, null, null, null, PlacementBucket.WIN).getResults());
+
+		// Trocar o país do piloto move os resultados dele de célula
+		pilotService.update(new Pilot(3, "Leonardo", new Country(4, "Japão"), new Team(3, "Ferrari")));
+		var paises = service.cube(List.of(CubeDimension.COUNTRY), null, null, null, null);
+		assertEquals(1, paises.getCells().size());
+		assertEquals(4, paises.getCells().get(0).getCountryId());
+		assertEquals(3, paises.getCells().get(0).getResults());
+
+		pilotRaceService.delete(novo.getId());
+		assertEquals(0, service.cube(List.of(CubeDimension.BUCKET), null, null, null, PlacementBucket.NO_POINTS)
+				.getResults());
+		assertEquals(2, service.cube(List.of(), null, null, null, null).getResults());
+	}
+
+	@Test
+	@DisplayName("Teste agregação com limite inválido")
+	void testInvalid() {
+		var exception = assertThrows(IntegrityViolation.class,
+				() -> service.aggregate(ResultColumn.PILOT, ResultMetric.WINS, null, null, 0));
+		assertEquals("Limite inválido: 0", exception.getMessage());
+	}
+
+}
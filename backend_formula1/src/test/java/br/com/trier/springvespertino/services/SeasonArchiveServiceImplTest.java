@@ -0,0 +1,189 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.repositories.ChampionshipRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import br.com.trier.springvespertino.services.impl.SeasonArchiveServiceImpl;
+import br.com.trier.springvespertino.utils.SeasonArchiveFile;
+import br.com.trier.springvespertino.utils.SeasonArchiveFile.ArchivedRace;
+import br.com.trier.springvespertino.utils.SeasonArchiveFile.ArchivedResult;
+import jakarta.transaction.Transactional;
+
+@Transactional
+public class SeasonArchiveServiceImplTest extends BaseTest {
+
+	@Autowired
+	private SeasonArchiveService service;
+
+	@Autowired
+	private RaceService raceService;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@Autowired
+	private ChampionshipRepository championshipRepository;
+
+	@Autowired
+	private AutowireCapableBeanFactory beanFactory;
+
+	@Value("${app.archive.directory}")
+	private String directory;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	@DisplayName("Teste arquivar campeonato e ler corridas e resultados do arquivo")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql","classpath:/sqls/piloto_corrida.sql"})
+	@Sql(statements = "UPDATE piloto_corrida SET equipe_id = 4 WHERE id = 3")
+	void testArchive() {
+		var report = service.archive(3);
+		assertEquals(2022, report.getSeason());
+		assertEquals(1, report.getRaces());
+		assertEquals(1, report.getResults());
+		assertTrue(raceRepository.findById(3).isEmpty());
+		assertTrue(raceRepository.findById(4).isPresent());
+		// Antes do commit o arquivo fica só na área de preparação
+		assertFalse(Files.exists(Paths.get(directory).resolve("campeonato_3.f1a")));
+
+		var corrida = raceService.findById(3);
+		assertEquals(3, corrida.getSpeedway().getId());
+		assertEquals(2022, corrida.getSeason());
+		assertEquals(1, raceService.findByChampionship(new Championship(3, "Mundial", 2022)).size());
+		var resultados = pilotRaceService.findByRaceOrderByPlacementAsc(corrida);
+		assertEquals(1, resultados.size());
+		assertEquals(1, resultados.get(0).getPlacement());
+		assertEquals(3, resultados.get(0).getPilot().getId());
+		// A equipe creditada no resultado vem do arquivo, não da equipe atual do piloto
+		assertEquals(4, resultados.get(0).getTeamId());
+		assertEquals(List.of(3), service.findRacesById(List.of(3, 4, 99)).stream().map(Race::getId).toList());
+		assertEquals(1, service.findResultsByRaces(List.of(3, 99)).size());
+		assertEquals(1, service.findResults(new Championship(3, null, null)).size());
+		var julho = raceService.findByDateBetween(ZonedDateTime.of(LocalDate.of(2023, 7, 1), LocalTime.MIDNIGHT,
+				ZoneId.systemDefault()), ZonedDateTime.of(LocalDate.of(2023, 7, 31), LocalTime.MIDNIGHT, ZoneId.systemDefault()));
+		assertEquals(List.of(3), julho.stream().map(Race::getId).toList());
+
+		var novaCorrida = new Race(null, ZonedDateTime.of(LocalDate.of(2022, 8, 1), LocalTime.MIDNIGHT, ZoneId.systemDefault()),
+				new Speedway(3, "Pista Curta", 3, new Country(3, "Brasil")), new Championship(3, "Mundial", 2022));
+		var exception = assertThrows(IntegrityViolation.class, () -> raceService.insert(novaCorrida));
+		assertEquals("Campeonato 3 está arquivado", exception.getMessage());
+		exception = assertThrows(IntegrityViolation.class, () -> service.archive(3));
+		assertEquals("Campeonato 3 já está arquivado", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Teste arquivar campeonato inexistente ou em andamento")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+	void testArchiveInvalid() {
+		var notFound = assertThrows(ObjectNotFound.class, () -> service.archive(10));
+		assertEquals("Campeonato 10 não existe", notFound.getMessage());
+		championshipRepository.save(new Championship(4, "Mundial", Year.now().getValue()));
+		var exception = assertThrows(IntegrityViolation.class, () -> service.archive(4));
+		assertEquals("Campeonato 4 ainda não terminou", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Teste arquivar campeonato com corrida sem data")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+	@Sql(statements = "INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, temporada) VALUES(5, null, 3, 3, 2022)")
+	void testArchiveRaceWithoutDate() {
+		var exception = assertThrows(IntegrityViolation.class, () -> service.archive(3));
+		assertEquals("Corrida 5 sem data não pode ser arquivada", exception.getMessage());
+		assertTrue(raceRepository.findById(3).isPresent());
+	}
+
+	@Test
+	@DisplayName("Teste publicar na inicialização arquivo de preparação de arquivamento confirmado")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+	void testRecoverStaging() throws IOException {
+		// Corrida 90 já saiu das tabelas: o arquivamento confirmou. Corrida 3 continua nelas: não confirmou
+		SeasonArchiveFile.write(dir.resolve("campeonato_7.f1a.staging"), 7, 2010,
+				List.of(new ArchivedRace(90, 1_000_000L, 3)), List.of(new ArchivedResult(900, 90, 3, 3, 1)));
+		SeasonArchiveFile.write(dir.resolve("campeonato_3.f1a.staging"), 3, 2022,
+				List.of(new ArchivedRace(3, 1_000_000L, 3)), List.of());
+		var recovered = new SeasonArchiveServiceImpl();
+		beanFactory.autowireBean(recovered);
+		ReflectionTestUtils.setField(recovered, "directory", dir.toString());
+		ReflectionTestUtils.invokeMethod(recovered, "load");
+
+		assertTrue(recovered.isArchived(7));
+		assertEquals(1, recovered.findResults(90).size());
+		assertTrue(Files.exists(dir.resolve("campeonato_7.f1a")));
+		assertFalse(recovered.isArchived(3));
+		assertFalse(Files.exists(dir.resolve("campeonato_3.f1a")));
+		assertFalse(Files.exists(dir.resolve("campeonato_3.f1a.staging")));
+	}
+
+	@Test
+	@DisplayName("Teste gravar e ler arquivo colunar com dicionários e colocações empacotadas")
+	void testArchiveFile() throws IOException {
+		List<ArchivedRace> races = List.of(new ArchivedRace(20, 2_000_000L, 7), new ArchivedRace(10, 1_000_000L, 5),
+				new ArchivedRace(30, 3_000_000L, 7));
+		List<ArchivedResult> results = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			results.add(new ArchivedResult(1000 + i, races.get(i % 3).id(), 500 + i, i % 10 == 0 ? null : 40 + i % 4,
+					i == 7 ? null : i / 3 - 5));
+		}
+		Path path = dir.resolve("campeonato_1.f1a");
+		SeasonArchiveFile.write(path, 1, 2010, races, results);
+
+		var archive = SeasonArchiveFile.open(path);
+		assertEquals(1, archive.championshipId());
+		assertEquals(2010, archive.season());
+		assertEquals(List.of(10, 20, 30), archive.races().stream().map(ArchivedRace::id).toList());
+		assertEquals(5, archive.race(10).orElseThrow().speedwayId());
+		assertTrue(archive.race(15).isEmpty());
+		assertEquals(List.of(20), archive.racesBetween(1_500_000L, 3_000_000L).stream().map(ArchivedRace::id).toList());
+
+		var corrida10 = archive.results(10);
+		assertEquals(100, corrida10.size());
+		assertNull(corrida10.get(0).placement());
+		assertEquals(1007, corrida10.get(0).id());
+		assertEquals(-5, corrida10.get(1).placement());
+		assertEquals(501, corrida10.get(1).pilotId());
+		assertEquals(41, corrida10.get(1).teamId());
+		assertNull(archive.results(20).get(0).teamId());
+		assertEquals(94, corrida10.get(99).placement());
+		for (ArchivedResult result : archive.results()) {
+			assertEquals(results.get(result.id() - 1000), result);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.repositories.PilotRaceRepository;
+import br.com.trier.springvespertino.repositories.PilotRepository;
+import br.com.trier.springvespertino.repositories.RaceRepository;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:importdb;DB_CLOSE_ON_EXIT=FALSE")
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SeasonImportServiceImplTest extends BaseTest {
+
+	private static final String HEADER = "ano;campeonato;data;pista;tamanho_pista;pais_pista;piloto;equipe;pais_piloto;colocacao\n";
+
+	@Autowired
+	private SeasonImportService service;
+
+	@Autowired
+	private PilotRaceRepository pilotRaceRepository;
+
+	@Autowired
+	private PilotRepository pilotRepository;
+
+	@Autowired
+	private RaceRepository raceRepository;
+
+	@TempDir
+	Path dir;
+
+	private Path write(String name, String content) throws IOException {
+		return Files.writeString(dir.resolve(name), content);
+	}
+
+	@Test
+	@DisplayName("Teste importar temporada em lotes")
+	void testImport() throws IOException {
+		Path file = write("1988.csv", HEADER
+				+ "1988;Mundial;03/04/1988;Jacarepaguá;5;Brasil;Alain Prost;McLaren;França;1\n"
+				+ "1988;Mundial;03/04/1988;Jacarepaguá;5;Brasil;Gerhard Berger;Ferrari;Áustria;2\r\n"
+				+ "1988;Mundial;01/05/1988;Imola;5;Itália;Ayrton Senna;McLaren;Brasil;1\n"
+				+ "\n"
+				+ "1988;Mundial;01/05/1988;Imola;5;Itália;Alain Prost;McLaren;França;2\n"
+				+ "1988;Mundial;01/05/1988;Imola;5;Itália;Nelson Piquet;Lotus;Brasil;3");
+		var report = service.importResults(file, 2);
+		assertEquals(5, report.getResults());
+		assertEquals(3, report.getChunks());
+		assertEquals(7, report.getLastLine());
+		assertEquals(5, pilotRaceRepository.count());
+		assertEquals(4, pilotRepository.count());
+		assertEquals(2, raceRepository.count());
+	}
+
+	@Test
+	@DisplayName("Teste importar temporada com número de linhas múltiplo do lote")
+	void testImportExactChunks() throws IOException {
+		Path file = write("1988.csv", HEADER
+				+ "1988;Mundial;03/04/1988;Jacarepaguá;5;Brasil;Alain Prost;McLaren;França;1\n"
+				+ "1988;Mundial;03/04/1988;Jacarepaguá;5;Brasil;Gerhard Berger;Ferrari;Áustria;2\n"
+				+ "1988;Mundial;01/05/1988;Imola;5;Itália;Ayrton Senna;McLaren;Brasil;1\n"
+				+ "1988;Mundial;01/05/1988;Imola;5;Itália;Alain Prost;McLaren;França;2\n");
+		var report = service.importResults(file, 2);
+		assertEquals(4, report.getResults());
+		assertEquals(2, report.getChunks());
+		assertEquals(5, report.getLastLine());
+		assertEquals(4, pilotRaceRepository.count());
+	}
+
+	@Test
+	@DisplayName("Teste importar campeonatos na mesma pista e dia com corrida sem data cadastrada")
+	@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql"})
+	@Sql(statements = "INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, temporada) VALUES(5, null, 3, 3, 2022)")
+	@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+	void testImportSameSpeedwayAndDay() throws IOException {
+		Path file = write("2022.csv", HEADER
+				+ "2022;Mundial;03/04/2022;Pista Curta;10;Brasil;Alain Prost;McLaren;França;1\n"
+				+ "2022;Sprint;03/04/2022;Pista Curta;10;Brasil;Ayrton Senna;McLaren;Brasil;1\n");
+		var report = service.importResults(file, 10);
+		assertEquals(2, report.getResults());
+		assertEquals(3, raceRepository.count());
+		var races = pilotRaceRepository.findAll().stream().map(pilotRace -> pilotRace.getRace()).toList();
+		assertEquals(2, races.stream().map(race -> race.getChampionship().getId()).distinct().count());
+	}
+
+	@Test
+	@DisplayName("Teste retomar importação a partir do último lote confirmado")
+	void testResume() throws IOException {
+		String lines = "1988;Mundial;03/04/1988;Jacarepaguá;5;Brasil;Alain Prost;McLaren;França;1\n"
+				+ "1988;Mundial;03/04/1988;Jacarepaguá;5;Brasil;Gerhard Berger;Ferrari;Áustria;2\n"
+				+ "1988;Mundial;01/05/1988;Imola;5;Itália;Ayrton Senna;McLaren;Brasil;1\n";
+		Path file = write("1988.csv", HEADER + lines + "1988;Mundial;01/05/1988;Imola;5;Itália;Alain Prost;McLaren;França;X\n");
+		var exception = assertThrows(IntegrityViolation.class, () -> service.importResults(file, 2));
+		assertEquals("Linha 5 inválida: 1988;Mundial;01/05/1988;Imola;5;Itália;Alain Prost;McLaren;França;X", exception.getMessage());
+		assertEquals(2, pilotRaceRepository.count());
+
+		write("1988.csv", HEADER + lines + "1988;Mundial;01/05/1988;Imola;5;Itália;Alain Prost;McLaren;França;2\n");
+		var report = service.importResults(file, 2);
+		assertEquals(3, report.getResumedFromLine());
+		assertEquals(2, report.getResults());
+		assertEquals(4, pilotRaceRepository.count());
+
+		exception = assertThrows(IntegrityViolation.class, () -> service.importResults(file, 2));
+		assertEquals("Arquivo 1988.csv já importado", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Teste importar arquivo inexistente ou com ano inconsistente")
+	void testImportException() throws IOException {
+		var notFound = assertThrows(ObjectNotFound.class, () -> service.importResults(dir.resolve("nada.csv"), 10));
+		assertEquals("Arquivo nada.csv não existe", notFound.getMessage());
+
+		Path file = write("1990.csv", HEADER + "1990;Mundial;11/03/1991;Phoenix;4;EUA;Ayrton Senna;McLaren;Brasil;1\n");
+		var exception = assertThrows(IntegrityViolation.class, () -> service.importResults(file, 10));
+		assertEquals("Linha 2: ano da corrida diferente do ano do campeonato", exception.getMessage());
+		assertEquals(0, pilotRaceRepository.count());
+	}
+
+}
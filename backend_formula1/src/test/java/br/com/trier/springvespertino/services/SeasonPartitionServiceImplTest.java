@@ -0,0 +1,34 @@
+package br.com.trier.springvespertino.services;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+public class SeasonPartitionServiceImplTest extends BaseTest {
+
+    @Autowired
+    private SeasonPartitionService service;
+
+    @Test
+    @DisplayName("Teste listar partições em banco sem particionamento")
+    void testListPartitionsNotPartitioned() {
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.listPartitions());
+        assertEquals("Particionamento por temporada não está ativo neste banco", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste criar partição com temporada inválida")
+    void testCreatePartitionInvalidSeason() {
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.createPartition(0));
+        assertEquals("Temporada inválida: 0", exception.getMessage());
+    }
+
+}
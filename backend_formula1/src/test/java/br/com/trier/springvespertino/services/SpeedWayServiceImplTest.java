@@ -25,6 +25,16 @@ public class SpeedWayServiceImplTest extends BaseTest {
     @Autowired
     private SpeedwayService service;
 
+    @Test
+    @DisplayName("Teste converter pista sem país")
+    @Sql(statements = "INSERT INTO pista(id_pista, nome_pista, tamanho_pista, country_id) VALUES(5, 'Pista Sem Pais', 15, null)")
+    void testToDTOWithoutCountry() {
+        var dto = service.findById(5).toDTO();
+        assertEquals("Pista Sem Pais", dto.getName());
+        assertNull(dto.getCountryId());
+        assertNull(dto.getCountryName());
+    }
+
     @Test
     @DisplayName("Teste buscar pista por ID")
     @Sql({"classpath:/sqls/pais.sql","classpath:/sqls/pista.sql"})
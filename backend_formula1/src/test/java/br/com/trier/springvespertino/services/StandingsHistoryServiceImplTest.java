@@ -0,0 +1,98 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.models.Championship;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.Speedway;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.services.exceptions.IntegrityViolation;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+
+// Sem @Transactional: os vetores só são atualizados depois do commit
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:historydb;DB_CLOSE_ON_EXIT=FALSE")
+@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+@Sql(statements = "INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, temporada) VALUES(5, '2022-08-18', 4, 3, 2022)")
+@Sql(scripts = "classpath:/sqls/limpa_tabelas.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class StandingsHistoryServiceImplTest extends BaseTest {
+
+	@Autowired
+	private StandingsHistoryService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private RaceService raceService;
+
+	private static PilotRace result(Integer id, Integer placement, Integer pilotId, Integer raceId) {
+		return new PilotRace(id, placement, new Pilot(pilotId, null, null, null), new Race(raceId, null, null, null));
+	}
+
+	private List<Integer> points(Integer round) {
+		return service.findAfterRound(3, round).stream().map(StandingDTO::getPoints).toList();
+	}
+
+	@Test
+	@DisplayName("Teste classificação depois de cada rodada, na ordem das datas")
+	void testRounds() {
+		// A corrida 5 é anterior à 3 e é a primeira rodada
+		pilotRaceService.insert(result(null, 1, 3, 3));
+		pilotRaceService.insert(result(null, 2, 4, 3));
+		pilotRaceService.insert(result(null, 1, 4, 5));
+		var segundo = pilotRaceService.insert(result(null, 2, 3, 5));
+
+		var rodada1 = service.findAfterRound(3, 1);
+		assertEquals(List.of(4, 3), rodada1.stream().map(StandingDTO::getPilotId).toList());
+		assertEquals(List.of(25, 18), rodada1.stream().map(StandingDTO::getPoints).toList());
+		assertEquals(1, rodada1.get(0).getPosition());
+		assertEquals("Red Bull", rodada1.get(0).getTeamName());
+		// Empate em pontos e vitórias: ordem pelo nome
+		var rodada2 = service.findAfterRound(3, 2);
+		assertEquals(List.of("Clavison", "Leonardo"), rodada2.stream().map(StandingDTO::getPilotName).toList());
+		assertEquals(List.of(43, 43), rodada2.stream().map(StandingDTO::getPoints).toList());
+		assertEquals(List.of(2, 2), rodada2.stream().map(StandingDTO::getRaces).toList());
+
+		// Só a corrida alterada é relida; as rodadas seguintes acompanham
+		pilotRaceService.update(result(segundo.getId(), 3, 3, 5));
+		assertEquals(List.of(25, 15), points(1));
+		assertEquals(List.of(43, 40), points(2));
+
+		var exception = assertThrows(IntegrityViolation.class, () -> service.findAfterRound(3, 3));
+		assertEquals("Rodada 3 inválida: o campeonato 3 tem 2 corrida(s)", exception.getMessage());
+
+		// Corrida nova no início do calendário empurra as rodadas
+		raceService.insert(new Race(null, ZonedDateTime.of(LocalDate.of(2022, 1, 10), LocalTime.MIDNIGHT,
+				ZoneId.systemDefault()), new Speedway(3, "Pista Curta", 10, new Country(3, "Brasil")),
+				new Championship(3, "Mundial", 2022)));
+		var notFound = assertThrows(ObjectNotFound.class, () -> service.findAfterRound(3, 1));
+		assertEquals("Nenhuma classificação para o campeonato 3 na rodada 1", notFound.getMessage());
+		assertEquals(List.of(25, 15), points(2));
+		assertEquals(List.of(43, 40), points(3));
+	}
+
+	@Test
+	@DisplayName("Teste classificação por rodada de campeonato sem corridas")
+	void testNotFound() {
+		var exception = assertThrows(ObjectNotFound.class, () -> service.findAfterRound(10, 1));
+		assertEquals("Nenhuma corrida para o campeonato 10", exception.getMessage());
+	}
+
+}
@@ -0,0 +1,127 @@
+package br.com.trier.springvespertino.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import br.com.trier.springvespertino.BaseTest;
+import br.com.trier.springvespertino.config.telemetry.SqlTelemetry;
+import br.com.trier.springvespertino.models.Country;
+import br.com.trier.springvespertino.models.Pilot;
+import br.com.trier.springvespertino.models.PilotRace;
+import br.com.trier.springvespertino.models.Race;
+import br.com.trier.springvespertino.models.Team;
+import br.com.trier.springvespertino.models.dto.SlowQueryDTO;
+import br.com.trier.springvespertino.models.dto.StandingDTO;
+import br.com.trier.springvespertino.models.dto.TeamStandingDTO;
+import br.com.trier.springvespertino.services.exceptions.ObjectNotFound;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+@Transactional
+@Sql({"classpath:/sqls/pais.sql","classpath:/sqls/equipe.sql", "classpath:/sqls/piloto.sql","classpath:/sqls/pista.sql","classpath:/sqls/campeonato.sql", "classpath:/sqls/corrida.sql"})
+public class StandingsServiceImplTest extends BaseTest {
+
+	@Autowired
+	private StandingsService service;
+
+	@Autowired
+	private PilotRaceService pilotRaceService;
+
+	@Autowired
+	private PilotService pilotService;
+
+	@Autowired
+	private SqlTelemetry telemetry;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private static PilotRace result(Integer id, Integer placement, Integer pilotId, Integer raceId) {
+		return new PilotRace(id, placement, new Pilot(pilotId, null, null, null), new Race(raceId, null, null, null));
+	}
+
+	@Test
+	@DisplayName("Teste atualizar classificação ao inserir, alterar e excluir resultados")
+	void testIncremental() {
+		var vitoria = pilotRaceService.insert(result(null, 1, 3, 3));
+		var segundo = pilotRaceService.insert(result(null, 2, 4, 3));
+
+		// Os inserts pendentes da classificação saem antes da medição
+		entityManager.flush();
+		telemetry.reset();
+		List<StandingDTO> classificacao = service.findByChampionship(3);
+		assertEquals(1, telemetry.top(100).stream().mapToLong(SlowQueryDTO::getCalls).sum());
+		assertEquals(2, classificacao.size());
+		assertEquals(1, classificacao.get(0).getPosition());
+		assertEquals("Leonardo", classificacao.get(0).getPilotName());
+		assertEquals("Ferrari", classificacao.get(0).getTeamName());
+		assertEquals(25, classificacao.get(0).getPoints());
+		assertEquals(1, classificacao.get(0).getWins());
+		assertEquals(18, classificacao.get(1).getPoints());
+
+		pilotRaceService.update(result(segundo.getId(), 3, 4, 3));
+		pilotRaceService.delete(vitoria.getId());
+		classificacao = service.findByChampionship(3);
+		assertEquals(1, classificacao.size());
+		assertEquals("Clavison", classificacao.get(0).getPilotName());
+		assertEquals(15, classificacao.get(0).getPoints());
+		assertEquals(0, classificacao.get(0).getWins());
+		assertEquals(1, classificacao.get(0).getRaces());
+
+		pilotRaceService.delete(segundo.getId());
+		var exception = assertThrows(ObjectNotFound.class, () -> service.findByChampionship(3));
+		assertEquals("Nenhuma classificação para o campeonato 3", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Teste somar lote de resultados na classificação")
+	void testBatch() {
+		pilotRaceService.insertAll(List.of(result(null, 11, 3, 4), result(null, 10, 4, 4)));
+		List<StandingDTO> classificacao = service.findByChampionship(4);
+		assertEquals(2, classificacao.size());
+		assertEquals("Clavison", classificacao.get(0).getPilotName());
+		assertEquals(1, classificacao.get(0).getPoints());
+		assertEquals(0, classificacao.get(1).getPoints());
+		assertEquals(1, classificacao.get(1).getRaces());
+	}
+
+	@Test
+	@DisplayName("Teste classificação de equipes com a equipe do piloto na hora do resultado")
+	void testTeams() {
+		var vitoria = pilotRaceService.insert(result(null, 1, 3, 3));
+		pilotRaceService.insert(result(null, 2, 4, 3));
+		List<TeamStandingDTO> equipes = service.findTeamsByChampionship(3);
+		assertEquals(2, equipes.size());
+		assertEquals(1, equipes.get(0).getPosition());
+		assertEquals("Ferrari", equipes.get(0).getTeamName());
+		assertEquals(25, equipes.get(0).getPoints());
+		assertEquals(1, equipes.get(0).getWins());
+		assertEquals(18, equipes.get(1).getPoints());
+
+		// Trocar de equipe não leva os pontos já conquistados
+		pilotService.update(new Pilot(3, "Leonardo", new Country(3, null), new Team(4, null)));
+		pilotRaceService.delete(vitoria.getId());
+		equipes = service.findTeamsByChampionship(3);
+		assertEquals(1, equipes.size());
+		assertEquals("Red Bull", equipes.get(0).getTeamName());
+		assertEquals(18, equipes.get(0).getPoints());
+
+		pilotRaceService.insert(result(null, 1, 3, 3));
+		equipes = service.findTeamsByChampionship(3);
+		assertEquals(1, equipes.size());
+		assertEquals(43, equipes.get(0).getPoints());
+		assertEquals(1, equipes.get(0).getWins());
+		assertEquals(2, equipes.get(0).getResults());
+
+		var exception = assertThrows(ObjectNotFound.class, () -> service.findTeamsByChampionship(4));
+		assertEquals("Nenhuma classificação de equipes para o campeonato 4", exception.getMessage());
+	}
+
+}
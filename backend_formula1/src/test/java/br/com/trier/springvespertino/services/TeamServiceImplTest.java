@@ -44,6 +44,24 @@ public class TeamServiceImplTest extends BaseTest {
 
     }
 
+    @Test
+    @DisplayName("Teste salvar equipe com nome já cadastrado em outra caixa")
+    @Sql({"classpath:/sqls/equipe.sql"})
+    void testSalvarNomeCadastradoIgnoreCase() {
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.salvar(new Team(4,"FERRARI")));
+        assertEquals("Nome já existente: FERRARI", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Teste alterar equipe com nome já cadastrado em outra caixa")
+    @Sql({"classpath:/sqls/equipe.sql"})
+    void testUpdateNomeCadastradoIgnoreCase() {
+        var exception = assertThrows(
+                IntegrityViolation.class, () -> service.update(new Team(3,"red bull")));
+        assertEquals("Nome já existente: red bull", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Teste listar todos")
     @Sql({"classpath:/sqls/equipe.sql"})
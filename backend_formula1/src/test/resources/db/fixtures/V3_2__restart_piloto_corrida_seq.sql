@@ -0,0 +1,2 @@
+-- Os scripts de sqls/ gravam piloto_corrida com ids explícitos baixos; a sequence começa acima deles
+alter sequence piloto_corrida_seq restart with 1000;
@@ -1,3 +1,2 @@
-INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato) VALUES(3, '2023-07-18', 3, 3);
-INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato) VALUES(4, '2024-07-18', 4, 4);
-
+INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, temporada) VALUES(3, '2023-07-18', 3, 3, 2022);
+INSERT INTO corrida(id_corrida, data_corrida, speedway_id_pista, championship_codigo_campeonato, temporada) VALUES(4, '2024-07-18', 4, 4, 2023);
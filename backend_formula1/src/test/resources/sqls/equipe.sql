@@ -1,3 +1,3 @@
-INSERT INTO equipe(id_equipe, nome_equipe) VALUES(3, 'Ferrari');
-INSERT INTO equipe(id_equipe, nome_equipe) VALUES(4, 'Red Bull');
+INSERT INTO equipe(id_equipe, nome_equipe, nome_normalizado) VALUES(3, 'Ferrari', 'ferrari');
+INSERT INTO equipe(id_equipe, nome_equipe, nome_normalizado) VALUES(4, 'Red Bull', 'red bull');
 
@@ -1,8 +1,15 @@
 delete from usuario;
+delete from classificacao_campeonato;
+delete from classificacao_equipe;
+delete from estatistica_piloto;
 delete from piloto_corrida;
 delete from piloto;
 delete from corrida;
 delete from campeonato;
+delete from sistema_pontuacao;
+delete from pista;
 delete from pais;
 delete from equipe;
-delete from pista;
\ No newline at end of file
+delete from checkpoint_importacao;
+delete from registro_alteracao;
+delete from outbox_evento;
\ No newline at end of file
@@ -1,3 +1,2 @@
-INSERT INTO piloto_corrida(id, colocacao, pilot_id_piloto, race_id_corrida) VALUES(3, 1, 3, 3);
-INSERT INTO piloto_corrida(id, colocacao, pilot_id_piloto, race_id_corrida) VALUES(4, 2, 4, 4);
-
+INSERT INTO piloto_corrida(id, colocacao, pilot_id_piloto, race_id_corrida, temporada) VALUES(3, 1, 3, 3, 2022);
+INSERT INTO piloto_corrida(id, colocacao, pilot_id_piloto, race_id_corrida, temporada) VALUES(4, 2, 4, 4, 2023);